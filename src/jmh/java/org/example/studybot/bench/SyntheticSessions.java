@@ -0,0 +1,192 @@
+package org.example.studybot.bench;
+
+import java.lang.reflect.Field;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.UserWeekTotalView;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 벤치마크용 가짜 음성 세션 (서버 하나, 2025년 1월 한 달)
+ * 사용자 수는 세션 50개당 1명 (최소 10명): 1k → 20명, 100k → 2,000명, 1M → 20,000명
+ * 세션은 원시 배열로만 들고 있고, 리포트 입력(DB projection 과 같은 모양의 합계 행)은 필요할 때 만든다.
+ */
+public final class SyntheticSessions {
+
+    public static final long GUILD_ID = 1L;
+    public static final long CHANNEL_ID = 10L;
+    public static final long FIRST_USER_ID = 1_000_000L;
+
+    public static final LocalDate MONTH_START = LocalDate.of(2025, 1, 1);
+    public static final LocalDate MONTH_END = LocalDate.of(2025, 1, 31);
+    // 1월 둘째 주 (월~일)
+    public static final LocalDate WEEK_START = LocalDate.of(2025, 1, 6);
+    public static final LocalDate WEEK_END = WEEK_START.plusDays(6);
+
+    private static final int DAYS = MONTH_END.getDayOfMonth();
+    // 한 세션은 5분 ~ 4시간
+    private static final int MIN_SECONDS = 5 * 60;
+    private static final int MAX_SECONDS = 4 * 3600;
+
+    private final int users;
+    private final String[] names;
+    // 세션 i: 사용자 인덱스, 1월의 몇 번째 날(0부터), 머문 시간(초)
+    private final int[] user;
+    private final int[] day;
+    private final int[] seconds;
+
+    private SyntheticSessions(int sessions, int users) {
+        this.users = users;
+        this.names = new String[users];
+        this.user = new int[sessions];
+        this.day = new int[sessions];
+        this.seconds = new int[sessions];
+    }
+
+    public static SyntheticSessions generate(int sessions, long seed) {
+        SyntheticSessions data = new SyntheticSessions(sessions, Math.max(10, sessions / 50));
+        for (int u = 0; u < data.users; u++) {
+            data.names[u] = "모각공러" + u;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < sessions; i++) {
+            data.user[i] = random.nextInt(data.users);
+            data.day[i] = random.nextInt(DAYS);
+            data.seconds[i] = random.nextInt(MIN_SECONDS, MAX_SECONDS);
+        }
+        return data;
+    }
+
+    public int size() {
+        return user.length;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public long userId(int session) {
+        return FIRST_USER_ID + user[session];
+    }
+
+    public String displayName(int session) {
+        return names[user[session]];
+    }
+
+    public long seconds(int session) {
+        return seconds[session];
+    }
+
+    /**
+     * sumByUserAndDay 결과와 같은 사용자 × 날짜 합계 (from ~ to, 1월 안)
+     */
+    public List<UserDayTotalView> dayTotals(LocalDate from, LocalDate to) {
+        long[] sums = new long[users * DAYS];
+        for (int i = 0; i < user.length; i++) {
+            sums[user[i] * DAYS + day[i]] += seconds[i];
+        }
+
+        int fromDay = from.getDayOfMonth() - 1;
+        int toDay = to.getDayOfMonth() - 1;
+        List<UserDayTotalView> rows = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            for (int d = fromDay; d <= toDay; d++) {
+                long sum = sums[u * DAYS + d];
+                if (sum > 0) {
+                    rows.add(new DayTotal(FIRST_USER_ID + u, MONTH_START.plusDays(d), sum));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * sumByUserAndWeekOfMonth 결과와 같은 사용자 × 월요일 기준 주차 합계 (1월 전체)
+     */
+    public List<UserWeekTotalView> weekTotals() {
+        int firstDayOffset = MONTH_START.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+        int weeks = (DAYS - 1 + firstDayOffset) / 7 + 1;
+
+        long[] sums = new long[users * weeks];
+        for (int i = 0; i < user.length; i++) {
+            sums[user[i] * weeks + (day[i] + firstDayOffset) / 7] += seconds[i];
+        }
+
+        List<UserWeekTotalView> rows = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            for (int w = 0; w < weeks; w++) {
+                long sum = sums[u * weeks + w];
+                if (sum > 0) {
+                    rows.add(new WeekTotal(FIRST_USER_ID + u, w + 1L, sum));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 모든 사용자의 표시 이름이 들어 있는 이름 캐시 (DB 없이)
+     */
+    public UserNameIndex names() {
+        UserNameIndex index = new UserNameIndex(null);
+        for (int u = 0; u < users; u++) {
+            index.update(GUILD_ID, FIRST_USER_ID + u, names[u]);
+        }
+        return index;
+    }
+
+    /**
+     * 스프링 없이 만든 빈에 @Autowired 필드를 넣는다
+     */
+    public static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + "." + fieldName + " 필드 없음");
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    private record DayTotal(Long userId, LocalDate statDate, Long totalSeconds) implements UserDayTotalView {
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public LocalDate getStatDate() {
+            return statDate;
+        }
+
+        @Override
+        public Long getTotalSeconds() {
+            return totalSeconds;
+        }
+    }
+
+    private record WeekTotal(Long userId, Long weekIndex, Long totalSeconds) implements UserWeekTotalView {
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public Long getWeekIndex() {
+            return weekIndex;
+        }
+
+        @Override
+        public Long getTotalSeconds() {
+            return totalSeconds;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.studybot.chart;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 차트 PNG 렌더링 시간 / 할당량 (build.gradle 의 gc 프로파일러로 gc.alloc.rate.norm 확인)
+ * 사용자 수가 MAX_ROWS 를 넘으면 그리는 줄 수는 같고 정렬만 늘어난다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudyChartRendererBenchmark {
+
+    @Param({"10", "30", "500"})
+    public int users;
+
+    private final StudyChartRenderer renderer = new StudyChartRenderer();
+    private StudyAggregate weekly;
+    private StudyAggregate monthly;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        StudyAggregate.Builder week = StudyAggregate.builder(Bucket.DAY_OF_WEEK, users);
+        StudyAggregate.Builder month = StudyAggregate.builder(Bucket.DAY_OF_MONTH, users);
+        for (int user = 0; user < users; user++) {
+            long userId = 1_000_000L + user;
+            for (int day = 0; day < Bucket.DAY_OF_WEEK.count(); day++) {
+                week.add(userId, day, random.nextInt(4 * 3600));
+            }
+            for (int day = 0; day < Bucket.DAY_OF_MONTH.count(); day++) {
+                month.add(userId, day, random.nextInt(6 * 3600));
+            }
+        }
+        weekly = week.build();
+        monthly = month.build();
+    }
+
+    @Benchmark
+    public byte[] weeklyBars() {
+        return renderer.weeklyBars(weekly, userId -> "user-" + userId, "주간 공부 시간 (01/06 ~ 01/12)");
+    }
+
+    @Benchmark
+    public byte[] monthlyHeatmap() {
+        return renderer.monthlyHeatmap(monthly, 31, userId -> "user-" + userId, "1월 공부 히트맵 (01/01 ~ 01/31)");
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.studybot.command.recordcommands;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.bench.SyntheticSessions;
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.example.studybot.voicechannel.UserWeekTotalView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 주간/월간 전체 기록 메시지 포맷팅 (집계는 setUp 에서 한 번, 여기서는 문자열 만들기만 잰다)
+ * 페이지로 나누기 전 전체 사용자를 한 번에 포맷팅한다. (세션 수 ↑ → 사용자 수 ↑)
+ * 공부 시간 한 줄 포맷팅만 따로 비교하는 건 ReportWriterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecordManagerFormatBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int sessions;
+
+    private RecordManager manager;
+
+    private StudyAggregate weekly;
+    private int[] weeklyUsers;
+    private List<LocalDateTime> weekRange;
+
+    private StudyAggregate monthly;
+    private int[] monthlyUsers;
+    private List<LocalDateTime> monthRange;
+
+    @Setup
+    public void setUp() {
+        SyntheticSessions data = SyntheticSessions.generate(sessions, 42);
+
+        manager = new RecordManager();
+        SyntheticSessions.inject(manager, "userNameIndex", data.names());
+
+        // RecordManager.loadAggregate 와 같은 방식으로 묶는다
+        weekly = StudyAggregate.of(data.dayTotals(SyntheticSessions.WEEK_START, SyntheticSessions.WEEK_END),
+            Bucket.DAY_OF_WEEK,
+            UserDayTotalView::getUserId,
+            row -> Bucket.of(row.getStatDate().getDayOfWeek()),
+            row -> StudyAggregate.orZero(row.getTotalSeconds()));
+        weeklyUsers = weekly.usersByTotalDescending();
+        weekRange = List.of(SyntheticSessions.WEEK_START.atStartOfDay(),
+            SyntheticSessions.WEEK_END.plusDays(1).atStartOfDay());
+
+        monthly = StudyAggregate.of(data.weekTotals(), Bucket.WEEK_OF_MONTH,
+            UserWeekTotalView::getUserId,
+            row -> row.getWeekIndex().intValue() - 1,
+            row -> StudyAggregate.orZero(row.getTotalSeconds()));
+        monthlyUsers = monthly.usersByTotalDescending();
+        monthRange = List.of(SyntheticSessions.MONTH_START.atStartOfDay(),
+            SyntheticSessions.MONTH_END.plusDays(1).atStartOfDay());
+    }
+
+    @Benchmark
+    public String formatWeeklySummary() {
+        return manager.formatWeeklySummary(SyntheticSessions.GUILD_ID, weekly, "주간", Optional.empty(),
+            weekRange, weeklyUsers);
+    }
+
+    @Benchmark
+    public String formatMonthlySummary() {
+        return manager.formatMonthlySummary(SyntheticSessions.GUILD_ID, monthly, "월간", Optional.empty(),
+            monthRange, monthlyUsers);
+    }
+}
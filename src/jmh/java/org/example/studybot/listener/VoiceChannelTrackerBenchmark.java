@@ -0,0 +1,131 @@
+package org.example.studybot.listener;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.bench.SyntheticSessions;
+import org.example.studybot.guild.GuildChannelRegistry;
+import org.example.studybot.voicechannel.SessionJournal;
+import org.example.studybot.voicechannel.SessionJournalProperties;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.VoiceChannelLogWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.unions.AudioChannelUnion;
+import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
+
+/**
+ * 음성 입장 → 퇴장 이벤트 한 쌍 처리 (이벤트 스레드에서 도는 부분 전체)
+ * 세션 저널(파일), 오늘 순위, 이름 캐시는 실제 객체를 쓰고, DB 저장 큐(VoiceChannelLogWriter)와 채널 설정은 목으로 바꿨다.
+ * 생성된 세션을 차례로 재생하므로 세션 수가 많을수록 사용자 수(저널/순위/이름 맵 크기)가 커진다.
+ * 이벤트 객체는 목이라 그 호출 비용도 포함된다. 절대값보다 변경 전후 비교용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VoiceChannelTrackerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int sessions;
+
+    private SyntheticSessions data;
+    private VoiceChannelTracker tracker;
+    private SessionJournal journal;
+    private Path journalPath;
+
+    private GuildVoiceUpdateEvent joinEvent;
+    private GuildVoiceUpdateEvent leaveEvent;
+
+    // 지금 재생 중인 세션 (목 이벤트가 이 세션의 사용자를 돌려준다)
+    private int current;
+
+    @Setup
+    public void setUp() throws IOException {
+        data = SyntheticSessions.generate(sessions, 42);
+        UserNameIndex names = data.names();
+
+        journalPath = Files.createTempFile("session-journal-bench", ".dat");
+        SessionJournalProperties properties = new SessionJournalProperties();
+        properties.setPath(journalPath.toString());
+        journal = new SessionJournal(properties, new SimpleMeterRegistry());
+        journal.init();
+
+        GuildChannelRegistry registry = mock(GuildChannelRegistry.class);
+        when(registry.isTracked(anyLong(), anyLong())).thenReturn(true);
+
+        tracker = new VoiceChannelTracker();
+        SyntheticSessions.inject(tracker, "logWriter", mock(VoiceChannelLogWriter.class));
+        SyntheticSessions.inject(tracker, "guildChannelRegistry", registry);
+        SyntheticSessions.inject(tracker, "sessionJournal", journal);
+        SyntheticSessions.inject(tracker, "leaderboard",
+            new TodayLeaderboard(journal, null, names, Clock.systemDefaultZone()));
+        SyntheticSessions.inject(tracker, "userNameIndex", names);
+        SyntheticSessions.inject(tracker, "clock", Clock.systemDefaultZone());
+
+        Guild guild = mock(Guild.class);
+        when(guild.getIdLong()).thenReturn(SyntheticSessions.GUILD_ID);
+
+        AudioChannelUnion channel = mock(AudioChannelUnion.class);
+        when(channel.getIdLong()).thenReturn(SyntheticSessions.CHANNEL_ID);
+        when(channel.getName()).thenReturn("모각공");
+
+        User user = mock(User.class);
+        when(user.getIdLong()).thenAnswer(invocation -> data.userId(current));
+        when(user.getName()).thenAnswer(invocation -> data.displayName(current));
+
+        Member member = mock(Member.class);
+        when(member.getUser()).thenReturn(user);
+        when(member.getIdLong()).thenAnswer(invocation -> data.userId(current));
+        when(member.getEffectiveName()).thenAnswer(invocation -> data.displayName(current));
+
+        joinEvent = voiceEvent(guild, member, channel, null);
+        leaveEvent = voiceEvent(guild, member, null, channel);
+    }
+
+    private static GuildVoiceUpdateEvent voiceEvent(Guild guild, Member member, AudioChannelUnion joined,
+        AudioChannelUnion left) {
+        GuildVoiceUpdateEvent event = mock(GuildVoiceUpdateEvent.class);
+        when(event.getGuild()).thenReturn(guild);
+        when(event.getMember()).thenReturn(member);
+        when(event.getEntity()).thenReturn(member);
+        when(event.getChannelJoined()).thenReturn(joined);
+        when(event.getChannelLeft()).thenReturn(left);
+        return event;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.shutdown();
+        Files.deleteIfExists(journalPath);
+    }
+
+    @Benchmark
+    public void joinAndLeave() {
+        tracker.onGuildVoiceUpdate(joinEvent);
+        tracker.onGuildVoiceUpdate(leaveEvent);
+
+        if (++current == data.size()) {
+            current = 0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.studybot.loadtest;
+
+import java.util.List;
+
+/**
+ * 게이트웨이 이벤트 재생 시나리오
+ * 서버(guild)마다 기록 대상 음성 채널 trackedChannels 개 + 대상이 아닌 채널 UNTRACKED_CHANNELS 개가 있고,
+ * 먼저 모든 멤버가 대상 채널에 들어온 뒤(동시 접속 최대) churnEvents 번 입장/퇴장/이동/재접속/명령어가 섞여서 일어난다.
+ * 마지막에는 음성에 남은 사람이 모두 나가므로 끝나면 열린 세션이 없어야 한다.
+ *
+ * @param moveRate       음성에 있는 사람이 다른 채널로 옮길 확률
+ * @param flapRate       음성에 있는 사람이 나갔다가 같은 초에 다시 들어올 확률 (연결 끊김 → 재접속)
+ * @param commandRate    이벤트 하나가 음성 이벤트 대신 명령어(/오늘순위, 사용자 자동완성)일 확률
+ * @param maxStepSeconds 이벤트 사이 시뮬레이션 시계가 흐르는 최대 초 (0 ~ maxStepSeconds 균등)
+ */
+record ChurnScenario(
+    String name,
+    int guilds,
+    int membersPerGuild,
+    int trackedChannels,
+    int churnEvents,
+    double moveRate,
+    double flapRate,
+    double commandRate,
+    int maxStepSeconds
+) {
+
+    static final int UNTRACKED_CHANNELS = 2;
+
+    // 빠르게 한 번 돌려 보는 용도 (하루를 넘기는 세션 포함)
+    static final ChurnScenario SMOKE =
+        new ChurnScenario("smoke", 1, 200, 2, 20_000, 0.15, 0.05, 0.02, 10);
+
+    // 한 서버 10,000명이 동시에 접속한 상태에서 시작하는 churn (저널/순위/쓰기 큐 최대 부하)
+    static final ChurnScenario CHURN_10K =
+        new ChurnScenario("churn-10k", 1, 10_000, 4, 500_000, 0.15, 0.05, 0.01, 1);
+
+    // 여러 서버에 나뉜 같은 규모 (서버별 맵, 서버별 로그 채널)
+    static final ChurnScenario MULTI_GUILD =
+        new ChurnScenario("multi-guild", 20, 500, 2, 300_000, 0.15, 0.05, 0.01, 1);
+
+    static final List<ChurnScenario> PRESETS = List.of(SMOKE, CHURN_10K, MULTI_GUILD);
+
+    static ChurnScenario named(String name) {
+        return PRESETS.stream()
+            .filter(scenario -> scenario.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("알 수 없는 시나리오: " + name
+                + " (" + PRESETS.stream().map(ChurnScenario::name).toList() + ")"));
+    }
+
+    int members() {
+        return guilds * membersPerGuild;
+    }
+
+    // guildId 는 1부터
+    long guildId(int member) {
+        return member / membersPerGuild + 1;
+    }
+
+    // 서버마다 채널 ID 를 100 단위로 나눈다: 0 ~ trackedChannels-1 은 대상, 50 부터는 대상 아님
+    long trackedChannel(long guildId, int index) {
+        return guildId * 100 + index;
+    }
+
+    long untrackedChannel(long guildId, int index) {
+        return guildId * 100 + 50 + index;
+    }
+
+    // GuildChannelRegistry.isTracked 와 같은 의미 (다른 서버의 채널은 대상 아님)
+    boolean isTracked(long guildId, long channelId) {
+        return channelId / 100 == guildId && channelId % 100 < trackedChannels;
+    }
+}
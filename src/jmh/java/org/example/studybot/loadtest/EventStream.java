@@ -0,0 +1,303 @@
+package org.example.studybot.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 미리 만들어 둔 게이트웨이 이벤트열 + 그대로 재생했을 때 DB 에 남아야 하는 값(모델)
+ * 재생 중에 객체를 만들지 않도록 이벤트는 primitive 배열에 담는다. (하네스의 목 이벤트가 current 번째 값을 돌려줌)
+ *
+ * 모델은 VoiceChannelTracker 의 규칙을 따로 구현한 것이다.
+ * - 세션: 대상 채널에 처음 들어온 순간 ~ 음성에서 완전히 나간 순간 (그 사이 다른 채널로 옮겨도 이어짐)
+ * - 저장 행: VoiceChannelLogWriter.splitByDay 처럼 자정마다 나눈 구간 수, 일간 합계 날짜는 구간 시작 날짜
+ * - 로그 채널 메시지: 세션 시작/종료마다 하나씩
+ */
+final class EventStream {
+
+    static final byte VOICE = 0;
+    static final byte RANKING = 1;
+    static final byte AUTOCOMPLETE = 2;
+
+    // 시뮬레이션 시계의 0초 (자정을 금방 넘기도록 밤 9시에 시작)
+    static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 21, 0);
+
+    static final long FIRST_USER_ID = 1_000_000L;
+
+    // 자동완성 입력값: 이름 앞부분 ("공부러12" → 공부러12, 공부러120 ~ 공부러129, ...)
+    private static final int PREFIX_MODULUS = 1000;
+
+    final ChurnScenario scenario;
+
+    private byte[] types;
+    private int[] members;
+    // 0 = 없음
+    private long[] joined;
+    private long[] left;
+    // START 로부터 지난 초
+    private long[] seconds;
+    private int size;
+
+    // ===== 모델 (멤버 번호별) =====
+    private final long[] channel;
+    private final boolean[] open;
+    private final long[] openedAt;
+    private final long[] expectedSeconds;
+    private final int[] expectedRows;
+    private long sessions;
+    private long expectedLogMessages;
+    private int rankingCommands;
+    private int autocompletes;
+    private int openSessions;
+    private int peakOpenSessions;
+    private long now;
+
+    private EventStream(ChurnScenario scenario, int capacity) {
+        this.scenario = scenario;
+        int members = scenario.members();
+        this.types = new byte[capacity];
+        this.members = new int[capacity];
+        this.joined = new long[capacity];
+        this.left = new long[capacity];
+        this.seconds = new long[capacity];
+        this.channel = new long[members];
+        this.open = new boolean[members];
+        this.openedAt = new long[members];
+        this.expectedSeconds = new long[members];
+        this.expectedRows = new int[members];
+    }
+
+    static EventStream generate(ChurnScenario scenario, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int members = scenario.members();
+        // 입장 + churn(재접속은 2개) + 마지막 퇴장
+        EventStream stream = new EventStream(scenario, members * 2 + scenario.churnEvents() * 2);
+
+        // 1) 모두 대상 채널로 입장 (동시 접속 최대)
+        for (int member = 0; member < members; member++) {
+            stream.now += random.nextInt(2);
+            stream.join(member, stream.anyTracked(member, random));
+        }
+
+        // 2) churn
+        for (int i = 0; i < scenario.churnEvents(); i++) {
+            stream.now += random.nextInt(scenario.maxStepSeconds() + 1);
+            int member = random.nextInt(members);
+
+            if (random.nextDouble() < scenario.commandRate()) {
+                stream.command(member, random.nextBoolean() ? RANKING : AUTOCOMPLETE);
+                continue;
+            }
+            if (stream.channel[member] == 0) {
+                // 대부분은 대상 채널로
+                stream.join(member, random.nextInt(10) < 8
+                    ? stream.anyTracked(member, random)
+                    : stream.anyUntracked(member, random));
+                continue;
+            }
+
+            double action = random.nextDouble();
+            if (action < scenario.flapRate()) {
+                long previous = stream.channel[member];
+                stream.leave(member);
+                stream.join(member, previous);
+            } else if (action < scenario.flapRate() + scenario.moveRate()) {
+                stream.move(member, stream.otherChannel(member, random));
+            } else {
+                stream.leave(member);
+            }
+        }
+
+        // 3) 남은 사람 모두 퇴장
+        for (int member = 0; member < members; member++) {
+            if (stream.channel[member] != 0) {
+                stream.now += random.nextInt(2);
+                stream.leave(member);
+            }
+        }
+        return stream;
+    }
+
+    // ===================== 생성 (모델 갱신) =====================
+
+    private void join(int member, long to) {
+        add(VOICE, member, to, 0L);
+        channel[member] = to;
+        openIfTracked(member, to);
+    }
+
+    private void move(int member, long to) {
+        add(VOICE, member, to, channel[member]);
+        channel[member] = to;
+        openIfTracked(member, to);
+    }
+
+    private void leave(int member) {
+        add(VOICE, member, 0L, channel[member]);
+        channel[member] = 0L;
+        if (open[member]) {
+            open[member] = false;
+            openSessions--;
+            expectedSeconds[member] += now - openedAt[member];
+            expectedRows[member] += segments(START.plusSeconds(openedAt[member]), START.plusSeconds(now));
+            expectedLogMessages++;
+        }
+    }
+
+    private void openIfTracked(int member, long to) {
+        if (open[member] || !scenario.isTracked(scenario.guildId(member), to)) {
+            return;
+        }
+        open[member] = true;
+        openedAt[member] = now;
+        sessions++;
+        expectedLogMessages++;
+        peakOpenSessions = Math.max(peakOpenSessions, ++openSessions);
+    }
+
+    private void command(int member, byte type) {
+        add(type, member, 0L, 0L);
+        if (type == RANKING) {
+            rankingCommands++;
+        } else {
+            autocompletes++;
+        }
+    }
+
+    private long anyTracked(int member, SplittableRandom random) {
+        return scenario.trackedChannel(scenario.guildId(member), random.nextInt(scenario.trackedChannels()));
+    }
+
+    private long anyUntracked(int member, SplittableRandom random) {
+        return scenario.untrackedChannel(scenario.guildId(member), random.nextInt(ChurnScenario.UNTRACKED_CHANNELS));
+    }
+
+    // 지금 있는 채널이 아닌 아무 채널 (대상/대상 아님 모두)
+    private long otherChannel(int member, SplittableRandom random) {
+        int channels = scenario.trackedChannels() + ChurnScenario.UNTRACKED_CHANNELS;
+        while (true) {
+            int index = random.nextInt(channels);
+            long to = index < scenario.trackedChannels()
+                ? scenario.trackedChannel(scenario.guildId(member), index)
+                : scenario.untrackedChannel(scenario.guildId(member), index - scenario.trackedChannels());
+            if (to != channel[member]) {
+                return to;
+            }
+        }
+    }
+
+    private void add(byte type, int member, long joinedChannel, long leftChannel) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            members = Arrays.copyOf(members, capacity);
+            joined = Arrays.copyOf(joined, capacity);
+            left = Arrays.copyOf(left, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        types[size] = type;
+        members[size] = member;
+        joined[size] = joinedChannel;
+        left[size] = leftChannel;
+        seconds[size] = now;
+        size++;
+    }
+
+    // VoiceChannelLogWriter.splitByDay 가 만드는 구간 수
+    static int segments(LocalDateTime start, LocalDateTime end) {
+        if (!start.toLocalDate().isBefore(end.toLocalDate())) {
+            return 1;
+        }
+        int days = (int) ChronoUnit.DAYS.between(start.toLocalDate(), end.toLocalDate());
+        return end.toLocalTime().equals(LocalTime.MIDNIGHT) ? days : days + 1;
+    }
+
+    // ===================== 재생용 =====================
+
+    int size() {
+        return size;
+    }
+
+    byte type(int event) {
+        return types[event];
+    }
+
+    int member(int event) {
+        return members[event];
+    }
+
+    long guildId(int event) {
+        return scenario.guildId(members[event]);
+    }
+
+    long userId(int event) {
+        return FIRST_USER_ID + members[event];
+    }
+
+    String displayName(int event) {
+        return displayNameOf(members[event]);
+    }
+
+    // 0 이면 입장한 채널 없음
+    long joinedChannel(int event) {
+        return joined[event];
+    }
+
+    long leftChannel(int event) {
+        return left[event];
+    }
+
+    LocalDateTime time(int event) {
+        return START.plusSeconds(seconds[event]);
+    }
+
+    String autocompletePrefix(int event) {
+        return "공부러" + (members[event] % PREFIX_MODULUS);
+    }
+
+    static String displayNameOf(int member) {
+        return "공부러" + member;
+    }
+
+    // ===================== 기대값 =====================
+
+    int members() {
+        return expectedSeconds.length;
+    }
+
+    long expectedSeconds(int member) {
+        return expectedSeconds[member];
+    }
+
+    // 자정으로 나뉜 구간 = voice_channel_logs 행 수 = user_daily_totals.session_count 합
+    int expectedRows(int member) {
+        return expectedRows[member];
+    }
+
+    long sessions() {
+        return sessions;
+    }
+
+    long expectedLogMessages() {
+        return expectedLogMessages;
+    }
+
+    int rankingCommands() {
+        return rankingCommands;
+    }
+
+    int autocompletes() {
+        return autocompletes;
+    }
+
+    int peakOpenSessions() {
+        return peakOpenSessions;
+    }
+
+    // 시뮬레이션으로 흐른 시간(초)
+    long simulatedSeconds() {
+        return now;
+    }
+}
@@ -0,0 +1,461 @@
+package org.example.studybot.loadtest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.studybot.bench.SyntheticSessions;
+import org.example.studybot.command.CommandHandler;
+import org.example.studybot.command.CommandRegistry;
+import org.example.studybot.command.recordcommands.TodayRanking;
+import org.example.studybot.guild.GuildChannelRegistry;
+import org.example.studybot.listener.StudyBotDiscordListener;
+import org.example.studybot.listener.VoiceChannelTracker;
+import org.example.studybot.util.ReportCache;
+import org.example.studybot.voicechannel.DailyTotalIndex;
+import org.example.studybot.voicechannel.MinutePresenceIndex;
+import org.example.studybot.voicechannel.SessionJournal;
+import org.example.studybot.voicechannel.SessionJournalProperties;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.VoiceChannelLogWriter;
+import org.example.studybot.voicechannel.VoiceChannelLogWriterProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.channel.unions.AudioChannelUnion;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.AutoCompleteCallbackAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+
+/**
+ * 미리 만든 이벤트열(EventStream)을 게이트웨이 이벤트 스레드처럼 한 스레드에서 순서대로 재생한다.
+ *
+ * 실제 객체: VoiceChannelTracker, StudyBotDiscordListener, UserNameIndex(리스너), CommandHandler(+ /오늘순위),
+ * SessionJournal(임시 파일), TodayLeaderboard, VoiceChannelLogWriter(+ spill 파일) → 내장 H2(MySQL 모드) DB
+ * 목: 이벤트/엔티티(JDA), 디스코드 REST 요청(queue() 횟수만 셈), GuildChannelRegistry(시나리오의 채널 배치)
+ *
+ * 이벤트마다 이벤트 스레드가 리스너에서 돌아오기까지 걸린 시간을 재고,
+ * 재생 후 쓰기 큐를 비운 뒤 DB 에 남은 행을 모델(EventStream)의 기대값과 비교한다.
+ */
+final class GatewayReplayHarness implements AutoCloseable {
+
+    private final ChurnScenario scenario;
+    private final EventStream stream;
+    private final Path workDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimulatedClock clock = new SimulatedClock();
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionJournal journal;
+    private final VoiceChannelLogWriter writer;
+    private final ThreadPoolExecutor commandExecutor;
+    private final List<ListenerAdapter> listeners;
+
+    // 디스코드로 나갔을 REST 요청 수
+    private final AtomicLong logMessages = new AtomicLong();
+    private final AtomicLong deferredReplies = new AtomicLong();
+    private final AtomicLong followups = new AtomicLong();
+    private final AtomicLong autocompleteReplies = new AtomicLong();
+
+    private final GuildVoiceUpdateEvent voiceEvent;
+    private final SlashCommandInteractionEvent rankingEvent;
+    private final CommandAutoCompleteInteractionEvent autocompleteEvent;
+
+    // 지금 재생 중인 이벤트 (목 이벤트/엔티티가 이 이벤트의 값을 돌려준다)
+    private volatile int current;
+
+    GatewayReplayHarness(ChurnScenario scenario, EventStream stream) throws IOException {
+        this.scenario = scenario;
+        this.stream = stream;
+        this.workDir = Files.createTempDirectory("studybot-loadtest");
+
+        // ===== DB =====
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + scenario.name() + "-" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("loadtest/schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        DailyTotalIndex dailyTotalIndex = new DailyTotalIndex(jdbcTemplate);
+        dailyTotalIndex.load();
+        MinutePresenceIndex presenceIndex = new MinutePresenceIndex(jdbcTemplate);
+        presenceIndex.load();
+
+        // 운영 기본값 그대로 (큐가 차면 spill 파일로 넘어가는 경로까지 재생된다)
+        VoiceChannelLogWriterProperties writerProperties = new VoiceChannelLogWriterProperties();
+        writerProperties.setSpillFile(workDir.resolve("voice-log-spill.tsv").toString());
+        writer = new VoiceChannelLogWriter(jdbcTemplate, transactionTemplate, writerProperties,
+            new ReportCache(meterRegistry, 256), dailyTotalIndex, presenceIndex, meterRegistry);
+        writer.start();
+
+        SessionJournalProperties journalProperties = new SessionJournalProperties();
+        journalProperties.setPath(workDir.resolve("session-journal.dat").toString());
+        journal = new SessionJournal(journalProperties, meterRegistry);
+        journal.init();
+
+        UserNameIndex names = new UserNameIndex(jdbcTemplate);
+        TodayLeaderboard leaderboard = new TodayLeaderboard(journal, null, names, clock);
+
+        // ===== 디스코드 REST (보내지 않고 센다) =====
+        MessageCreateAction logMessage = mock(MessageCreateAction.class);
+        countQueue(logMessage, logMessages).queue();
+        TextChannel logChannel = mock(TextChannel.class);
+        when(logChannel.sendMessage(any(CharSequence.class))).thenReturn(logMessage);
+
+        GuildChannelRegistry registry = mock(GuildChannelRegistry.class);
+        when(registry.isTracked(anyLong(), anyLong()))
+            .thenAnswer(invocation -> scenario.isTracked(invocation.getArgument(0), invocation.getArgument(1)));
+        when(registry.logChannel(any(Guild.class))).thenReturn(logChannel);
+
+        // ===== 리스너 =====
+        VoiceChannelTracker tracker = new VoiceChannelTracker();
+        SyntheticSessions.inject(tracker, "logWriter", writer);
+        SyntheticSessions.inject(tracker, "guildChannelRegistry", registry);
+        SyntheticSessions.inject(tracker, "sessionJournal", journal);
+        SyntheticSessions.inject(tracker, "leaderboard", leaderboard);
+        SyntheticSessions.inject(tracker, "userNameIndex", names);
+        SyntheticSessions.inject(tracker, "clock", clock);
+
+        TodayRanking todayRanking = new TodayRanking();
+        SyntheticSessions.inject(todayRanking, "leaderboard", leaderboard);
+        CommandRegistry commandRegistry = new CommandRegistry(List.of(todayRanking));
+        commandRegistry.init();
+
+        // CommandExecutorConfig 기본값과 같은 크기 (가득 차면 "요청이 많아..." 안내로 응답)
+        commandExecutor = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+            new ThreadPoolExecutor.AbortPolicy());
+        CommandHandler commandHandler = new CommandHandler(commandRegistry, null, null, names, commandExecutor,
+            meterRegistry);
+
+        // JDA 에 등록되는 순서대로
+        listeners = List.of(tracker, new StudyBotDiscordListener(commandHandler), names);
+
+        // ===== 이벤트 (하나씩 만들어 두고 current 로 값만 바꾼다) =====
+        Guild guild = mock(Guild.class);
+        when(guild.getIdLong()).thenAnswer(invocation -> stream.guildId(current));
+
+        User user = mock(User.class);
+        when(user.getIdLong()).thenAnswer(invocation -> stream.userId(current));
+        when(user.getName()).thenAnswer(invocation -> stream.displayName(current));
+
+        Member member = mock(Member.class);
+        when(member.getUser()).thenReturn(user);
+        when(member.getGuild()).thenReturn(guild);
+        when(member.getIdLong()).thenAnswer(invocation -> stream.userId(current));
+        when(member.getEffectiveName()).thenAnswer(invocation -> stream.displayName(current));
+
+        AudioChannelUnion joinedChannel = channel(() -> stream.joinedChannel(current));
+        AudioChannelUnion leftChannel = channel(() -> stream.leftChannel(current));
+
+        voiceEvent = mock(GuildVoiceUpdateEvent.class);
+        when(voiceEvent.getGuild()).thenReturn(guild);
+        when(voiceEvent.getMember()).thenReturn(member);
+        when(voiceEvent.getEntity()).thenReturn(member);
+        when(voiceEvent.getChannelJoined())
+            .thenAnswer(invocation -> stream.joinedChannel(current) != 0 ? joinedChannel : null);
+        when(voiceEvent.getChannelLeft())
+            .thenAnswer(invocation -> stream.leftChannel(current) != 0 ? leftChannel : null);
+
+        ReplyCallbackAction deferred = mock(ReplyCallbackAction.class);
+        countQueue(deferred, deferredReplies).queue();
+        @SuppressWarnings("unchecked")
+        WebhookMessageCreateAction<Message> followup = mock(WebhookMessageCreateAction.class);
+        countQueue(followup, followups).queue();
+        InteractionHook hook = mock(InteractionHook.class);
+        when(hook.sendMessage(anyString())).thenReturn(followup);
+
+        rankingEvent = mock(SlashCommandInteractionEvent.class);
+        when(rankingEvent.getName()).thenReturn(todayRanking.getName());
+        when(rankingEvent.getGuild()).thenReturn(guild);
+        when(rankingEvent.getMember()).thenReturn(member);
+        when(rankingEvent.getUser()).thenReturn(user);
+        when(rankingEvent.deferReply()).thenReturn(deferred);
+        when(rankingEvent.getHook()).thenReturn(hook);
+
+        AutoCompleteQuery focused = mock(AutoCompleteQuery.class);
+        when(focused.getName()).thenReturn(CommandHandler.OPTION_USER);
+        when(focused.getValue()).thenAnswer(invocation -> stream.autocompletePrefix(current));
+        AutoCompleteCallbackAction choices = mock(AutoCompleteCallbackAction.class);
+        countQueue(choices, autocompleteReplies).queue();
+
+        autocompleteEvent = mock(CommandAutoCompleteInteractionEvent.class);
+        when(autocompleteEvent.getFocusedOption()).thenReturn(focused);
+        when(autocompleteEvent.getGuild()).thenReturn(guild);
+        when(autocompleteEvent.replyChoices(anyCollection())).thenReturn(choices);
+    }
+
+    private static AudioChannelUnion channel(ChannelIdSource id) {
+        AudioChannelUnion channel = mock(AudioChannelUnion.class);
+        when(channel.getIdLong()).thenAnswer(invocation -> id.get());
+        when(channel.getName()).thenAnswer(invocation -> "공부방-" + id.get());
+        return channel;
+    }
+
+    @FunctionalInterface
+    private interface ChannelIdSource {
+        long get();
+    }
+
+    // queue() 가 불릴 때마다 counter 증가. 반환값에 .queue() 를 붙여서 스텁을 끝낸다
+    private static <T extends RestAction<?>> T countQueue(T action, AtomicLong counter) {
+        return doAnswer(invocation -> {
+            counter.incrementAndGet();
+            return null;
+        }).when(action);
+    }
+
+    /**
+     * 이벤트를 모두 재생하고, 쓰기 큐를 비운 뒤 DB 를 검증한다.
+     */
+    Result run() throws InterruptedException {
+        int size = stream.size();
+        long[] voiceLatency = new long[size];
+        long[] commandLatency = new long[size];
+        int voiceEvents = 0;
+        int commandEvents = 0;
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            current = i;
+            clock.set(stream.time(i));
+
+            GenericEvent event = switch (stream.type(i)) {
+                case EventStream.VOICE -> voiceEvent;
+                case EventStream.RANKING -> rankingEvent;
+                default -> autocompleteEvent;
+            };
+
+            long begin = System.nanoTime();
+            for (ListenerAdapter listener : listeners) {
+                listener.onEvent(event);
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            if (stream.type(i) == EventStream.VOICE) {
+                voiceLatency[voiceEvents++] = elapsed;
+            } else {
+                commandLatency[commandEvents++] = elapsed;
+            }
+        }
+        long replayNanos = System.nanoTime() - startedAt;
+
+        // 명령어 followup 이 모두 나간 뒤 남은 기록을 DB 로
+        commandExecutor.shutdown();
+        commandExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        long drainStartedAt = System.nanoTime();
+        writer.shutdown();
+        long drainNanos = System.nanoTime() - drainStartedAt;
+
+        return new Result(scenario, size, replayNanos, drainNanos,
+            Latency.of(Arrays.copyOf(voiceLatency, voiceEvents)),
+            Latency.of(Arrays.copyOf(commandLatency, commandEvents)),
+            counters(), verify());
+    }
+
+    private Map<String, Double> counters() {
+        Map<String, Double> counters = new HashMap<>();
+        for (String name : List.of("studybot.voicelog.writer.enqueued", "studybot.voicelog.writer.flushed",
+            "studybot.voicelog.writer.rejected", "studybot.voicelog.writer.spilled",
+            "studybot.voicelog.writer.flush.failed")) {
+            counters.put(name, meterRegistry.counter(name).count());
+        }
+        counters.put("command.rejected", (double) meterRegistry.find("studybot.command.latency")
+            .tag("outcome", "rejected").timers().stream().mapToLong(timer -> timer.count()).sum());
+        return counters;
+    }
+
+    // ===================== 검증 =====================
+
+    private List<Check> verify() {
+        List<Check> checks = new ArrayList<>();
+
+        // 사용자별 저장 행 / 합계 (voice_channel_logs)
+        Map<Long, long[]> logs = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, SUM(duration) AS seconds, COUNT(*) AS rows_count "
+                + "FROM voice_channel_logs GROUP BY user_id",
+            rs -> {
+                logs.put(rs.getLong("user_id"), new long[] {rs.getLong("seconds"), rs.getLong("rows_count")});
+            });
+
+        // 사용자별 일간 합계 (user_daily_totals)
+        Map<Long, long[]> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, SUM(seconds) AS seconds, SUM(session_count) AS segments "
+                + "FROM user_daily_totals GROUP BY user_id",
+            rs -> {
+                totals.put(rs.getLong("user_id"), new long[] {rs.getLong("seconds"), rs.getLong("segments")});
+            });
+
+        long expectedSeconds = 0;
+        long expectedRows = 0;
+        int wrongLogUsers = 0;
+        int wrongTotalUsers = 0;
+        for (int member = 0; member < stream.members(); member++) {
+            long userId = EventStream.FIRST_USER_ID + member;
+            long seconds = stream.expectedSeconds(member);
+            long rows = stream.expectedRows(member);
+            expectedSeconds += seconds;
+            expectedRows += rows;
+
+            long[] logged = logs.getOrDefault(userId, new long[2]);
+            if (logged[0] != seconds || logged[1] != rows) {
+                wrongLogUsers++;
+            }
+            long[] total = totals.getOrDefault(userId, new long[2]);
+            if (total[0] != seconds || total[1] != rows) {
+                wrongTotalUsers++;
+            }
+        }
+
+        checks.add(new Check("voice_channel_logs 합계(초)", expectedSeconds,
+            logs.values().stream().mapToLong(value -> value[0]).sum()));
+        checks.add(new Check("voice_channel_logs 행 수", expectedRows,
+            logs.values().stream().mapToLong(value -> value[1]).sum()));
+        checks.add(new Check("voice_channel_logs 가 틀린 사용자", 0, wrongLogUsers));
+        checks.add(new Check("user_daily_totals 가 틀린 사용자", 0, wrongTotalUsers));
+
+        // 날짜별로도 로그와 일간 합계가 맞아야 한다 (일간 합계 날짜 = 구간 시작 날짜)
+        String logsByDay = "SELECT guild_id, user_id, CAST(started_at AS DATE) AS stat_date, "
+            + "SUM(duration) AS seconds, COUNT(*) AS segments "
+            + "FROM voice_channel_logs GROUP BY guild_id, user_id, CAST(started_at AS DATE)";
+        long mismatchedDays = count("SELECT COUNT(*) FROM (" + logsByDay + ") l LEFT JOIN user_daily_totals t "
+            + "ON t.guild_id = l.guild_id AND t.user_id = l.user_id AND t.stat_date = l.stat_date "
+            + "WHERE t.user_id IS NULL OR t.seconds <> l.seconds OR t.session_count <> l.segments");
+        long logDays = count("SELECT COUNT(*) FROM (" + logsByDay + ") l");
+        long totalRows = count("SELECT COUNT(*) FROM user_daily_totals");
+        long presenceRows = count("SELECT COUNT(*) FROM user_minute_presence");
+        checks.add(new Check("로그와 일간 합계가 다른 (사용자, 날짜)", 0, mismatchedDays));
+        checks.add(new Check("user_daily_totals 행 수 (= 로그의 (사용자, 날짜) 수)", logDays, totalRows));
+        checks.add(new Check("user_minute_presence 행 수 (= 일간 합계 행 수)", totalRows, presenceRows));
+
+        checks.add(new Check("남은 열린 세션", 0, journal.getAllOpenSessions().size()));
+
+        // 디스코드로 나갔을 요청
+        checks.add(new Check("로그 채널 메시지 (입장 + 퇴장)", stream.expectedLogMessages(), logMessages.get()));
+        checks.add(new Check("/오늘순위 defer", stream.rankingCommands(), deferredReplies.get()));
+        checks.add(new Check("/오늘순위 followup", stream.rankingCommands(), followups.get()));
+        checks.add(new Check("사용자 자동완성 응답", stream.autocompletes(), autocompleteReplies.get()));
+        return checks;
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : -1L;
+    }
+
+    @Override
+    public void close() throws IOException {
+        commandExecutor.shutdownNow();
+        journal.shutdown();
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    // ===================== 결과 =====================
+
+    record Check(String name, long expected, long actual) {
+
+        boolean ok() {
+            return expected == actual;
+        }
+    }
+
+    record Latency(int count, long p50, long p99, long p999, long max) {
+
+        static Latency of(long[] nanos) {
+            if (nanos.length == 0) {
+                return new Latency(0, 0, 0, 0, 0);
+            }
+            Arrays.sort(nanos);
+            return new Latency(nanos.length, percentile(nanos, 0.50), percentile(nanos, 0.99),
+                percentile(nanos, 0.999), nanos[nanos.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+
+    record Result(ChurnScenario scenario, int events, long replayNanos, long drainNanos, Latency voice,
+                  Latency commands, Map<String, Double> counters, List<Check> checks) {
+
+        double eventsPerSecond() {
+            return events / (replayNanos / 1e9);
+        }
+
+        boolean ok() {
+            return checks.stream().allMatch(Check::ok);
+        }
+    }
+
+    /**
+     * 재생 중인 이벤트 시각을 돌려주는 시계 (VoiceChannelTracker.clock)
+     * 이벤트 스레드 한 곳에서만 바꾼다.
+     */
+    private static final class SimulatedClock extends Clock {
+
+        private volatile Instant instant = EventStream.START.toInstant(ZoneOffset.UTC);
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.studybot.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 게이트웨이 이벤트 재생 부하 테스트
+ * ./gradlew loadTest                      (기본: churn-10k)
+ * ./gradlew loadTest -Pscenario=smoke     (smoke, churn-10k, multi-guild, all)
+ *
+ * 이벤트/초, 이벤트 스레드 지연시간(p50/p99/p99.9/max), 쓰기 큐 카운터, DB 검증 결과를 출력한다.
+ * 검증이 하나라도 틀리면 종료 코드 1.
+ */
+public final class LoadTestMain {
+
+    private static final long SEED = 42L;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String name = args.length > 0 ? args[0] : ChurnScenario.CHURN_10K.name();
+
+        boolean ok = true;
+        for (ChurnScenario scenario : name.equals("all") ? ChurnScenario.PRESETS
+            : List.of(ChurnScenario.named(name))) {
+            ok &= run(scenario);
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean run(ChurnScenario scenario) throws Exception {
+        EventStream stream = EventStream.generate(scenario, SEED);
+        System.out.printf("%n=== %s: 서버 %d개 x 멤버 %,d명, 이벤트 %,d개, 세션 %,d개 (동시 최대 %,d), 시뮬레이션 %.1f일%n",
+            scenario.name(), scenario.guilds(), scenario.membersPerGuild(), stream.size(), stream.sessions(),
+            stream.peakOpenSessions(), stream.simulatedSeconds() / 86_400.0);
+
+        GatewayReplayHarness.Result result;
+        try (GatewayReplayHarness harness = new GatewayReplayHarness(scenario, stream)) {
+            result = harness.run();
+        }
+
+        System.out.printf("재생: %,.0f events/s (%.2fs), 남은 기록 저장: %.2fs%n",
+            result.eventsPerSecond(), result.replayNanos() / 1e9, result.drainNanos() / 1e9);
+        print("음성", result.voice());
+        print("명령어", result.commands());
+
+        Map<String, Double> counters = new TreeMap<>(result.counters());
+        counters.forEach((counter, value) -> System.out.printf("  %-40s %,.0f%n", counter, value));
+
+        for (GatewayReplayHarness.Check check : result.checks()) {
+            System.out.printf("  [%s] %s: 기대 %,d / 실제 %,d%n",
+                check.ok() ? "OK" : "FAIL", check.name(), check.expected(), check.actual());
+        }
+        System.out.println(result.ok() ? "결과: 통과" : "결과: 실패");
+        return result.ok();
+    }
+
+    private static void print(String label, GatewayReplayHarness.Latency latency) {
+        System.out.printf("  %-6s %,9d건  p50 %,8.1fµs  p99 %,8.1fµs  p99.9 %,8.1fµs  max %,10.1fµs%n",
+            label, latency.count(), latency.p50() / 1e3, latency.p99() / 1e3, latency.p999() / 1e3,
+            latency.max() / 1e3);
+    }
+}
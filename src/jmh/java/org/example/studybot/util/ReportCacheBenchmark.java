@@ -0,0 +1,80 @@
+package org.example.studybot.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 여러 명이 동시에 기록 드롭다운을 누르는 상황 (8 스레드, 서버 하나, 리포트 6종)
+ * - uncached: 매번 집계 + 포맷팅 (DB 조회 비용은 consumeCPU 로 대신함)
+ * - cached: ReportCache 경유, 가끔 세션 저장으로 오늘 기간이 무효화됨
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportCacheBenchmark {
+
+    private static final long GUILD_ID = 1L;
+    private static final String[] TYPES = {"일간", "주간", "월간", "내일간", "내주간", "내월간"};
+    // 집계 한 번의 비용 (대략 수십 µs)
+    private static final long LOAD_TOKENS = 20_000;
+
+    private ReportCache cache;
+    private ReportCache.Key[] keys;
+    private LocalDateTime today;
+
+    @Setup
+    public void setUp() {
+        cache = new ReportCache(new SimpleMeterRegistry(), 256);
+        today = LocalDate.of(2025, 1, 8).atStartOfDay();
+
+        keys = new ReportCache.Key[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            Long user = i < 3 ? null : 1_000_000L;
+            keys[i] = new ReportCache.Key(GUILD_ID, TYPES[i], today.minusDays(i), today.plusDays(1), user);
+        }
+    }
+
+    private String load(ReportCache.Key key) {
+        Blackhole.consumeCPU(LOAD_TOKENS);
+        return key.type() + " 기록";
+    }
+
+    @Benchmark
+    @Group("uncached")
+    @GroupThreads(8)
+    public String uncachedClick() {
+        return load(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+
+    @Benchmark
+    @Group("cached")
+    @GroupThreads(7)
+    public String cachedClick() {
+        ReportCache.Key key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        return cache.get(key, () -> load(key));
+    }
+
+    @Benchmark
+    @Group("cached")
+    @GroupThreads(1)
+    public void sessionSaved() {
+        // flush 주기(1초)마다 한 번쯤이지만, 여기서는 훨씬 자주 무효화해서 최악에 가깝게 측정
+        Blackhole.consumeCPU(200_000);
+        cache.invalidate(GUILD_ID, today.plusHours(10), today.plusHours(11));
+    }
+}
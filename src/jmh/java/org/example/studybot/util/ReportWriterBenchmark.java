@@ -0,0 +1,90 @@
+package org.example.studybot.util;
+
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.bench.SyntheticSessions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 리포트 줄 포맷팅: 기존 String.format 방식(prettyDuration + "기준: %s ~ %s" 제목) vs ReportWriter
+ * 세션마다 "• 요일: X시간 Y분 Z초" 한 줄을 쓰고, 2000자가 차면 메시지 하나로 내보낸 뒤 다음 메시지를 제목부터 다시 쓴다.
+ * 결과 문자열(메시지)은 둘 다 만들므로 gc.alloc.rate.norm 차이가 줄마다 생기던 중간 문자열/Formatter 할당이다.
+ * 리포트 전체 비교는 RecordManagerFormatBenchmark 를 이 변경 전후로 돌려서 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportWriterBenchmark {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
+
+    @Param({"1000", "100000", "1000000"})
+    public int sessions;
+
+    private SyntheticSessions data;
+    private StringBuilder legacyBuffer;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticSessions.generate(sessions, 42);
+        legacyBuffer = new StringBuilder(MessageChunker.DISCORD_LIMIT + 48);
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole bh) {
+        StringBuilder sb = legacyBuffer;
+        int i = 0;
+        while (i < data.size()) {
+            sb.setLength(0);
+            sb.append("📊 **주간 전체 공부 기록 요약**\n")
+                .append(String.format("기준: %s ~ %s",
+                    SyntheticSessions.WEEK_START.format(DATE_FMT), SyntheticSessions.WEEK_END.format(DATE_FMT)))
+                .append("\n\n");
+            while (i < data.size() && sb.length() < MessageChunker.DISCORD_LIMIT) {
+                sb.append("• 월: ").append(prettyDuration(data.seconds(i++))).append("\n");
+            }
+            bh.consume(sb.toString());
+        }
+    }
+
+    @Benchmark
+    public void reportWriter(Blackhole bh) {
+        int i = 0;
+        while (i < data.size()) {
+            // 메시지마다 같은 스레드 버퍼를 다시 빌린다
+            try (ReportWriter out = ReportWriter.open()) {
+                out.append("📊 **주간 전체 공부 기록 요약**\n")
+                    .dateRange(SyntheticSessions.WEEK_START, SyntheticSessions.WEEK_END)
+                    .append("\n\n");
+                while (i < data.size() && out.length() < MessageChunker.DISCORD_LIMIT) {
+                    out.append("• 월: ").duration(data.seconds(i++)).append('\n');
+                }
+                bh.consume(out.toString());
+            }
+        }
+    }
+
+    // 변경 전 RecordManager / 요약 서비스들이 각각 들고 있던 구현 그대로
+    private static String prettyDuration(long totalSeconds) {
+        long hours = totalSeconds / 3600;
+        long minutes = (totalSeconds % 3600) / 60;
+        long seconds = totalSeconds % 60;
+
+        if (hours > 0) {
+            return String.format("%d시간 %d분 %d초", hours, minutes, seconds);
+        }
+        if (minutes > 0) {
+            return String.format("%d분 %d초", minutes, seconds);
+        }
+        return String.format("%d초", seconds);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.studybot.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 주간 요약 집계 (user × 요일 + 합계 내림차순): 기존 이름 기준 HashMap/stream 방식 vs userId 기준 StudyAggregate
+ * 입력은 DB projection 과 같은 모양의 행 100k 개 (사용자 수만 바꿔 가며 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudyAggregateBenchmark {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"50", "5000"})
+    public int users;
+
+    private List<Row> dayTotals;
+
+    // 예전 방식 비교를 위해 표시 이름도 같이 들고 있다
+    private record Row(Long userId, String userName, LocalDate statDate, Long totalSeconds)
+        implements UserDayTotalView {
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public LocalDate getStatDate() {
+            return statDate;
+        }
+
+        @Override
+        public Long getTotalSeconds() {
+            return totalSeconds;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] names = new String[users];
+        for (int i = 0; i < users; i++) {
+            names[i] = "user-" + i;
+        }
+
+        dayTotals = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int user = random.nextInt(users);
+            dayTotals.add(new Row(
+                1_000_000L + user,
+                names[user],
+                MONDAY.plusDays(random.nextInt(7)),
+                (long) random.nextInt(4 * 3600)));
+        }
+    }
+
+    @Benchmark
+    public void hashMapStreams(Blackhole bh) {
+        // 기존 RecordManager.formatWeeklySummary 의 집계 부분 (표시 이름 문자열로 묶음)
+        Map<String, Map<DayOfWeek, Long>> userDayDurations = new HashMap<>();
+        for (Row dayTotal : dayTotals) {
+            long duration = Optional.ofNullable(dayTotal.getTotalSeconds()).orElse(0L);
+            userDayDurations
+                .computeIfAbsent(dayTotal.userName(), k -> new HashMap<>())
+                .merge(dayTotal.getStatDate().getDayOfWeek(), duration, Long::sum);
+        }
+
+        Map<String, Long> userTotals = new HashMap<>();
+        for (Map.Entry<String, Map<DayOfWeek, Long>> entry : userDayDurations.entrySet()) {
+            long sum = entry.getValue().values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+            userTotals.put(entry.getKey(), sum);
+        }
+
+        userTotals.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .forEach(entry -> {
+                Map<DayOfWeek, Long> days = userDayDurations.get(entry.getKey());
+                for (DayOfWeek dow : DayOfWeek.values()) {
+                    Long sec = days.get(dow);
+                    bh.consume(sec == null ? 0L : sec);
+                }
+                bh.consume(entry.getValue());
+            });
+    }
+
+    @Benchmark
+    public void studyAggregate(Blackhole bh) {
+        StudyAggregate aggregate = StudyAggregate.of(dayTotals, Bucket.DAY_OF_WEEK,
+            UserDayTotalView::getUserId,
+            row -> Bucket.of(row.getStatDate().getDayOfWeek()),
+            row -> StudyAggregate.orZero(row.getTotalSeconds()));
+
+        for (int user : aggregate.usersByTotalDescending()) {
+            for (int day = 0; day < Bucket.DAY_OF_WEEK.count(); day++) {
+                bh.consume(aggregate.seconds(user, day));
+            }
+            bh.consume(aggregate.total(user));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.studybot.util.summary;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.bench.SyntheticSessions;
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 월요일 자동 주간 요약 (DB 조회 결과 → 집계 → 2000자 단위 메시지들)
+ * 입력은 sumByUserAndDay 와 같은 모양의 사용자 × 날짜 합계 행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeekSummaryServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int sessions;
+
+    private WeekSummaryService service;
+    private List<UserDayTotalView> dayTotals;
+
+    @Setup
+    public void setUp() {
+        SyntheticSessions data = SyntheticSessions.generate(sessions, 42);
+
+        service = new WeekSummaryService();
+        SyntheticSessions.inject(service, "userNameIndex", data.names());
+
+        dayTotals = data.dayTotals(SyntheticSessions.WEEK_START, SyntheticSessions.WEEK_END);
+    }
+
+    @Benchmark
+    public List<String> buildWeeklySummaryMessage() {
+        return service.buildWeeklySummaryMessage(SyntheticSessions.GUILD_ID, dayTotals,
+            SyntheticSessions.WEEK_START, SyntheticSessions.WEEK_END);
+    }
+}
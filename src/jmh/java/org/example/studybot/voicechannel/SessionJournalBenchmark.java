@@ -0,0 +1,85 @@
+package org.example.studybot.voicechannel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.example.studybot.bench.SyntheticSessions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 입장 → 퇴장 한 쌍: 예전 VoiceChannelTracker.userJoinTimes(ConcurrentHashMap, 재시작하면 사라짐) vs SessionJournal
+ * 저널은 메모리 맵 파일에 기록을 남기는 비용이 더해진다. fsync 는 백그라운드 스레드라 여기에는 들어가지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionJournalBenchmark {
+
+    private static final LocalDateTime JOINED_AT = LocalDateTime.of(2025, 1, 6, 10, 0);
+    private static final LocalDateTime LEFT_AT = JOINED_AT.plusHours(1);
+
+    @Param({"1000", "100000"})
+    public int sessions;
+
+    private SyntheticSessions data;
+    private Map<Long, LocalDateTime> userJoinTimes;
+    private SessionJournal journal;
+    private Path journalPath;
+
+    private int current;
+
+    @Setup
+    public void setUp() throws IOException {
+        data = SyntheticSessions.generate(sessions, 42);
+        userJoinTimes = new ConcurrentHashMap<>();
+
+        journalPath = Files.createTempFile("session-journal-bench", ".dat");
+        SessionJournalProperties properties = new SessionJournalProperties();
+        properties.setPath(journalPath.toString());
+        journal = new SessionJournal(properties, new SimpleMeterRegistry());
+        journal.init();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.shutdown();
+        Files.deleteIfExists(journalPath);
+    }
+
+    private long nextUserId() {
+        long userId = data.userId(current);
+        if (++current == data.size()) {
+            current = 0;
+        }
+        return userId;
+    }
+
+    @Benchmark
+    public LocalDateTime map() {
+        long userId = nextUserId();
+        userJoinTimes.putIfAbsent(userId, JOINED_AT);
+        return userJoinTimes.remove(userId);
+    }
+
+    @Benchmark
+    public SessionJournal.OpenSession journal() {
+        long userId = nextUserId();
+        journal.open(SyntheticSessions.GUILD_ID, userId, SyntheticSessions.CHANNEL_ID, JOINED_AT);
+        return journal.close(SyntheticSessions.GUILD_ID, userId, LEFT_AT);
+    }
+}
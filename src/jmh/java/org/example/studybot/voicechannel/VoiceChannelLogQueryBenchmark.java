@@ -0,0 +1,117 @@
+package org.example.studybot.voicechannel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * voice_channel_logs 기간 조회: 인덱스 (guild_id, started_at, user_id, duration) / (user_id, started_at) 유무 비교
+ * 부하 테스트와 같은 H2(MODE=MySQL) 스키마에 행 수백만 개를 만들고, 리포지토리의 sumByUserBetween 과 같은 SQL 을 돌린다.
+ * 실행 계획(EXPLAIN)은 Setup 에서 한 번 출력한다. MySQL 옵티마이저와는 다르므로 운영 DB 에서는 EXPLAIN 으로 다시 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VoiceChannelLogQueryBenchmark {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2024, 1, 1, 0, 0);
+    // 행 사이 간격 (초). 100만 행이면 약 230일치
+    private static final int STEP_SECONDS = 20;
+    private static final int GUILDS = 5;
+    private static final int USERS = 20_000;
+    private static final long FIRST_USER_ID = 1_000_000L;
+
+    // 한 서버의 기간 내 사용자별 합계 (주간/월간 요약, /기간기록)
+    private static final String SUM_BY_USER_SQL =
+        "SELECT user_id, SUM(duration) FROM voice_channel_logs "
+            + "WHERE guild_id = ? AND started_at >= ? AND started_at < ? AND user_id IS NOT NULL "
+            + "GROUP BY user_id";
+
+    // 한 사람의 기간 내 합계 (/기록)
+    private static final String SUM_OF_USER_SQL =
+        "SELECT user_id, SUM(duration) FROM voice_channel_logs "
+            + "WHERE guild_id = ? AND started_at >= ? AND started_at < ? AND user_id = ? "
+            + "GROUP BY user_id";
+
+    @Param({"1000000", "3000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    // 데이터 한가운데의 일주일
+    private LocalDateTime weekStart;
+    private LocalDateTime weekEnd;
+    private long userId;
+
+    @Setup
+    public void setUp() {
+        dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:query-bench-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("loadtest/schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // 행을 JDBC 로 하나씩 넣으면 오래 걸리므로 DB 안에서 만든다 (X = 1 ~ rows, 같은 값이 나오도록 난수 대신 곱셈/나머지)
+        jdbcTemplate.update(
+            "INSERT INTO voice_channel_logs "
+                + "(guild_id, user_id, nick_name, channel_id, channel_name, duration, started_at, recorded_at, user_name) "
+                + "SELECT MOD(X, ?) + 1, ? + MOD(X * 7919, ?), 'nick', 10, 'study', MOD(X * 31, 7200), "
+                + "DATEADD('SECOND', X * ?, ?), DATEADD('SECOND', X * ? + MOD(X * 31, 7200), ?), 'user' "
+                + "FROM SYSTEM_RANGE(1, ?)",
+            GUILDS, FIRST_USER_ID, USERS, STEP_SECONDS, FIRST, STEP_SECONDS, FIRST, rows);
+
+        if (!indexed) {
+            jdbcTemplate.execute("DROP INDEX idx_voice_logs_guild_started");
+            jdbcTemplate.execute("DROP INDEX idx_voice_logs_user_started");
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        weekStart = FIRST.plusSeconds((long) rows * STEP_SECONDS / 2).toLocalDate().atStartOfDay();
+        weekEnd = weekStart.plusDays(7);
+        // 서버 1(X 가 5의 배수)에 기록이 있는 사용자 (7919 와 20000 은 서로소라 5의 배수 번호만 서버 1에 나온다)
+        userId = FIRST_USER_ID + 40;
+
+        System.out.printf("%n[rows=%d, indexed=%s]%n", rows, indexed);
+        explain(SUM_BY_USER_SQL, 1L, weekStart, weekEnd);
+        explain(SUM_OF_USER_SQL, 1L, weekStart, weekEnd, userId);
+    }
+
+    private void explain(String sql, Object... args) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+        plan.forEach(row -> row.values().forEach(System.out::println));
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> guildWeekByUser() {
+        return jdbcTemplate.queryForList(SUM_BY_USER_SQL, 1L, weekStart, weekEnd);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> oneUserWeek() {
+        return jdbcTemplate.queryForList(SUM_OF_USER_SQL, 1L, weekStart, weekEnd, userId);
+    }
+}
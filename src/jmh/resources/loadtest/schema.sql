@@ -0,0 +1,54 @@
+-- 부하 테스트 하네스(GatewayReplayHarness)용 H2 스키마 (MODE=MySQL)
+-- src/main/resources/db/migration 의 V1 ~ V6 을 모두 적용한 뒤의 모양과 같게 맞춘다. 마이그레이션을 추가하면 여기도 같이 고친다.
+CREATE TABLE voice_channel_logs (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    guild_id     BIGINT       NOT NULL DEFAULT 0,
+    user_id      BIGINT,
+    nick_name    VARCHAR(255),
+    channel_id   BIGINT,
+    channel_name VARCHAR(255),
+    duration     BIGINT,
+    started_at   TIMESTAMP(6),
+    recorded_at  TIMESTAMP(6),
+    user_name    VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_voice_logs_guild_started ON voice_channel_logs (guild_id, started_at, user_id, duration);
+CREATE INDEX idx_voice_logs_user_started ON voice_channel_logs (user_id, started_at);
+CREATE INDEX idx_voice_logs_guild_channel ON voice_channel_logs (guild_id, channel_id);
+
+CREATE TABLE user_daily_totals (
+    guild_id      BIGINT       NOT NULL DEFAULT 0,
+    user_id       BIGINT       NOT NULL,
+    stat_date     DATE         NOT NULL,
+    seconds       BIGINT,
+    session_count INT,
+    display_name  VARCHAR(255),
+    PRIMARY KEY (guild_id, user_id, stat_date)
+);
+
+CREATE INDEX idx_user_daily_totals_guild_date ON user_daily_totals (guild_id, stat_date);
+
+CREATE TABLE guild_settings (
+    guild_id           BIGINT NOT NULL,
+    log_channel_id     BIGINT,
+    summary_channel_id BIGINT,
+    PRIMARY KEY (guild_id)
+);
+
+CREATE TABLE tracked_voice_channels (
+    channel_id BIGINT NOT NULL,
+    guild_id   BIGINT NOT NULL,
+    PRIMARY KEY (channel_id)
+);
+
+CREATE INDEX idx_tracked_voice_channels_guild ON tracked_voice_channels (guild_id);
+
+CREATE TABLE user_minute_presence (
+    guild_id    BIGINT          NOT NULL,
+    user_id     BIGINT          NOT NULL,
+    stat_date   DATE            NOT NULL,
+    minute_runs VARBINARY(2880) NOT NULL,
+    PRIMARY KEY (guild_id, user_id, stat_date)
+);
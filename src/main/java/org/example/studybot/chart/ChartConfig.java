@@ -0,0 +1,40 @@
+package org.example.studybot.chart;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ChartConfig {
+
+    /**
+     * 차트 렌더링 전용 스레드 풀 (크기 제한 + 대기열 제한)
+     * 렌더링은 CPU/메모리를 많이 쓰므로 명령어 풀과 나눠서, 몰려도 다른 명령어가 밀리지 않게 한다.
+     * 대기열까지 가득 차면 바로 거절하고 CommandHandler 가 "잠시 후 다시" 안내한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService chartExecutor(
+        @Value("${chart.executor.threads:2}") int threads,
+        @Value("${chart.executor.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "chart-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public StudyChartRenderer studyChartRenderer(@Value("${chart.font-family:SansSerif}") String fontFamily) {
+        return new StudyChartRenderer(fontFamily);
+    }
+}
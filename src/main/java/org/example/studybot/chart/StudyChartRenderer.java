@@ -0,0 +1,323 @@
+package org.example.studybot.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.LongFunction;
+
+import javax.imageio.ImageIO;
+
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+
+/**
+ * 공부 기록 차트 PNG 생성 (Java2D, headless)
+ * 불변 객체라 여러 스레드에서 동시에 써도 된다. 스프링 부트는 기본으로 java.awt.headless=true 로 실행한다.
+ * 사람이 많으면 합계 상위 MAX_ROWS 명만 그리고 나머지는 "외 n명" 으로 표시한다.
+ */
+public class StudyChartRenderer {
+
+    static final int MAX_ROWS = 30;
+
+    private static final int WIDTH = 900;
+    private static final int MARGIN = 20;
+    private static final int NAME_WIDTH = 150;
+    private static final int TITLE_HEIGHT = 70;
+    private static final int ROW_HEIGHT = 26;
+    private static final int FOOTER_HEIGHT = 30;
+
+    private static final Color BACKGROUND = new Color(0x2B, 0x2D, 0x31);
+    private static final Color TEXT = new Color(0xF2, 0xF3, 0xF5);
+    private static final Color SUB_TEXT = new Color(0xB5, 0xBA, 0xC1);
+    private static final Color GRID = new Color(0x40, 0x44, 0x4B);
+
+    // 월 ~ 일
+    private static final Color[] DAY_COLORS = {
+        new Color(0x57, 0x8E, 0xF2), new Color(0x4C, 0xC9, 0xA8), new Color(0x9B, 0xD3, 0x5A),
+        new Color(0xF2, 0xC9, 0x4C), new Color(0xF2, 0x8E, 0x4C), new Color(0xE8, 0x5D, 0x75),
+        new Color(0xA7, 0x7B, 0xE8)
+    };
+    private static final String[] DAY_LABELS = {"월", "화", "수", "목", "금", "토", "일"};
+
+    // 히트맵 칸 색: 0, ~1시간, ~2시간, ~4시간, 4시간 이상
+    private static final Color[] HEAT_COLORS = {
+        new Color(0x38, 0x3A, 0x40), new Color(0x0E, 0x44, 0x29), new Color(0x00, 0x6D, 0x32),
+        new Color(0x26, 0xA6, 0x41), new Color(0x39, 0xD3, 0x53)
+    };
+    private static final long[] HEAT_THRESHOLDS = {1, 3600, 2 * 3600, 4 * 3600};
+    private static final String[] HEAT_LABELS = {"0", "~1h", "~2h", "~4h", "4h+"};
+    // 요일 × 시간대 히트맵은 가장 많은 칸 대비 비율로 칠한다
+    private static final String[] RELATIVE_HEAT_LABELS = {"0", "~25%", "~50%", "~75%", "~100%"};
+
+    private final Font titleFont;
+    private final Font labelFont;
+    private final Font smallFont;
+
+    /**
+     * @param fontFamily 한글 이름이 나오려면 서버에 설치된 한글 글꼴 (예: NanumGothic). 없으면 SansSerif
+     */
+    public StudyChartRenderer(String fontFamily) {
+        this.titleFont = new Font(fontFamily, Font.BOLD, 20);
+        this.labelFont = new Font(fontFamily, Font.PLAIN, 13);
+        this.smallFont = new Font(fontFamily, Font.PLAIN, 11);
+    }
+
+    public StudyChartRenderer() {
+        this(Font.SANS_SERIF);
+    }
+
+    /**
+     * 사용자별 가로 막대 (요일별 색으로 쌓음), 합계 내림차순
+     *
+     * @param aggregate DAY_OF_WEEK 집계
+     * @param names     userId → 표시 이름
+     */
+    public byte[] weeklyBars(StudyAggregate aggregate, LongFunction<String> names, String title) {
+        requireBucket(aggregate, Bucket.DAY_OF_WEEK);
+        int[] order = aggregate.usersByTotalDescending();
+        int rows = Math.min(order.length, MAX_ROWS);
+
+        int height = TITLE_HEIGHT + rows * ROW_HEIGHT + FOOTER_HEIGHT;
+        BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = begin(image);
+        try {
+            drawTitle(g, title, order.length);
+            for (int day = 0; day < DAY_LABELS.length; day++) {
+                drawLegendBox(g, MARGIN + NAME_WIDTH + day * 50, 48, DAY_COLORS[day], DAY_LABELS[day]);
+            }
+
+            long max = rows > 0 ? Math.max(1L, aggregate.total(order[0])) : 1L;
+            int barLeft = MARGIN + NAME_WIDTH;
+            int barMaxWidth = WIDTH - barLeft - MARGIN - 110;
+
+            for (int row = 0; row < rows; row++) {
+                int user = order[row];
+                int y = TITLE_HEIGHT + row * ROW_HEIGHT;
+                drawName(g, names.apply(aggregate.userId(user)), y);
+
+                // 누적 초로 끝 위치를 계산해서 반올림 오차가 쌓이지 않게 한다
+                long cumulative = 0L;
+                int x = barLeft;
+                for (int day = 0; day < DAY_LABELS.length; day++) {
+                    long sec = aggregate.seconds(user, day);
+                    if (sec == 0L) {
+                        continue;
+                    }
+                    cumulative += sec;
+                    int end = barLeft + (int) (cumulative * barMaxWidth / max);
+                    g.setColor(DAY_COLORS[day]);
+                    g.fillRect(x, y + 5, Math.max(1, end - x), ROW_HEIGHT - 10);
+                    x = end;
+                }
+
+                g.setFont(labelFont);
+                g.setColor(SUB_TEXT);
+                g.drawString(hoursAndMinutes(aggregate.total(user)), x + 8, y + ROW_HEIGHT - 8);
+            }
+        } finally {
+            g.dispose();
+        }
+        return toPng(image);
+    }
+
+    /**
+     * 사용자 × 날짜 히트맵, 합계 내림차순
+     *
+     * @param aggregate   DAY_OF_MONTH 집계
+     * @param daysInMonth 그릴 날짜 수 (28 ~ 31)
+     * @param names       userId → 표시 이름
+     */
+    public byte[] monthlyHeatmap(StudyAggregate aggregate, int daysInMonth, LongFunction<String> names,
+        String title) {
+        requireBucket(aggregate, Bucket.DAY_OF_MONTH);
+        int[] order = aggregate.usersByTotalDescending();
+        int rows = Math.min(order.length, MAX_ROWS);
+
+        int gridLeft = MARGIN + NAME_WIDTH;
+        int cell = Math.min(ROW_HEIGHT - 4, (WIDTH - gridLeft - MARGIN - 90) / daysInMonth);
+        int gridTop = TITLE_HEIGHT + 18;
+
+        int height = gridTop + rows * ROW_HEIGHT + FOOTER_HEIGHT;
+        BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = begin(image);
+        try {
+            drawTitle(g, title, order.length);
+            for (int level = 0; level < HEAT_COLORS.length; level++) {
+                drawLegendBox(g, gridLeft + level * 60, 48, HEAT_COLORS[level], HEAT_LABELS[level]);
+            }
+
+            // 날짜 머리글 (1, 5, 10, ...)
+            g.setFont(smallFont);
+            g.setColor(SUB_TEXT);
+            for (int day = 1; day <= daysInMonth; day++) {
+                if (day == 1 || day % 5 == 0) {
+                    g.drawString(String.valueOf(day), gridLeft + (day - 1) * cell + 2, gridTop - 4);
+                }
+            }
+
+            for (int row = 0; row < rows; row++) {
+                int user = order[row];
+                int y = gridTop + row * ROW_HEIGHT;
+                drawName(g, names.apply(aggregate.userId(user)), y);
+
+                for (int day = 0; day < daysInMonth; day++) {
+                    g.setColor(HEAT_COLORS[heatLevel(aggregate.seconds(user, day))]);
+                    g.fillRect(gridLeft + day * cell, y + 2, cell - 2, ROW_HEIGHT - 6);
+                }
+
+                g.setFont(labelFont);
+                g.setColor(SUB_TEXT);
+                g.drawString(hoursAndMinutes(aggregate.total(user)),
+                    gridLeft + daysInMonth * cell + 8, y + ROW_HEIGHT - 8);
+            }
+        } finally {
+            g.dispose();
+        }
+        return toPng(image);
+    }
+
+    /**
+     * 요일(월~일) × 시(0~23) 히트맵. 칸 색은 가장 많이 공부한 칸 대비 비율
+     *
+     * @param minutes [요일 0=월][시] 출석 분 합계
+     */
+    public byte[] weekdayHourHeatmap(long[][] minutes, String title) {
+        int gridLeft = MARGIN + 40;
+        int cell = (WIDTH - gridLeft - MARGIN) / 24;
+        int gridTop = TITLE_HEIGHT + 18;
+
+        long max = 1L;
+        for (long[] day : minutes) {
+            for (long value : day) {
+                max = Math.max(max, value);
+            }
+        }
+
+        int height = gridTop + DAY_LABELS.length * ROW_HEIGHT + FOOTER_HEIGHT;
+        BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = begin(image);
+        try {
+            drawTitle(g, title, 0);
+            for (int level = 0; level < HEAT_COLORS.length; level++) {
+                drawLegendBox(g, gridLeft + level * 70, 48, HEAT_COLORS[level], RELATIVE_HEAT_LABELS[level]);
+            }
+
+            // 시 머리글 (0, 3, 6, ...)
+            g.setFont(smallFont);
+            g.setColor(SUB_TEXT);
+            for (int hour = 0; hour < 24; hour += 3) {
+                g.drawString(hour + "시", gridLeft + hour * cell + 2, gridTop - 4);
+            }
+
+            for (int day = 0; day < DAY_LABELS.length; day++) {
+                int y = gridTop + day * ROW_HEIGHT;
+                g.setFont(labelFont);
+                g.setColor(TEXT);
+                g.drawString(DAY_LABELS[day], MARGIN, y + ROW_HEIGHT - 8);
+
+                for (int hour = 0; hour < 24; hour++) {
+                    g.setColor(HEAT_COLORS[relativeHeatLevel(minutes[day][hour], max)]);
+                    g.fillRect(gridLeft + hour * cell, y + 2, cell - 2, ROW_HEIGHT - 6);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return toPng(image);
+    }
+
+    // ===================== 공통 =====================
+
+    private static Graphics2D begin(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        return g;
+    }
+
+    private void drawTitle(Graphics2D g, String title, int userCount) {
+        g.setFont(titleFont);
+        g.setColor(TEXT);
+        g.drawString(title, MARGIN, 32);
+
+        if (userCount > MAX_ROWS) {
+            g.setFont(smallFont);
+            g.setColor(SUB_TEXT);
+            g.drawString("상위 " + MAX_ROWS + "명 (외 " + (userCount - MAX_ROWS) + "명)", MARGIN, 58);
+        }
+
+        g.setColor(GRID);
+        g.setStroke(new BasicStroke(1f));
+        g.drawLine(MARGIN, TITLE_HEIGHT - 6, WIDTH - MARGIN, TITLE_HEIGHT - 6);
+    }
+
+    private void drawLegendBox(Graphics2D g, int x, int y, Color color, String label) {
+        g.setColor(color);
+        g.fillRect(x, y, 12, 12);
+        g.setFont(smallFont);
+        g.setColor(SUB_TEXT);
+        g.drawString(label, x + 16, y + 11);
+    }
+
+    // 이름이 길면 칸에 맞게 자른다
+    private void drawName(Graphics2D g, String name, int y) {
+        g.setFont(labelFont);
+        g.setColor(TEXT);
+        FontMetrics metrics = g.getFontMetrics();
+        String label = name;
+        if (metrics.stringWidth(label) > NAME_WIDTH - 10) {
+            while (label.length() > 1 && metrics.stringWidth(label + "…") > NAME_WIDTH - 10) {
+                label = label.substring(0, label.length() - 1);
+            }
+            label = label + "…";
+        }
+        g.drawString(label, MARGIN, y + ROW_HEIGHT - 8);
+    }
+
+    private static int heatLevel(long seconds) {
+        int level = 0;
+        while (level < HEAT_THRESHOLDS.length && seconds >= HEAT_THRESHOLDS[level]) {
+            level++;
+        }
+        return level;
+    }
+
+    // 0 이면 0단계, 나머지는 max 대비 4등분
+    private static int relativeHeatLevel(long value, long max) {
+        if (value <= 0L) {
+            return 0;
+        }
+        return 1 + (int) Math.min(HEAT_COLORS.length - 2, value * (HEAT_COLORS.length - 1) / (max + 1));
+    }
+
+    private static String hoursAndMinutes(long seconds) {
+        long hours = seconds / 3600;
+        long minutes = (seconds % 3600) / 60;
+        return hours > 0 ? hours + "시간 " + minutes + "분" : minutes + "분";
+    }
+
+    private static void requireBucket(StudyAggregate aggregate, Bucket bucket) {
+        if (aggregate.bucket() != bucket) {
+            throw new IllegalArgumentException(bucket + " 집계가 필요합니다: " + aggregate.bucket());
+        }
+    }
+
+    private static byte[] toPng(BufferedImage image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
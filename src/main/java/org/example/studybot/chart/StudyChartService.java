@@ -0,0 +1,212 @@
+package org.example.studybot.chart;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.example.studybot.command.CommandReply;
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.MinutePresenceIndex;
+import org.example.studybot.voicechannel.UserDailyTotalRepository;
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주간 막대 / 월간 히트맵 / 요일 × 시간대 히트맵 차트 명령어 처리
+ * 조회 + 렌더링은 chartExecutor 에서 하고, 만든 PNG 는 (서버, 종류, 기간, 데이터 버전) 으로 캐시한다.
+ * 데이터 버전은 주간/월간은 집계 결과의 fingerprint, 요일 × 시간대는 출석 색인의 서버별 버전이라서
+ * 기록이 바뀌면 키가 달라져 자연히 다시 그린다. (무효화 불필요)
+ * 집계는 userId 로 하고 이름은 그릴 때 찾으므로, 이름이 바뀐 경우를 위해 이름 캐시 버전도 키에 넣는다.
+ */
+@Slf4j
+@Component
+public class StudyChartService {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
+    private static final String[] DAY_LABELS = {"월", "화", "수", "목", "금", "토", "일"};
+    // 요일 × 시간대는 요일마다 4번씩 들어가도록 최근 4주
+    private static final int HOURLY_WEEKS = 4;
+    private static final int PEAK_SLOTS = 5;
+
+    private record ChartKey(long guildId, String type, LocalDate start, long dataVersion, long nameVersion) {
+    }
+
+    private final UserDailyTotalRepository dailyTotalRepository;
+    private final MinutePresenceIndex presenceIndex;
+    private final UserNameIndex userNameIndex;
+    private final StudyChartRenderer renderer;
+    private final ExecutorService chartExecutor;
+    private final int maxEntries;
+
+    private final Map<ChartKey, byte[]> renderCache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final MeterRegistry meterRegistry;
+
+    public StudyChartService(UserDailyTotalRepository dailyTotalRepository, MinutePresenceIndex presenceIndex,
+        UserNameIndex userNameIndex, StudyChartRenderer renderer, ExecutorService chartExecutor,
+        MeterRegistry meterRegistry, @Value("${chart.cache.max-entries:32}") int maxEntries) {
+        this.dailyTotalRepository = dailyTotalRepository;
+        this.presenceIndex = presenceIndex;
+        this.userNameIndex = userNameIndex;
+        this.renderer = renderer;
+        this.chartExecutor = chartExecutor;
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+        // 접근 순서 LRU (PNG 는 수십 KB 라 개수로만 제한)
+        this.renderCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ChartKey, byte[]> eldest) {
+                return size() > StudyChartService.this.maxEntries;
+            }
+        };
+        this.hitCounter = meterRegistry.counter("studybot.chart.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("studybot.chart.cache", "result", "miss");
+    }
+
+    // 이번 주(월~일) 사용자별 요일 막대
+    public CompletableFuture<CommandReply> weeklyChart(long guildId, LocalDate today) {
+        return CompletableFuture.supplyAsync(() -> {
+            LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            LocalDate sunday = monday.plusDays(6);
+
+            StudyAggregate aggregate = StudyAggregate.of(
+                dailyTotalRepository.sumByUserAndDay(guildId, monday, sunday, null), Bucket.DAY_OF_WEEK,
+                UserDayTotalView::getUserId,
+                row -> Bucket.of(row.getStatDate().getDayOfWeek()),
+                row -> StudyAggregate.orZero(row.getTotalSeconds()));
+            if (aggregate.isEmpty()) {
+                return CommandReply.ofText("⚠️ 주간 기간 동안 기록이 없습니다.");
+            }
+
+            String title = String.format("주간 공부 시간 (%s ~ %s)", monday.format(DATE_FMT), sunday.format(DATE_FMT));
+            byte[] png = render(chartKey(guildId, "weekly", monday, aggregate.fingerprint()), "weekly",
+                () -> renderer.weeklyBars(aggregate, userId -> userNameIndex.displayName(guildId, userId), title));
+            return CommandReply.ofImage("📊 **" + title + "**", png, "weekly-" + monday + ".png");
+        }, chartExecutor);
+    }
+
+    // 이번 달 사용자 × 날짜 히트맵
+    public CompletableFuture<CommandReply> monthlyChart(long guildId, LocalDate today) {
+        return CompletableFuture.supplyAsync(() -> {
+            LocalDate first = today.with(TemporalAdjusters.firstDayOfMonth());
+            LocalDate last = today.with(TemporalAdjusters.lastDayOfMonth());
+
+            List<UserDayTotalView> dayTotals = dailyTotalRepository.sumByUserAndDay(guildId, first, last, null);
+            StudyAggregate aggregate = StudyAggregate.of(dayTotals, Bucket.DAY_OF_MONTH,
+                UserDayTotalView::getUserId,
+                row -> row.getStatDate().getDayOfMonth() - 1,
+                row -> StudyAggregate.orZero(row.getTotalSeconds()));
+            if (aggregate.isEmpty()) {
+                return CommandReply.ofText("⚠️ 월간 기간 동안 기록이 없습니다.");
+            }
+
+            String title = String.format("%d월 공부 히트맵 (%s ~ %s)",
+                first.getMonthValue(), first.format(DATE_FMT), last.format(DATE_FMT));
+            byte[] png = render(chartKey(guildId, "monthly", first, aggregate.fingerprint()), "monthly",
+                () -> renderer.monthlyHeatmap(aggregate, last.getDayOfMonth(),
+                    userId -> userNameIndex.displayName(guildId, userId), title));
+            return CommandReply.ofImage("📊 **" + title + "**", png, "monthly-" + first + ".png");
+        }, chartExecutor);
+    }
+
+    // 최근 4주 요일 × 시간대 출석 히트맵 (분 단위 출석 색인에서 바로 집계)
+    public CompletableFuture<CommandReply> hourlyChart(long guildId, LocalDate today) {
+        return CompletableFuture.supplyAsync(() -> {
+            LocalDate from = today.minusWeeks(HOURLY_WEEKS).plusDays(1);
+            // 집계 전에 읽는다: 그 사이에 바뀌면 키만 옛 버전이라 다음 조회에서 한 번 더 그릴 뿐이다
+            long dataVersion = presenceIndex.version(guildId);
+            long[][] minutes = presenceIndex.weekdayHourMinutes(guildId, from, today);
+            String peaks = peakSlots(minutes);
+            if (peaks.isEmpty()) {
+                return CommandReply.ofText("⚠️ 최근 " + HOURLY_WEEKS + "주 동안 기록이 없습니다.");
+            }
+
+            String title = String.format("요일 × 시간대 공부 히트맵 (%s ~ %s)",
+                from.format(DATE_FMT), today.format(DATE_FMT));
+            byte[] png = render(new ChartKey(guildId, "hourly", from, dataVersion, 0L), "hourly",
+                () -> renderer.weekdayHourHeatmap(minutes, title));
+            return CommandReply.ofImage("📊 **" + title + "**\n" + peaks, png, "hourly-" + from + ".png");
+        }, chartExecutor);
+    }
+
+    // 차트 없이 가장 많이 공부한 시간대만 (텍스트 응답)
+    public String hourlyPeaks(long guildId, LocalDate today) {
+        LocalDate from = today.minusWeeks(HOURLY_WEEKS).plusDays(1);
+        String peaks = peakSlots(presenceIndex.weekdayHourMinutes(guildId, from, today));
+        return peaks.isEmpty()
+            ? "⚠️ 최근 " + HOURLY_WEEKS + "주 동안 기록이 없습니다."
+            : "📊 **최근 " + HOURLY_WEEKS + "주 공부가 많은 시간대**\n" + peaks;
+    }
+
+    // 출석 분이 많은 요일 × 시 상위 몇 칸 ("• 화 21시: 12시간 30분"), 기록이 없으면 빈 문자열
+    private static String peakSlots(long[][] minutes) {
+        StringBuilder sb = new StringBuilder();
+        boolean[][] used = new boolean[7][24];
+        for (int slot = 0; slot < PEAK_SLOTS; slot++) {
+            int bestDay = -1;
+            int bestHour = -1;
+            for (int day = 0; day < 7; day++) {
+                for (int hour = 0; hour < 24; hour++) {
+                    if (!used[day][hour] && minutes[day][hour] > 0L
+                        && (bestDay < 0 || minutes[day][hour] > minutes[bestDay][bestHour])) {
+                        bestDay = day;
+                        bestHour = hour;
+                    }
+                }
+            }
+            if (bestDay < 0) {
+                break;
+            }
+            used[bestDay][bestHour] = true;
+            long total = minutes[bestDay][bestHour];
+            sb.append("• ").append(DAY_LABELS[bestDay]).append(" ").append(bestHour).append("시: ")
+                .append(total >= 60 ? total / 60 + "시간 " + total % 60 + "분" : total + "분").append("\n");
+        }
+        return sb.toString();
+    }
+
+    // 이름이 들어가는 차트: 기록이나 이름 중 하나라도 바뀌면 다시 그린다
+    private ChartKey chartKey(long guildId, String type, LocalDate start, long dataVersion) {
+        return new ChartKey(guildId, type, start, dataVersion, userNameIndex.version());
+    }
+
+    private byte[] render(ChartKey key, String type, Supplier<byte[]> painter) {
+        synchronized (renderCache) {
+            byte[] cached = renderCache.get(key);
+            if (cached != null) {
+                hitCounter.increment();
+                return cached;
+            }
+        }
+        missCounter.increment();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        byte[] png = painter.get();
+        sample.stop(Timer.builder("studybot.chart.render")
+            .description("차트 PNG 렌더링 시간")
+            .tag("type", type)
+            .register(meterRegistry));
+        log.debug("[StudyChartService] {} 차트 렌더링. guild={}, {}bytes", type, key.guildId(), png.length);
+
+        synchronized (renderCache) {
+            renderCache.put(key, png);
+        }
+        return png;
+    }
+}
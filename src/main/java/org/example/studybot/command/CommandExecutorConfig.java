@@ -0,0 +1,34 @@
+package org.example.studybot.command;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CommandExecutorConfig {
+
+    /**
+     * 명령어 실행용 스레드 풀 (크기 제한 + 대기열 제한)
+     * 대기열까지 가득 차면 바로 거절해서 사용자에게 "잠시 후 다시" 안내한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService commandExecutor(
+        @Value("${command.executor.threads:4}") int threads,
+        @Value("${command.executor.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "command-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -1,20 +1,228 @@
 package org.example.studybot.command;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.example.studybot.command.recordcommands.RecordManager;
+import org.example.studybot.command.recordcommands.SpecificDate;
+import org.example.studybot.voicechannel.UserNameIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import net.dv8tion.jda.api.components.selections.StringSelectMenu;
+import net.dv8tion.jda.api.interactions.InteractionContextType;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CommandHandler {
 
+    // 슬래시 명령어: 드롭다운 메뉴 (/명령어, 옵션 없는 /기록) + 기간/날짜/사용자 옵션으로 조회하는 /기록
+    public static final String MENU_COMMAND = "명령어";
+    public static final String RECORD_COMMAND = "기록";
+    public static final String OPTION_PERIOD = "기간";
+    public static final String OPTION_DATE = "날짜";
+    public static final String OPTION_USER = "사용자";
+    // 기간 조회: /기간기록 범위 [사용자] [단위]
+    public static final String RANGE_COMMAND = "기간기록";
+    public static final String OPTION_RANGE = "범위";
+    public static final String OPTION_GROUP = "단위";
+
     private final CommandRegistry registry;
+    private final RecordManager recordManager;
+    private final SpecificDate specificDate;
+    private final UserNameIndex userNameIndex;
+    private final ExecutorService commandExecutor;
+    private final MeterRegistry meterRegistry;
 
-    public String handle(String commandName, String displayName, String userName) {
+    /**
+     * 명령어를 commandExecutor 에서 실행하고 결과 응답을 돌려준다.
+     * 반환된 future 는 실패하지 않는다 (오류도 안내 메시지로 바꿔서 완료).
+     * 명령어를 쓴 사람의 표시 이름은 이름 캐시에 최신으로 반영한다.
+     */
+    public CompletableFuture<CommandReply> handle(String commandName, long guildId, long userId,
+        String displayName) {
         Commands command = registry.getCommand(commandName);
         if (command == null)
-            return "잘못된 명령어입니다.";
-        return command.execute(displayName, userName);
+            return CompletableFuture.completedFuture(CommandReply.ofText("잘못된 명령어입니다."));
+        userNameIndex.update(guildId, userId, displayName);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<CommandReply> result;
+        try {
+            result = command.replyAsync(guildId, userId, displayName, commandExecutor);
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return complete(result, sample, command.getName());
+    }
+
+    /**
+     * 기록 페이지 버튼. 캐시된 집계에서 해당 페이지만 commandExecutor 에서 포맷팅한다.
+     * 명령어와 마찬가지로 반환된 future 는 실패하지 않는다.
+     */
+    public CompletableFuture<CommandReply> handlePage(String buttonId, long guildId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<CommandReply> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> recordManager.getReportPage(guildId, buttonId),
+                commandExecutor);
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return complete(result, sample, "페이지");
+    }
+
+    /**
+     * /기록 기간 [날짜] [사용자]. 명령어와 마찬가지로 반환된 future 는 실패하지 않는다.
+     *
+     * @param userOption 자동완성에서 고른 userId 또는 직접 입력한 이름 (없으면 전체)
+     */
+    public CompletableFuture<CommandReply> handleRecord(long guildId, String periodLabel, String datePart,
+        String userOption) {
+        Long userId = userOption != null ? userNameIndex.resolve(guildId, userOption) : null;
+        if (userOption != null && userId == null) {
+            return CompletableFuture.completedFuture(unknownUser(userOption));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<CommandReply> result;
+        try {
+            result = CompletableFuture.supplyAsync(
+                () -> recordManager.getReport(guildId, periodLabel, datePart, userId), commandExecutor);
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return complete(result, sample, RECORD_COMMAND);
+    }
+
+    /**
+     * /기간기록 범위 [사용자] [단위]. 명령어와 마찬가지로 반환된 future 는 실패하지 않는다.
+     */
+    public CompletableFuture<CommandReply> handleRange(long guildId, String rangeText, String userOption,
+        String grouping) {
+        Long userId = userOption != null ? userNameIndex.resolve(guildId, userOption) : null;
+        if (userOption != null && userId == null) {
+            return CompletableFuture.completedFuture(unknownUser(userOption));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<CommandReply> result;
+        try {
+            result = CompletableFuture.supplyAsync(
+                () -> specificDate.query(guildId, rangeText, userId, grouping), commandExecutor);
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return complete(result, sample, RANGE_COMMAND);
+    }
+
+    // 사용자 옵션 자동완성 (메모리 색인만 읽으므로 이벤트 스레드에서 바로 응답). 보이는 건 이름, 값은 userId
+    public List<Command.Choice> completeUserName(long guildId, String prefix) {
+        return userNameIndex.complete(guildId, prefix, OptionData.MAX_CHOICES).stream()
+            .map(match -> new Command.Choice(match.displayName(), String.valueOf(match.userId())))
+            .toList();
+    }
+
+    // 이 서버에 기록이 없는 사람 (DB 를 읽지 않고 바로 응답)
+    private static CommandReply unknownUser(String userOption) {
+        return CommandReply.ofText("⚠️ '" + userOption + "' 님의 기록을 찾을 수 없습니다.");
+    }
+
+    /**
+     * 등록된 모든 명령어 + 메뉴/조회 명령어. 서버 안에서만 쓸 수 있다.
+     */
+    public List<SlashCommandData> getSlashCommands() {
+        List<SlashCommandData> commands = new ArrayList<>();
+
+        commands.add(slash(MENU_COMMAND, "텍스트 명령어를 드롭다운으로 선택합니다"));
+        commands.add(slash(RECORD_COMMAND, "기간/날짜/사용자별 기록을 조회합니다 (옵션 없이 쓰면 기록 명령어 메뉴)")
+            .addOptions(
+                new OptionData(OptionType.STRING, OPTION_PERIOD, "조회할 기간")
+                    .addChoice("일간", "일간")
+                    .addChoice("주간", "주간")
+                    .addChoice("월간", "월간"),
+                new OptionData(OptionType.STRING, OPTION_DATE, "기준 날짜 MM/dd (없으면 오늘)"),
+                new OptionData(OptionType.STRING, OPTION_USER, "조회할 사람 (없으면 전체)")
+                    .setAutoComplete(true)
+            ));
+        commands.add(slash(RANGE_COMMAND, "원하는 기간의 기록을 합계 또는 일/주/월/시간대별로 조회합니다")
+            .addOptions(
+                new OptionData(OptionType.STRING, OPTION_RANGE, "시작..끝 (예: 2025-01-01..2025-03-31, 3/1..3/31)",
+                    true),
+                new OptionData(OptionType.STRING, OPTION_USER, "조회할 사람 (없으면 전체)")
+                    .setAutoComplete(true),
+                new OptionData(OptionType.STRING, OPTION_GROUP, "나눠 볼 단위 (없으면 사람별 합계)")
+                    .addChoice(SpecificDate.GROUP_DAY, SpecificDate.GROUP_DAY)
+                    .addChoice(SpecificDate.GROUP_WEEK, SpecificDate.GROUP_WEEK)
+                    .addChoice(SpecificDate.GROUP_MONTH, SpecificDate.GROUP_MONTH)
+                    .addChoice(SpecificDate.GROUP_HOUR, SpecificDate.GROUP_HOUR)
+            ));
+
+        registry.getCommands().forEach(cmd -> commands.add(slash(cmd.getName(), cmd.getDescription())));
+        return commands;
+    }
+
+    // 우리 Commands 인터페이스와 이름이 같아서 JDA 쪽은 전체 이름으로 쓴다
+    private static SlashCommandData slash(String name, String description) {
+        return net.dv8tion.jda.api.interactions.commands.build.Commands.slash(name, description)
+            .setContexts(InteractionContextType.GUILD);
+    }
+
+    // 지연시간 기록 + 오류를 안내 메시지로 변환
+    private CompletableFuture<CommandReply> complete(CompletableFuture<CommandReply> result, Timer.Sample sample,
+        String commandName) {
+        return result.handle((reply, error) -> {
+            if (error == null) {
+                sample.stop(latencyTimer(commandName, "success"));
+                return reply;
+            }
+            if (error.getCause() instanceof RejectedExecutionException || error instanceof RejectedExecutionException) {
+                sample.stop(latencyTimer(commandName, "rejected"));
+                errorCounter(commandName, "RejectedExecutionException").increment();
+                log.warn("[CommandHandler] 명령어 대기열이 가득 찼습니다. command={}", commandName);
+                return CommandReply.ofText("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+            }
+            sample.stop(latencyTimer(commandName, "error"));
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            errorCounter(commandName, cause.getClass().getSimpleName()).increment();
+            log.error("[CommandHandler] 명령어 실행 실패. command={}", commandName, error);
+            return CommandReply.ofText("명령어 처리 중 오류가 발생했습니다.");
+        });
+    }
+
+    // 명령어별 실패 수 (예외 종류별)
+    private Counter errorCounter(String commandName, String exception) {
+        return Counter.builder("studybot.command.errors")
+            .description("명령어 실행 실패 수")
+            .tag("command", commandName)
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+
+    // 명령어별 지연시간 히스토그램
+    private Timer latencyTimer(String commandName, String outcome) {
+        return Timer.builder("studybot.command.latency")
+            .description("명령어 실행 지연시간")
+            .tag("command", commandName)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     // ✅ StringSelectMenu.Builder 를 명시적으로 사용
@@ -26,6 +26,10 @@ public class CommandRegistry {
         return commandMap.get(name);
     }
 
+    public List<Commands> getCommands() {
+        return commandList;
+    }
+
     public List<TextCommands> getTextCommands() {
         return commandList.stream()
             .filter(command -> command instanceof TextCommands)
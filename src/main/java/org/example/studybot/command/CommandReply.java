@@ -0,0 +1,41 @@
+package org.example.studybot.command;
+
+/**
+ * 명령어 응답. 텍스트만 있거나, 텍스트 + 첨부 이미지(PNG) 하나, 또는 여러 페이지 중 한 페이지
+ */
+public record CommandReply(String text, byte[] image, String imageName, Page page) {
+
+    /**
+     * 페이지 정보. 버튼 ID 는 buttonIdPrefix + 이동할 페이지 번호(0부터)
+     */
+    public record Page(String buttonIdPrefix, int index, int count) {
+
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        public boolean hasNext() {
+            return index < count - 1;
+        }
+    }
+
+    public static CommandReply ofText(String text) {
+        return new CommandReply(text, null, null, null);
+    }
+
+    public static CommandReply ofImage(String text, byte[] image, String imageName) {
+        return new CommandReply(text, image, imageName, null);
+    }
+
+    public static CommandReply ofPage(String text, String buttonIdPrefix, int index, int count) {
+        return new CommandReply(text, null, null, new Page(buttonIdPrefix, index, count));
+    }
+
+    public boolean hasImage() {
+        return image != null;
+    }
+
+    public boolean hasPages() {
+        return page != null && page.count() > 1;
+    }
+}
@@ -1,7 +1,28 @@
 package org.example.studybot.command;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface Commands {
     String getName();
     String getDescription();
-    String execute(String displayName, String userName);
-}
\ No newline at end of file
+    // guildId: 명령어를 보낸 서버 (기록 명령어는 이 서버의 기록만 조회), userId: 명령어를 보낸 사람 ("내 기록" 조회 키)
+    String execute(long guildId, long userId, String displayName);
+
+    /**
+     * JDA 이벤트 스레드를 막지 않도록 명령어 실행은 항상 별도 executor 에서 한다.
+     * DB 를 읽는 명령어도 이 기본 구현으로 충분하고, 자체적으로 비동기인 명령어만 재정의하면 된다.
+     */
+    default CompletableFuture<String> executeAsync(long guildId, long userId, String displayName,
+        Executor executor) {
+        return CompletableFuture.supplyAsync(() -> execute(guildId, userId, displayName), executor);
+    }
+
+    /**
+     * 실제로 전송할 응답. 기본은 execute 결과 텍스트이고, 이미지를 첨부하는 명령어만 재정의한다.
+     */
+    default CompletableFuture<CommandReply> replyAsync(long guildId, long userId, String displayName,
+        Executor executor) {
+        return executeAsync(guildId, userId, displayName, executor).thenApply(CommandReply::ofText);
+    }
+}
@@ -1,5 +1,9 @@
 package org.example.studybot.command.recordcommands;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.example.studybot.command.CommandReply;
 import org.example.studybot.command.RecordCommands;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -21,8 +25,15 @@ public class AllMonthly implements RecordCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
-        return manager.getAllMonthlyLogs();
+    public String execute(long guildId, long userId, String displayName) {
+        return manager.getAllMonthlyLogs(guildId);
+    }
+
+    // 사람이 많으면 첫 페이지만 보내고 나머지는 페이지 버튼으로
+    @Override
+    public CompletableFuture<CommandReply> replyAsync(long guildId, long userId, String displayName,
+        Executor executor) {
+        return CompletableFuture.supplyAsync(() -> manager.getAllMonthlyReport(guildId), executor);
     }
 }
 
@@ -0,0 +1,44 @@
+package org.example.studybot.command.recordcommands;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.example.studybot.chart.StudyChartService;
+import org.example.studybot.command.CommandReply;
+import org.example.studybot.command.RecordCommands;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AllWeeklyChart implements RecordCommands {
+
+    @Autowired
+    private RecordManager manager;
+
+    @Autowired
+    private StudyChartService chartService;
+
+    @Override
+    public String getName() {
+        return "주간차트";
+    }
+
+    @Override
+    public String getDescription() {
+        return "이번 주 모두의 요일별 공부 시간을 막대 차트로 확인합니다";
+    }
+
+    // 텍스트만 필요할 때는 기존 기록과 같은 내용
+    @Override
+    public String execute(long guildId, long userId, String displayName) {
+        return manager.getAllWeeklyLogs(guildId);
+    }
+
+    // 조회 + 렌더링은 차트 전용 풀(chartExecutor)에서 하고 PNG 를 첨부한다
+    @Override
+    public CompletableFuture<CommandReply> replyAsync(long guildId, long userId, String displayName,
+        Executor executor) {
+        return chartService.weeklyChart(guildId, LocalDate.now());
+    }
+}
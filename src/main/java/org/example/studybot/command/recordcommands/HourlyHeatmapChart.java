@@ -0,0 +1,41 @@
+package org.example.studybot.command.recordcommands;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.example.studybot.chart.StudyChartService;
+import org.example.studybot.command.CommandReply;
+import org.example.studybot.command.RecordCommands;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HourlyHeatmapChart implements RecordCommands {
+
+    @Autowired
+    private StudyChartService chartService;
+
+    @Override
+    public String getName() {
+        return "시간대차트";
+    }
+
+    @Override
+    public String getDescription() {
+        return "최근 4주 동안 요일별로 몇 시에 공부했는지 히트맵으로 확인합니다";
+    }
+
+    // 텍스트만 필요할 때는 공부가 많은 시간대 목록
+    @Override
+    public String execute(long guildId, long userId, String displayName) {
+        return chartService.hourlyPeaks(guildId, LocalDate.now());
+    }
+
+    // 집계 + 렌더링은 차트 전용 풀(chartExecutor)에서 하고 PNG 를 첨부한다
+    @Override
+    public CompletableFuture<CommandReply> replyAsync(long guildId, long userId, String displayName,
+        Executor executor) {
+        return chartService.hourlyChart(guildId, LocalDate.now());
+    }
+}
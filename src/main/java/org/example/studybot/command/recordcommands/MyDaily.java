@@ -21,8 +21,8 @@ public class MyDaily implements RecordCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
-        return manager.getDailyLogs(displayName);
+    public String execute(long guildId, long userId, String displayName) {
+        return manager.getDailyLogs(guildId, userId);
     }
 }
 
@@ -21,8 +21,8 @@ public class MyMonthly implements RecordCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
-        return manager.getMonthlyLogs(displayName);
+    public String execute(long guildId, long userId, String displayName) {
+        return manager.getMonthlyLogs(guildId, userId);
     }
 }
 
@@ -21,8 +21,8 @@ public class MyWeekly implements RecordCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
-        return manager.getWeeklyLogs(displayName);
+    public String execute(long guildId, long userId, String displayName) {
+        return manager.getWeeklyLogs(guildId, userId);
     }
 }
 
@@ -5,14 +5,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
-import java.time.temporal.WeekFields;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
-import org.example.studybot.voicechannel.VoiceChannelLog;
+import org.example.studybot.command.CommandReply;
+import org.example.studybot.util.ReportCache;
+import org.example.studybot.util.ReportWriter;
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.UserDailyTotalRepository;
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.UserTotalView;
+import org.example.studybot.voicechannel.UserWeekTotalView;
 import org.example.studybot.voicechannel.VoiceChannelLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -26,6 +32,18 @@ public class RecordManager {
     @Autowired
     private VoiceChannelLogRepository repository;
 
+    // 주간/월간은 원본 세션 대신 사용자별 일 합계(rollup)를 읽는다
+    @Autowired
+    private UserDailyTotalRepository dailyTotalRepository;
+
+    // 같은 기간을 여러 명이 연달아 조회하거나 페이지를 넘길 때 다시 집계하지 않도록 (세션이 저장되면 겹치는 기간만 무효화)
+    @Autowired
+    private ReportCache reportCache;
+
+    // 집계는 userId 로만 하고, 이름은 출력할 때 여기서 찾는다 (별명을 바꿔도 한 사람으로 집계)
+    @Autowired
+    private UserNameIndex userNameIndex;
+
     // 요일 출력 순서 (월~일)
     private static final DayOfWeek[] WEEK_ORDER = {
         DayOfWeek.MONDAY,
@@ -39,356 +57,373 @@ public class RecordManager {
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
 
-    // 월요일 기준 주차 계산용
-    private static final WeekFields WEEK_FIELDS = WeekFields.of(DayOfWeek.MONDAY, 1);
+    // 전체 기록 페이지 버튼 ID: report_page:{일간|주간|월간}:{기간 시작 날짜}:{페이지}
+    public static final String PAGE_BUTTON_PREFIX = "report_page:";
 
-    // ===================== 공개 메서드 =====================
+    // 한 페이지에 넣는 사람 수 (한 사람 분량이 가장 길 때도 디스코드 2000자 안쪽이 되도록)
+    private static final int DAILY_USERS_PER_PAGE = 15;
+    private static final int PERIOD_USERS_PER_PAGE = 7;
 
-    public String getAllMonthlyLogs() {
-        return formatLogsByRange("월간", getMonthRange(), Optional.empty());
+    private static final String DATE_FORMAT_ERROR =
+        "날짜 형식이 잘못되었습니다. 올바른 형식: MM/dd 또는 M/d (예: 12/25 또는 1/3)";
+
+    // ===================== 공개 메서드 (명령어를 보낸 서버의 기록만 조회) =====================
+
+    // 전체 조회는 첫 페이지 + 페이지 버튼 (사람이 많으면 한 메시지에 다 들어가지 않음)
+    public CommandReply getAllMonthlyReport(long guildId) {
+        return reportPage(guildId, "월간", getMonthRange(), 0);
     }
 
-    public String getAllWeeklyLogs() {
-        return formatLogsByRange("주간", getWeekRange(), Optional.empty());
+    public CommandReply getAllWeeklyReport(long guildId) {
+        return reportPage(guildId, "주간", getWeekRange(), 0);
     }
 
-    public String getAllDailyLogs() {
-        return formatLogsByRange("일간", getDayRange(), Optional.empty());
+    public CommandReply getAllDailyReport(long guildId) {
+        return reportPage(guildId, "일간", getDayRange(), 0);
     }
 
-    public String getMonthlyLogs(String userName) {
-        return formatLogsByRange("월간", getMonthRange(), Optional.of(userName));
+    public String getAllMonthlyLogs(long guildId) {
+        return getAllMonthlyReport(guildId).text();
     }
 
-    public String getWeeklyLogs(String userName) {
-        return formatLogsByRange("주간", getWeekRange(), Optional.of(userName));
+    public String getAllWeeklyLogs(long guildId) {
+        return getAllWeeklyReport(guildId).text();
     }
 
-    public String getDailyLogs(String userName) {
-        return formatLogsByRange("일간", getDayRange(), Optional.of(userName));
+    public String getAllDailyLogs(long guildId) {
+        return getAllDailyReport(guildId).text();
     }
 
-    // 특정 날짜(월/일) 기록 조회
-    public String getLogsForSpecificDate(String datePart) {
-        LocalDate targetDate;
-        try {
-            String[] parts = datePart.split("/");
+    // 개인 조회는 userId 로 (user_daily_totals PK, voice_channel_logs (user_id, started_at) 인덱스)
+    public String getMonthlyLogs(long guildId, long userId) {
+        return formatLogsByRange(guildId, "월간", getMonthRange(), Optional.of(userId));
+    }
 
-            int month = Integer.parseInt(parts[0]);
-            int day = Integer.parseInt(parts[1]);
+    public String getWeeklyLogs(long guildId, long userId) {
+        return formatLogsByRange(guildId, "주간", getWeekRange(), Optional.of(userId));
+    }
 
-            int currentYear = LocalDate.now().getYear();
-            targetDate = LocalDate.of(currentYear, month, day);
-        } catch (Exception e) {
-            return "날짜 형식이 잘못되었습니다. 올바른 형식: MM/dd 또는 M/d (예: 12/25 또는 1/3)";
+    public String getDailyLogs(long guildId, long userId) {
+        return formatLogsByRange(guildId, "일간", getDayRange(), Optional.of(userId));
+    }
+
+    /**
+     * 페이지 버튼을 눌렀을 때. 집계는 캐시에 있으면 그대로 쓰고 해당 페이지만 새로 포맷팅한다.
+     */
+    public CommandReply getReportPage(long guildId, String buttonId) {
+        String[] parts = buttonId.substring(PAGE_BUTTON_PREFIX.length()).split(":");
+        if (parts.length != 3) {
+            return CommandReply.ofText("잘못된 페이지입니다.");
         }
 
-        LocalDateTime startOfDay = targetDate.atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
+        String periodLabel = parts[0];
+        LocalDate start = LocalDate.parse(parts[1]);
+        int page = Integer.parseInt(parts[2]);
+        return reportPage(guildId, periodLabel, rangeOf(periodLabel, start), page);
+    }
+
+    /**
+     * /기록 명령어: 기간(일간/주간/월간) × 기준 날짜(MM/dd, 없으면 오늘) × 사용자(없으면 전체)
+     * 기준 날짜가 속한 일/주/월을 조회한다. 전체 조회는 다른 전체 기록과 같이 페이지로 나뉜다.
+     *
+     * @param userId null 이면 전체
+     */
+    public CommandReply getReport(long guildId, String periodLabel, String datePart, Long userId) {
+        LocalDate targetDate = LocalDate.now();
+        if (datePart != null) {
+            targetDate = parseMonthDay(datePart);
+            if (targetDate == null) {
+                return CommandReply.ofText(DATE_FORMAT_ERROR);
+            }
+        }
+
+        List<LocalDateTime> range = rangeOf(periodLabel, periodStart(periodLabel, targetDate));
+        if (userId != null) {
+            return CommandReply.ofText(formatLogsByRange(guildId, periodLabel, range, Optional.of(userId)));
+        }
+        return reportPage(guildId, periodLabel, range, 0);
+    }
 
-        List<VoiceChannelLog> logs = repository.findAllLogsBetween(startOfDay, endOfDay);
-        if (logs.isEmpty()) {
+    // 특정 날짜(월/일) 기록 조회
+    public String getLogsForSpecificDate(long guildId, String datePart) {
+        LocalDate targetDate = parseMonthDay(datePart);
+        if (targetDate == null) {
+            return DATE_FORMAT_ERROR;
+        }
+
+        // 일간 기록과 같은 집계를 쓰므로 캐시도 같이 쓴다
+        StudyAggregate aggregate = loadAggregate(guildId, "일간", rangeOf("일간", targetDate), null);
+        if (aggregate.isEmpty()) {
             return targetDate.format(DATE_FMT) + "에 기록이 없습니다.";
         }
 
         String label = targetDate.format(DATE_FMT);
-        return formatDailySummary(logs, label, Optional.empty());
+        return formatDailySummary(guildId, aggregate, label, Optional.empty(), aggregate.usersByTotalDescending());
     }
 
     // ===================== 메인 포맷팅 로직 =====================
 
-    private String formatLogsByRange(String periodLabel, List<LocalDateTime> range, Optional<String> userNameOpt) {
-        LocalDateTime start = range.get(0);
-        LocalDateTime end = range.get(1);
+    // 개인 조회: 한 사람 분량이라 페이지 없이 전부
+    private String formatLogsByRange(long guildId, String periodLabel, List<LocalDateTime> range,
+        Optional<Long> userIdOpt) {
+        StudyAggregate aggregate = loadAggregate(guildId, periodLabel, range, userIdOpt.orElse(null));
+        return format(guildId, periodLabel, aggregate, userIdOpt, range, aggregate.usersByTotalDescending());
+    }
 
-        List<VoiceChannelLog> logs = repository.findAllLogsBetween(start, end);
+    // 전체 조회: 합계 순위에서 page 번째 묶음만 포맷팅 (범위를 벗어난 페이지는 처음/끝으로)
+    private CommandReply reportPage(long guildId, String periodLabel, List<LocalDateTime> range, int page) {
+        StudyAggregate aggregate = loadAggregate(guildId, periodLabel, range, null);
+        int[] order = aggregate.usersByTotalDescending();
 
-        if (userNameOpt.isPresent()) {
-            String targetName = userNameOpt.get();
+        int perPage = "일간".equals(periodLabel) ? DAILY_USERS_PER_PAGE : PERIOD_USERS_PER_PAGE;
+        int pageCount = Math.max(1, (order.length + perPage - 1) / perPage);
+        int current = Math.max(0, Math.min(page, pageCount - 1));
+        int[] users = Arrays.copyOfRange(order, Math.min(order.length, current * perPage),
+            Math.min(order.length, (current + 1) * perPage));
 
-            logs = logs.stream()
-                .filter(log -> resolveUserName(log).equals(targetName))
-                .collect(Collectors.toList());
+        String text = format(guildId, periodLabel, aggregate, Optional.empty(), range, users);
+        if (pageCount == 1) {
+            return CommandReply.ofText(text);
         }
+        String buttonIdPrefix = PAGE_BUTTON_PREFIX + periodLabel + ":" + range.get(0).toLocalDate() + ":";
+        return CommandReply.ofPage(text, buttonIdPrefix, current, pageCount);
+    }
 
+    private String format(long guildId, String periodLabel, StudyAggregate aggregate, Optional<Long> userIdOpt,
+        List<LocalDateTime> range, int[] users) {
         if ("주간".equals(periodLabel)) {
-            return formatWeeklySummary(logs, periodLabel, userNameOpt, range);
+            return formatWeeklySummary(guildId, aggregate, periodLabel, userIdOpt, range, users);
         } else if ("월간".equals(periodLabel)) {
-            return formatMonthlySummary(logs, periodLabel, userNameOpt, range);
+            return formatMonthlySummary(guildId, aggregate, periodLabel, userIdOpt, range, users);
         } else {
-            return formatDailySummary(logs, periodLabel, userNameOpt);
+            // 오늘이 아닌 날은 "일간" 대신 날짜로 표시
+            LocalDate day = range.get(0).toLocalDate();
+            String label = day.equals(LocalDate.now()) ? periodLabel : day.format(DATE_FMT);
+            return formatDailySummary(guildId, aggregate, label, userIdOpt, users);
         }
     }
 
+    /**
+     * 기간 집계. 같은 기간을 여러 명이 연달아 조회하거나 페이지를 넘길 때는 캐시된 집계를 쓴다.
+     * 집계(GROUP BY user_id)와 사용자 필터는 DB 에서 하고, 여기서는 사용자 × 구간 배열로 묶기만 한다.
+     */
+    private StudyAggregate loadAggregate(long guildId, String periodLabel, List<LocalDateTime> range,
+        Long userId) {
+        LocalDateTime start = range.get(0);
+        LocalDateTime end = range.get(1);
+        // 일별 합계 테이블은 날짜를 양 끝 포함으로 조회한다
+        LocalDate lastDay = end.toLocalDate().minusDays(1);
+        ReportCache.Key key = new ReportCache.Key(guildId, periodLabel, start, end, userId);
+
+        return reportCache.get(key, () -> {
+            if ("주간".equals(periodLabel)) {
+                List<UserDayTotalView> dayTotals =
+                    dailyTotalRepository.sumByUserAndDay(guildId, start.toLocalDate(), lastDay, userId);
+                return StudyAggregate.of(dayTotals, Bucket.DAY_OF_WEEK,
+                    UserDayTotalView::getUserId,
+                    row -> Bucket.of(row.getStatDate().getDayOfWeek()),
+                    row -> StudyAggregate.orZero(row.getTotalSeconds()));
+            } else if ("월간".equals(periodLabel)) {
+                // user × 주차 (월요일 기준 주차는 DB 에서 1부터 계산)
+                LocalDate startDate = start.toLocalDate();
+                int firstDayOffset =
+                    startDate.withDayOfMonth(1).getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+                List<UserWeekTotalView> weekTotals = dailyTotalRepository.sumByUserAndWeekOfMonth(
+                    guildId, startDate, lastDay, firstDayOffset, userId);
+                return StudyAggregate.of(weekTotals, Bucket.WEEK_OF_MONTH,
+                    UserWeekTotalView::getUserId,
+                    row -> row.getWeekIndex().intValue() - 1,
+                    row -> StudyAggregate.orZero(row.getTotalSeconds()));
+            } else {
+                List<UserTotalView> userTotals = repository.sumByUserBetween(guildId, start, end, userId);
+                return StudyAggregate.of(userTotals, Bucket.TOTAL,
+                    UserTotalView::getUserId, row -> 0, row -> StudyAggregate.orZero(row.getTotalSeconds()));
+            }
+        });
+    }
+
     // ===================== 일간 요약 =====================
 
-    private String formatDailySummary(List<VoiceChannelLog> logs, String periodLabel, Optional<String> userNameOpt) {
-        if (logs.isEmpty()) {
+    // users: 이번 메시지(페이지)에 넣을 사용자 인덱스, 합계 내림차순
+    private String formatDailySummary(long guildId, StudyAggregate aggregate, String periodLabel,
+        Optional<Long> userIdOpt, int[] users) {
+        if (aggregate.isEmpty()) {
             return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
         }
 
-        Map<String, Long> userDurations = logs.stream()
-            .collect(Collectors.groupingBy(
-                this::resolveUserName,
-                Collectors.summingLong(VoiceChannelLog::getDuration)
-            ));
-
-        StringBuilder sb = new StringBuilder();
-
-        // 개인 조회 + 1명만 있는 경우
-        if (userNameOpt.isPresent() && userDurations.size() == 1) {
-            String user = userDurations.keySet().iterator().next();
-            long totalSeconds = userDurations.get(user);
-
-            sb.append(String.format("📊 **%s 내 공부 기록 요약**\n\n", periodLabel));
-            sb.append("**").append(user).append("**\n");
-            sb.append("총 공부 시간: ")
-                .append(prettyDuration(totalSeconds))
-                .append("\n");
-
-            return sb.toString();
-        }
-
-        // 전체 조회: 사람별 섹션
-        sb.append(String.format("📊 **%s 전체 공부 기록 요약**\n\n", periodLabel));
-
-        userDurations.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .forEach(entry -> {
-                String user = entry.getKey();
-                long totalSeconds = entry.getValue();
-
-                sb.append("────────────────────────\n");
-                sb.append("**").append(user).append("**\n");
-                sb.append("총 공부 시간: ")
-                    .append(prettyDuration(totalSeconds))
+        try (ReportWriter out = ReportWriter.open()) {
+            // 개인 조회 + 1명만 있는 경우
+            if (userIdOpt.isPresent() && aggregate.userCount() == 1) {
+                out.append("📊 **").append(periodLabel).append(" 내 공부 기록 요약**\n\n");
+                out.append("**").append(userName(guildId, aggregate, 0)).append("**\n");
+                out.append("총 공부 시간: ")
+                    .duration(aggregate.total(0))
+                    .append('\n');
+
+                return out.toString();
+            }
+
+            // 전체 조회: 사람별 섹션 (총 공부 시간 내림차순)
+            out.append("📊 **").append(periodLabel).append(" 전체 공부 기록 요약**\n\n");
+
+            for (int user : users) {
+                out.append("────────────────────────\n");
+                out.append("**").append(userName(guildId, aggregate, user)).append("**\n");
+                out.append("총 공부 시간: ")
+                    .duration(aggregate.total(user))
                     .append("\n\n");
-            });
+            }
 
-        sb.append("────────────────────────");
-        return sb.toString();
+            out.append("────────────────────────");
+            return out.toString();
+        }
     }
 
     // ===================== 주간 요약 (요일별 + 합계) =====================
 
-    private String formatWeeklySummary(List<VoiceChannelLog> logs, String periodLabel, Optional<String> userNameOpt,
-        List<LocalDateTime> range) {
-        if (logs.isEmpty()) {
+    // aggregate: user × 요일(월~일). 벤치마크(src/jmh)에서 직접 부르므로 package-private
+    String formatWeeklySummary(long guildId, StudyAggregate aggregate, String periodLabel,
+        Optional<Long> userIdOpt, List<LocalDateTime> range, int[] users) {
+        if (aggregate.isEmpty()) {
             return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
         }
 
-        // user → (DayOfWeek → duration)
-        Map<String, Map<DayOfWeek, Long>> userDayDurations = new HashMap<>();
+        boolean personal = userIdOpt.isPresent() && aggregate.userCount() == 1;
 
-        for (VoiceChannelLog log : logs) {
-            String user = resolveUserName(log);
-            LocalDate date = log.getRecordedAt().toLocalDate();
-            DayOfWeek dow = date.getDayOfWeek();
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append(personal ? "📊 **주간 내 공부 기록 요약**\n" : "📊 **주간 전체 공부 기록 요약**\n");
+            dateRange(out, range).append("\n\n");
 
-            userDayDurations
-                .computeIfAbsent(user, k -> new HashMap<>())
-                .merge(dow, log.getDuration(), Long::sum);
-        }
-
-        if (userDayDurations.isEmpty()) {
-            return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
-        }
-
-        Map<String, Long> userTotals = new HashMap<>();
-        for (Map.Entry<String, Map<DayOfWeek, Long>> entry : userDayDurations.entrySet()) {
-            long sum = entry.getValue().values().stream()
-                .mapToLong(Long::longValue)
-                .sum();
-            userTotals.put(entry.getKey(), sum);
-        }
-
-        boolean personal = userNameOpt.isPresent() && userTotals.size() == 1;
-
-        LocalDate startDate = range.get(0).toLocalDate();
-        LocalDate endDate = range.get(1).toLocalDate();
-        String dateRange = String.format("기준: %s ~ %s",
-            startDate.format(DATE_FMT), endDate.format(DATE_FMT));
-
-        String title = personal
-            ? "📊 **주간 내 공부 기록 요약**\n" + dateRange + "\n\n"
-            : "📊 **주간 전체 공부 기록 요약**\n" + dateRange + "\n\n";
-
-        StringBuilder sb = new StringBuilder(title);
-
-        userTotals.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .forEach(entry -> {
-                String user = entry.getKey();
-                long total = entry.getValue();
-                Map<DayOfWeek, Long> days = userDayDurations.get(user);
-
-                sb.append("────────────────────────\n");
-                sb.append("**").append(user).append("**\n\n");
+            for (int user : users) {
+                out.append("────────────────────────\n");
+                out.append("**").append(userName(guildId, aggregate, user)).append("**\n\n");
 
                 for (DayOfWeek dow : WEEK_ORDER) {
-                    Long sec = days.get(dow);
-                    if (sec == null || sec == 0L) {
+                    long sec = aggregate.seconds(user, Bucket.of(dow));
+                    if (sec == 0L) {
                         continue;
                     }
 
-                    sb.append("• ")
-                        .append(dayLabel(dow))
+                    out.append("• ")
+                        .append(ReportWriter.dayLabel(dow))
                         .append(": ")
-                        .append(prettyDuration(sec))
-                        .append("\n");
+                        .duration(sec)
+                        .append('\n');
                 }
 
-                sb.append("\n합계: ")
-                    .append(prettyDuration(total))
+                out.append("\n합계: ")
+                    .duration(aggregate.total(user))
                     .append("\n\n");
-            });
+            }
 
-        sb.append("────────────────────────");
-        return sb.toString();
+            out.append("────────────────────────");
+            return out.toString();
+        }
     }
 
     // ===================== 월간 요약 (월요일 기준 주차별) =====================
 
-    private String formatMonthlySummary(List<VoiceChannelLog> logs, String periodLabel,
-        Optional<String> userNameOpt, List<LocalDateTime> range) {
-        if (logs.isEmpty()) {
+    // aggregate: user × 주차 (package-private: 벤치마크용)
+    String formatMonthlySummary(long guildId, StudyAggregate aggregate, String periodLabel,
+        Optional<Long> userIdOpt, List<LocalDateTime> range, int[] users) {
+        if (aggregate.isEmpty()) {
             return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
         }
 
-        // user → (weekIndex → duration)
-        Map<String, Map<Integer, Long>> userWeekDurations = new HashMap<>();
-
-        for (VoiceChannelLog log : logs) {
-            String user = resolveUserName(log);
+        boolean personal = userIdOpt.isPresent() && aggregate.userCount() == 1;
 
-            LocalDate date = log.getRecordedAt().toLocalDate();
-            int weekIndex = date.get(WEEK_FIELDS.weekOfMonth()); // 월요일 기준 주차
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append(personal ? "📊 **월간 내 공부 기록 요약**\n" : "📊 **월간 전체 공부 기록 요약**\n");
+            dateRange(out, range).append("\n\n");
 
-            userWeekDurations
-                .computeIfAbsent(user, k -> new HashMap<>())
-                .merge(weekIndex, log.getDuration(), Long::sum);
-        }
+            for (int user : users) {
+                out.append("────────────────────────\n");
+                out.append("**").append(userName(guildId, aggregate, user)).append("**\n\n");
 
-        if (userWeekDurations.isEmpty()) {
-            return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
-        }
+                for (int week = 0; week < Bucket.WEEK_OF_MONTH.count(); week++) {
+                    long sec = aggregate.seconds(user, week);
+                    if (sec == 0L) {
+                        continue;
+                    }
 
-        Map<String, Long> userTotals = new HashMap<>();
-        for (Map.Entry<String, Map<Integer, Long>> entry : userWeekDurations.entrySet()) {
-            long sum = entry.getValue().values().stream()
-                .mapToLong(Long::longValue)
-                .sum();
-            userTotals.put(entry.getKey(), sum);
-        }
+                    // 여기서 마크다운 리스트 대신 그냥 텍스트 bullet 사용
+                    out.append("• ")
+                        .append(week + 1)
+                        .append("주차: ")
+                        .duration(sec)
+                        .append('\n');
+                }
 
-        boolean personal = userNameOpt.isPresent() && userTotals.size() == 1;
-
-        LocalDate startDate = range.get(0).toLocalDate();
-        LocalDate endDate = range.get(1).toLocalDate();
-        String dateRange = String.format("기준: %s ~ %s",
-            startDate.format(DATE_FMT), endDate.format(DATE_FMT));
-
-        String title = personal
-            ? "📊 **월간 내 공부 기록 요약**\n" + dateRange + "\n\n"
-            : "📊 **월간 전체 공부 기록 요약**\n" + dateRange + "\n\n";
-
-        StringBuilder sb = new StringBuilder(title);
-
-        userTotals.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .forEach(entry -> {
-                String user = entry.getKey();
-                long total = entry.getValue();
-                Map<Integer, Long> weeks = userWeekDurations.get(user);
-
-                sb.append("────────────────────────\n");
-                sb.append("**").append(user).append("**\n\n");
-
-                weeks.entrySet().stream()
-                    .sorted(Map.Entry.comparingByKey())
-                    .forEach(weekEntry -> {
-                        int weekIndex = weekEntry.getKey();
-                        long sec = weekEntry.getValue();
-
-                        // 여기서 마크다운 리스트 대신 그냥 텍스트 bullet 사용
-                        sb.append("• ")
-                            .append(weekIndex)
-                            .append("주차: ")
-                            .append(prettyDuration(sec))
-                            .append("\n");
-                    });
-
-                sb.append("\n합계: ")
-                    .append(prettyDuration(total))
+                out.append("\n합계: ")
+                    .duration(aggregate.total(user))
                     .append("\n\n");
-            });
+            }
 
-        sb.append("────────────────────────");
-        return sb.toString();
+            out.append("────────────────────────");
+            return out.toString();
+        }
     }
 
     // ===================== 공통 유틸 =====================
 
-    private String resolveUserName(VoiceChannelLog log) {
-        return Optional.ofNullable(log.getNickName())
-            .filter(s -> !s.isBlank())
-            .orElse(log.getUserName());
-    }
-
-    private String prettyDuration(long totalSeconds) {
-        long hours = totalSeconds / 3600;
-        long minutes = (totalSeconds % 3600) / 60;
-        long seconds = totalSeconds % 60;
-
-        if (hours > 0) {
-            return String.format("%d시간 %d분 %d초", hours, minutes, seconds);
-        }
-        if (minutes > 0) {
-            return String.format("%d분 %d초", minutes, seconds);
-        }
-        return String.format("%d초", seconds);
+    // 출력할 때만 최신 표시 이름을 찾는다 (캐시된 집계에는 userId 만 있음)
+    private String userName(long guildId, StudyAggregate aggregate, int user) {
+        return userNameIndex.displayName(guildId, aggregate.userId(user));
     }
 
-    private String dayLabel(DayOfWeek dow) {
-        switch (dow) {
-            case MONDAY: return "월";
-            case TUESDAY: return "화";
-            case WEDNESDAY: return "수";
-            case THURSDAY: return "목";
-            case FRIDAY: return "금";
-            case SATURDAY: return "토";
-            case SUNDAY: return "일";
-            default: return "";
-        }
+    private ReportWriter dateRange(ReportWriter out, List<LocalDateTime> range) {
+        return out.dateRange(range.get(0).toLocalDate(), range.get(1).toLocalDate().minusDays(1));
     }
 
     // ===================== 기간 구하기 유틸 =====================
 
     private List<LocalDateTime> getMonthRange() {
-        LocalDate now = LocalDate.now();
-        return List.of(
-            now.with(TemporalAdjusters.firstDayOfMonth()).atStartOfDay(),
-            now.with(TemporalAdjusters.lastDayOfMonth()).atTime(23, 59, 59)
-        );
+        return rangeOf("월간", periodStart("월간", LocalDate.now()));
     }
 
     private List<LocalDateTime> getWeekRange() {
-        LocalDate now = LocalDate.now();
-        // 월요일 기준으로 이번 주 시작일 계산
-        LocalDate startOfWeek = now.minusDays(now.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
-
-        return List.of(
-            startOfWeek.atStartOfDay(),
-            endOfWeek.atTime(23, 59, 59)
-        );
+        return rangeOf("주간", periodStart("주간", LocalDate.now()));
     }
 
     private List<LocalDateTime> getDayRange() {
-        LocalDateTime start = LocalDate.now().atStartOfDay();
-        return List.of(
-            start,
-            start.plusDays(1).minusSeconds(1)
-        );
+        return rangeOf("일간", LocalDate.now());
+    }
+
+    // date 가 속한 기간의 시작 날짜 (주간은 월요일 기준)
+    private LocalDate periodStart(String periodLabel, LocalDate date) {
+        if ("주간".equals(periodLabel)) {
+            return date.minusDays(date.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
+        } else if ("월간".equals(periodLabel)) {
+            return date.with(TemporalAdjusters.firstDayOfMonth());
+        }
+        return date;
+    }
+
+    // "MM/dd" 또는 "M/d" → 올해 그 날짜 (형식이 틀리면 null)
+    private LocalDate parseMonthDay(String datePart) {
+        try {
+            String[] parts = datePart.trim().split("/");
+
+            int month = Integer.parseInt(parts[0]);
+            int day = Integer.parseInt(parts[1]);
+
+            int currentYear = LocalDate.now().getYear();
+            return LocalDate.of(currentYear, month, day);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 기간 시작 날짜 → [시작 00:00, 마지막 날 다음 날 00:00) (페이지 버튼에는 시작 날짜만 담는다)
+    private List<LocalDateTime> rangeOf(String periodLabel, LocalDate start) {
+        LocalDate end;
+        if ("주간".equals(periodLabel)) {
+            end = start.plusDays(6);
+        } else if ("월간".equals(periodLabel)) {
+            end = start.with(TemporalAdjusters.lastDayOfMonth());
+        } else {
+            end = start;
+        }
+        return List.of(start.atStartOfDay(), end.plusDays(1).atStartOfDay());
     }
 }
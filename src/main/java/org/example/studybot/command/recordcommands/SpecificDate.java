@@ -1,30 +1,226 @@
-/*
 package org.example.studybot.command.recordcommands;
 
-import org.example.studybot.command.Commands;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.studybot.command.CommandReply;
+import org.example.studybot.util.ReportWriter;
+import org.example.studybot.voicechannel.DailyTotalIndex;
+import org.example.studybot.voicechannel.MinutePresenceIndex;
+import org.example.studybot.voicechannel.UserNameIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * 기간 기록 조회 (/기간기록 범위 [사용자] [단위])
+ * 범위는 "시작..끝" (yyyy-MM-dd 또는 올해 M/d), 하나만 쓰면 그 날 하루.
+ * 합계와 일/주/월 단위는 일 합계 색인(DailyTotalIndex)에서, 시간 단위는 분 단위 출석 색인(MinutePresenceIndex)에서
+ * 바로 구하므로 1년 범위도 원본 기록을 읽지 않는다.
+ */
 @Component
-public class SpecificDate implements Commands {
+public class SpecificDate {
+
+    public static final String GROUP_DAY = "일";
+    public static final String GROUP_WEEK = "주";
+    public static final String GROUP_MONTH = "월";
+    public static final String GROUP_HOUR = "시간";
+
+    // 한 메시지(2000자)에 들어가는 줄 수
+    private static final int MAX_LINES = 55;
+    private static final int TOP_USERS = 20;
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
+    private static final DateTimeFormatter YEAR_DATE_FMT = DateTimeFormatter.ofPattern("yy/MM/dd");
+    private static final DateTimeFormatter MONTH_FMT = DateTimeFormatter.ofPattern("yyyy-MM");
 
     @Autowired
-    private RecordManager manager;
+    private DailyTotalIndex dailyTotalIndex;
+
+    @Autowired
+    private MinutePresenceIndex presenceIndex;
+
+    // 이름은 출력할 때만 찾는다
+    @Autowired
+    private UserNameIndex userNameIndex;
+
+    private record Period(LocalDate from, LocalDate to, String label) {
+    }
+
+    /**
+     * @param userId   null 이면 서버 전체
+     * @param grouping null 이면 사용자별 합계, 아니면 일/주/월/시간
+     */
+    public CommandReply query(long guildId, String rangeText, Long userId, String grouping) {
+        LocalDate[] range = parseRange(rangeText);
+        if (range == null) {
+            return CommandReply.ofText(
+                "범위 형식이 잘못되었습니다. 예: 2025-01-01..2025-03-31, 3/1..3/31, 12/25");
+        }
+        LocalDate from = range[0];
+        LocalDate to = range[1];
+
+        String header = "📊 **기간 기록** " + from + " ~ " + to + "\n"
+            + (userId != null ? "**" + userNameIndex.displayName(guildId, userId) + "**" : "서버 전체")
+            + (grouping != null ? " · " + grouping + "별" : "") + "\n\n";
 
-    @Override
-    public String getName() {
-        return "일간기록";
+        if (grouping == null) {
+            return CommandReply.ofText(formatTotals(guildId, from, to, userId, header));
+        }
+        if (GROUP_HOUR.equals(grouping)) {
+            return CommandReply.ofText(formatHours(guildId, from, to, userId, header));
+        }
+
+        List<Period> periods = periods(from, to, grouping);
+        if (periods.size() > MAX_LINES) {
+            return CommandReply.ofText("구간이 너무 많습니다 (최대 " + MAX_LINES + "개). "
+                + "더 큰 단위를 쓰거나 범위를 줄여 주세요.");
+        }
+        return CommandReply.ofText(formatPeriods(guildId, periods, userId, header));
     }
 
-    @Override
-    public String getDescription() {
-        return "나의 일간기록을 확인합니다";
+    // ===================== 포맷팅 =====================
+
+    private String formatTotals(long guildId, LocalDate from, LocalDate to, Long userId, String header) {
+        List<DailyTotalIndex.UserTotal> totals = dailyTotalIndex.totals(guildId, from, to, userId);
+        if (totals.isEmpty()) {
+            return "⚠️ 해당 기간 동안 기록이 없습니다.";
+        }
+
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append(header);
+            long sum = 0L;
+            int rank = 1;
+            for (DailyTotalIndex.UserTotal total : totals) {
+                sum += total.seconds();
+                if (rank <= TOP_USERS) {
+                    out.append(rank).append(". **").append(userNameIndex.displayName(guildId, total.userId()))
+                        .append("** ").duration(total.seconds()).append('\n');
+                }
+                rank++;
+            }
+            if (totals.size() > TOP_USERS) {
+                out.append("… 외 ").append(totals.size() - TOP_USERS).append("명\n");
+            }
+
+            out.append("\n합계: ").duration(sum);
+            return out.toString();
+        }
     }
 
-    @Override
-    public String execute(String displayName, String userName) {
-        return manager.getDailyLogs(userName);
+    private String formatPeriods(long guildId, List<Period> periods, Long userId, String header) {
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append(header);
+            long sum = 0L;
+            for (Period period : periods) {
+                long seconds = dailyTotalIndex.sum(guildId, period.from(), period.to(), userId);
+                if (seconds == 0L) {
+                    continue;
+                }
+                sum += seconds;
+                out.append("• ").append(period.label()).append(": ").duration(seconds).append('\n');
+            }
+            if (sum == 0L) {
+                return "⚠️ 해당 기간 동안 기록이 없습니다.";
+            }
+
+            out.append("\n합계: ").duration(sum);
+            return out.toString();
+        }
     }
-}
 
-*/
+    // 출석은 분 단위라 그 분에 잠깐이라도 있었으면 1분으로 센다
+    private String formatHours(long guildId, LocalDate from, LocalDate to, Long userId, String header) {
+        long[] minutes = presenceIndex.hourMinutes(guildId, from, to, userId);
+
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append(header);
+            long sum = 0L;
+            for (int hour = 0; hour < minutes.length; hour++) {
+                if (minutes[hour] == 0L) {
+                    continue;
+                }
+                sum += minutes[hour];
+                out.append("• ").hour(hour).append(": ").duration(minutes[hour] * 60).append('\n');
+            }
+            if (sum == 0L) {
+                return "⚠️ 해당 기간 동안 기록이 없습니다.";
+            }
+
+            out.append("\n합계: ").duration(sum * 60).append(" (분 단위 출석 기준)");
+            return out.toString();
+        }
+    }
+
+    // ===================== 범위 / 구간 =====================
+
+    // [from, to] 를 단위별로 자른다 (주는 월요일 기준, 양 끝 구간은 범위에 맞춰 잘림)
+    private static List<Period> periods(LocalDate from, LocalDate to, String grouping) {
+        boolean multiYear = from.getYear() != to.getYear();
+        DateTimeFormatter dateFmt = multiYear ? YEAR_DATE_FMT : DATE_FMT;
+
+        List<Period> periods = new ArrayList<>();
+        LocalDate start = from;
+        while (!start.isAfter(to)) {
+            LocalDate end;
+            String label;
+            if (GROUP_WEEK.equals(grouping)) {
+                end = min(start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)), to);
+                label = start.format(dateFmt) + " ~ " + end.format(dateFmt);
+            } else if (GROUP_MONTH.equals(grouping)) {
+                end = min(start.with(TemporalAdjusters.lastDayOfMonth()), to);
+                label = start.format(MONTH_FMT);
+            } else {
+                end = start;
+                label = start.format(dateFmt);
+            }
+            periods.add(new Period(start, end, label));
+
+            // 구간이 너무 많으면 끝까지 만들지 않음 (query 에서 거절)
+            if (periods.size() > MAX_LINES) {
+                break;
+            }
+            start = end.plusDays(1);
+        }
+        return periods;
+    }
+
+    // "시작..끝" 또는 날짜 하나. 시작이 끝보다 늦으면 바꿔서 쓴다 (형식이 틀리면 null)
+    private static LocalDate[] parseRange(String rangeText) {
+        String[] parts = rangeText.split("\\.\\.", -1);
+        if (parts.length > 2) {
+            return null;
+        }
+
+        LocalDate from = parseDate(parts[0]);
+        LocalDate to = parts.length == 2 ? parseDate(parts[1]) : from;
+        if (from == null || to == null) {
+            return null;
+        }
+        return from.isAfter(to) ? new LocalDate[] {to, from} : new LocalDate[] {from, to};
+    }
+
+    // yyyy-MM-dd 또는 올해 M/d
+    private static LocalDate parseDate(String text) {
+        String value = text.trim();
+        try {
+            if (value.contains("-")) {
+                return LocalDate.parse(value);
+            }
+
+            String[] parts = value.split("/");
+            int month = Integer.parseInt(parts[0]);
+            int day = Integer.parseInt(parts[1]);
+            return LocalDate.of(LocalDate.now().getYear(), month, day);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
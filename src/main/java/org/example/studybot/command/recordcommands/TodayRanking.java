@@ -0,0 +1,56 @@
+package org.example.studybot.command.recordcommands;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.example.studybot.command.RecordCommands;
+import org.example.studybot.util.ReportWriter;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TodayRanking implements RecordCommands {
+
+    private static final int TOP_K = 10;
+
+    @Autowired
+    private TodayLeaderboard leaderboard;
+
+    @Autowired
+    private Clock clock;
+
+    @Override
+    public String getName() {
+        return "오늘순위";
+    }
+
+    @Override
+    public String getDescription() {
+        return "지금 공부 중인 사람까지 포함한 오늘 순위를 확인합니다";
+    }
+
+    @Override
+    public String execute(long guildId, long userId, String displayName) {
+        List<TodayLeaderboard.Entry> entries = leaderboard.top(guildId, TOP_K, LocalDateTime.now(clock));
+        if (entries.isEmpty()) {
+            return "⚠️ 오늘은 아직 기록이 없습니다.";
+        }
+
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append("🏆 **오늘 공부 시간 순위** (실시간)\n\n");
+            int rank = 1;
+            for (TodayLeaderboard.Entry entry : entries) {
+                out.append(rank++).append(". **").append(entry.displayName()).append("** ")
+                    .duration(entry.seconds());
+                if (entry.inProgress()) {
+                    out.append(" 🟢");
+                }
+                out.append('\n');
+            }
+            out.append("\n🟢 지금 공부 중");
+            return out.toString();
+        }
+    }
+}
@@ -31,7 +31,7 @@ public class Hello implements TextCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
+    public String execute(long guildId, long userId, String displayName) {
         String msg = MESSAGES.get(RANDOM.nextInt(MESSAGES.size()));
         return String.format(msg, displayName);
     }
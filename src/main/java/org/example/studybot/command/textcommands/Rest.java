@@ -35,7 +35,7 @@ public class Rest implements TextCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
+    public String execute(long guildId, long userId, String displayName) {
         String message = MESSAGES.get(RANDOM.nextInt(MESSAGES.size()));
         return String.format(message, displayName);
     }
@@ -16,7 +16,7 @@ public class Stupid implements TextCommands {
     }
 
     @Override
-    public String execute(String displayName, String userName) {
+    public String execute(long guildId, long userId, String displayName) {
         return displayName + " 바보멍청이";
     }
 }
@@ -0,0 +1,443 @@
+package org.example.studybot.guild;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
+import net.dv8tion.jda.api.events.channel.ChannelCreateEvent;
+import net.dv8tion.jda.api.events.channel.ChannelDeleteEvent;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateNameEvent;
+import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+import org.example.studybot.util.MinuteBitset;
+import org.example.studybot.util.ReportCache;
+import org.example.studybot.util.TextChannelProperties;
+import org.example.studybot.voicechannel.DailyTotalIndex;
+import org.example.studybot.voicechannel.MinutePresenceIndex;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.VoiceChannelProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서버(guild)별 기록 대상 음성 채널 / 로그 채널 / 통계 채널 설정 (guild_settings, tracked_voice_channels)
+ * 시작할 때 DB 설정을 모두 메모리에 올려 두고, 음성 이벤트에서는 guildId → 채널 ID(long) 비교만 한다.
+ *
+ * DB 에 설정이 없는 서버는 application.yml 의 채널 이름으로 한 번 찾아서 저장한다 (기존 단일 서버 설정 호환).
+ * 이때 guild_id 가 없던 기존 기록(guild_id = 0)도 그 서버로 옮기고, 그 기록을 들고 있던 색인/캐시/오늘 순위도 고친다.
+ * 채널이 생기거나 이름이 바뀌면 이름 설정에 새로 맞는 채널만 더한다. 설정된 채널은 지워질 때만 뺀다.
+ *
+ * 이벤트 스레드에서는 JDA 캐시로 채널을 찾고 메모리 설정만 바꾼다. DB 저장, 기존 기록 이전, 색인 다시 읽기는
+ * 설정 저장 스레드(하나, 순서 유지)에서 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GuildChannelRegistry extends ListenerAdapter {
+
+    // 찾지 못한 채널
+    public static final long NOT_FOUND = 0L;
+
+    private static final String CLAIM_LOGS_SQL =
+        "UPDATE voice_channel_logs SET guild_id = ? WHERE guild_id = 0 AND channel_id = ?";
+
+    // 이미 같은 날짜 행이 생겼을 수도 있으므로 덮어쓰지 않고 더한다
+    private static final String CLAIM_DAILY_TOTALS_SQL =
+        "INSERT INTO user_daily_totals (guild_id, user_id, stat_date, seconds, session_count, display_name) "
+            + "SELECT ?, legacy.user_id, legacy.stat_date, legacy.seconds, legacy.session_count, legacy.display_name "
+            + "FROM user_daily_totals legacy WHERE legacy.guild_id = 0 "
+            + "ON DUPLICATE KEY UPDATE seconds = user_daily_totals.seconds + VALUES(seconds), "
+            + "session_count = user_daily_totals.session_count + VALUES(session_count)";
+
+    private static final String DELETE_LEGACY_DAILY_TOTALS_SQL = "DELETE FROM user_daily_totals WHERE guild_id = 0";
+
+    private static final String SELECT_LEGACY_PRESENCE_SQL =
+        "SELECT user_id, stat_date, minute_runs FROM user_minute_presence WHERE guild_id = 0";
+
+    private static final String UPSERT_PRESENCE_SQL =
+        "INSERT INTO user_minute_presence (guild_id, user_id, stat_date, minute_runs) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE minute_runs = VALUES(minute_runs)";
+
+    private static final String DELETE_LEGACY_PRESENCE_SQL = "DELETE FROM user_minute_presence WHERE guild_id = 0";
+
+    private final GuildSettingsRepository settingsRepository;
+    private final TrackedVoiceChannelRepository trackedChannelRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VoiceChannelProperties voiceChannelProperties;
+    private final TextChannelProperties textChannelProperties;
+    private final DailyTotalIndex dailyTotalIndex;
+    private final UserNameIndex userNameIndex;
+    private final MinutePresenceIndex presenceIndex;
+    private final ReportCache reportCache;
+    private final TodayLeaderboard leaderboard;
+
+    private record LegacyPresence(long userId, LocalDate statDate, byte[] runs) {
+    }
+
+    private record GuildChannels(long[] voiceChannelIds, long logChannelId, long summaryChannelId) {
+
+        boolean tracks(long channelId) {
+            for (long id : voiceChannelIds) {
+                if (id == channelId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // guildId → 채널 설정 (값은 불변, 바뀔 때는 통째로 교체)
+    private final Map<Long, GuildChannels> guilds = new ConcurrentHashMap<>();
+
+    private final ExecutorService settingsWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "guild-settings-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void load() {
+        Map<Long, long[]> voiceChannelIds = new HashMap<>();
+        for (TrackedVoiceChannel channel : trackedChannelRepository.findAll()) {
+            voiceChannelIds.merge(channel.getGuildId(), new long[] {channel.getChannelId()},
+                GuildChannelRegistry::concat);
+        }
+
+        for (GuildSettings settings : settingsRepository.findAll()) {
+            guilds.put(settings.getGuildId(), new GuildChannels(
+                voiceChannelIds.getOrDefault(settings.getGuildId(), new long[0]),
+                orNotFound(settings.getLogChannelId()),
+                orNotFound(settings.getSummaryChannelId())));
+        }
+        // 음성 채널만 등록하고 guild_settings 행은 없는 서버 (로그/통계 채널 없음)
+        voiceChannelIds.forEach((guildId, ids) ->
+            guilds.putIfAbsent(guildId, new GuildChannels(ids, NOT_FOUND, NOT_FOUND)));
+        log.info("[GuildChannelRegistry] 서버 설정 {}개 불러옴", guilds.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        settingsWriter.shutdown();
+        try {
+            if (!settingsWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("[GuildChannelRegistry] 서버 설정 저장이 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===================== 조회 =====================
+
+    // 이 서버에서 기록하는 음성 채널인지
+    public boolean isTracked(long guildId, long channelId) {
+        GuildChannels channels = guilds.get(guildId);
+        return channels != null && channels.tracks(channelId);
+    }
+
+    public long[] trackedChannelIds(long guildId) {
+        GuildChannels channels = guilds.get(guildId);
+        return channels != null ? channels.voiceChannelIds().clone() : new long[0];
+    }
+
+    // 입퇴장 로그를 남길 텍스트 채널 (없으면 null)
+    public TextChannel logChannel(Guild guild) {
+        GuildChannels channels = guilds.get(guild.getIdLong());
+        return channels != null ? textChannel(guild, channels.logChannelId()) : null;
+    }
+
+    // 일간/주간/월간 통계 채널 (따로 없으면 입퇴장 로그 채널, 둘 다 없으면 null)
+    public TextChannel summaryChannel(Guild guild) {
+        GuildChannels channels = guilds.get(guild.getIdLong());
+        if (channels == null) {
+            return null;
+        }
+        long id = channels.summaryChannelId() != NOT_FOUND ? channels.summaryChannelId() : channels.logChannelId();
+        return textChannel(guild, id);
+    }
+
+    // 설정이 있는 서버 (통계 전송 대상)
+    public Set<Long> configuredGuildIds() {
+        return Set.copyOf(guilds.keySet());
+    }
+
+    // ===================== 이벤트 =====================
+
+    @Override
+    public void onGuildReady(GuildReadyEvent event) {
+        bootstrapIfAbsent(event.getGuild());
+    }
+
+    @Override
+    public void onGuildJoin(GuildJoinEvent event) {
+        bootstrapIfAbsent(event.getGuild());
+    }
+
+    @Override
+    public void onChannelCreate(ChannelCreateEvent event) {
+        if (event.isFromGuild() && isVoiceOrText(event.getChannelType())) {
+            refresh(event.getGuild());
+        }
+    }
+
+    @Override
+    public void onChannelUpdateName(ChannelUpdateNameEvent event) {
+        if (event.isFromGuild() && isVoiceOrText(event.getChannelType())) {
+            refresh(event.getGuild());
+        }
+    }
+
+    // 채널이 지워지면 그 ID 는 다시 쓰이지 않으므로 설정에서도 뺀다
+    @Override
+    public void onChannelDelete(ChannelDeleteEvent event) {
+        if (!event.isFromGuild()) {
+            return;
+        }
+
+        long guildId = event.getGuild().getIdLong();
+        long channelId = event.getChannel().getIdLong();
+        GuildChannels channels = guilds.get(guildId);
+        if (channels == null || !(channels.tracks(channelId)
+            || channels.logChannelId() == channelId || channels.summaryChannelId() == channelId)) {
+            return;
+        }
+
+        boolean tracked = channels.tracks(channelId);
+        long[] remaining = Arrays.stream(channels.voiceChannelIds()).filter(id -> id != channelId).toArray();
+        long logChannelId = channels.logChannelId() == channelId ? NOT_FOUND : channels.logChannelId();
+        long summaryChannelId = channels.summaryChannelId() == channelId ? NOT_FOUND : channels.summaryChannelId();
+        boolean settingsChanged = logChannelId != channels.logChannelId()
+            || summaryChannelId != channels.summaryChannelId();
+        guilds.put(guildId, new GuildChannels(remaining, logChannelId, summaryChannelId));
+
+        writeSettings(guildId, () -> {
+            if (tracked) {
+                trackedChannelRepository.deleteById(channelId);
+            }
+            if (settingsChanged) {
+                settingsRepository.save(new GuildSettings(guildId, orNull(logChannelId), orNull(summaryChannelId)));
+            }
+            log.info("[GuildChannelRegistry] guild={} 삭제된 채널 {} 설정 정리", guildId, channelId);
+        });
+    }
+
+    // ===================== 이름 설정으로 찾기 =====================
+
+    // 설정이 없는 서버: 처음 한 번 찾아서 저장
+    private void bootstrapIfAbsent(Guild guild) {
+        long guildId = guild.getIdLong();
+        if (guilds.containsKey(guildId)) {
+            return;
+        }
+
+        long[] voiceChannelIds = findVoiceChannelIds(guild);
+        if (voiceChannelIds.length == 0) {
+            log.info("[GuildChannelRegistry] guild={} 기록할 음성 채널 설정이 없습니다.", guildId);
+            return;
+        }
+        GuildChannels channels = new GuildChannels(voiceChannelIds,
+            findTextChannelId(guild, textChannelProperties.getTargetChannelName()),
+            findTextChannelId(guild, textChannelProperties.getSummaryChannelName()));
+
+        // 메모리 설정은 바로 바꿔서 이어지는 음성 이벤트(ReadyEvent 의 세션 복구 포함)부터 기록되게 한다
+        if (guilds.putIfAbsent(guildId, channels) != null) {
+            return;
+        }
+        writeChanges(guildId, voiceChannelIds, channels);
+    }
+
+    /**
+     * 채널이 생기거나 이름이 바뀌면 이름 설정에 새로 맞는 채널을 더한다 (재시작 없이 반영)
+     * DB 에 설정된 채널은 이름이 달라도 빼지 않는다 (채널이 지워질 때만 뺀다). 로그/통계 채널은 비어 있을 때만 채운다.
+     * 음성 채널 이름 설정이 비어 있으면 DB 설정만 쓰는 것으로 보고 건드리지 않는다.
+     */
+    private void refresh(Guild guild) {
+        long guildId = guild.getIdLong();
+        GuildChannels current = guilds.get(guildId);
+        if (current == null) {
+            bootstrapIfAbsent(guild);
+            return;
+        }
+        if (isBlank(voiceChannelProperties.getTargetChannelName())) {
+            return;
+        }
+
+        // JDA 가 돌려주는 순서와 DB 에서 읽은 순서는 다를 수 있으므로 ID 로만 비교한다
+        long[] added = Arrays.stream(findVoiceChannelIds(guild)).filter(id -> !current.tracks(id)).toArray();
+        long logChannelId = current.logChannelId() != NOT_FOUND ? current.logChannelId()
+            : findTextChannelId(guild, textChannelProperties.getTargetChannelName());
+        long summaryChannelId = current.summaryChannelId() != NOT_FOUND ? current.summaryChannelId()
+            : findTextChannelId(guild, textChannelProperties.getSummaryChannelName());
+        if (added.length == 0 && logChannelId == current.logChannelId()
+            && summaryChannelId == current.summaryChannelId()) {
+            return;
+        }
+
+        GuildChannels resolved =
+            new GuildChannels(concat(current.voiceChannelIds(), added), logChannelId, summaryChannelId);
+        guilds.put(guildId, resolved);
+        writeChanges(guildId, added, resolved);
+    }
+
+    // 서버 설정과 새로 더한 음성 채널을 저장하면서 그 채널의 기존 기록을 가져온다
+    private void writeChanges(long guildId, long[] added, GuildChannels channels) {
+        writeSettings(guildId, () -> {
+            // 기록 저장(flush)이 옮기는 도중의 일 합계/출석을 보고 덮어쓰지 않도록 그동안 멈춘다
+            int claimed = dailyTotalIndex.rewrite(() -> {
+                int rows = transactionTemplate.execute(status -> {
+                    settingsRepository.save(new GuildSettings(guildId,
+                        orNull(channels.logChannelId()), orNull(channels.summaryChannelId())));
+                    for (long channelId : added) {
+                        trackedChannelRepository.save(new TrackedVoiceChannel(channelId, guildId));
+                    }
+                    return claimLegacyRows(guildId, added);
+                });
+                if (rows > 0) {
+                    dailyTotalIndex.reload();
+                    presenceIndex.reload();
+                }
+                return rows;
+            });
+
+            if (claimed > 0) {
+                // guild_id = 0 이던 기록이 이 서버로 옮겨졌음 (표시 이름도 이 서버 것으로)
+                userNameIndex.load();
+                leaderboard.claimLegacy(guildId);
+                reportCache.invalidateGuild(guildId);
+            }
+            log.info("[GuildChannelRegistry] guild={} 설정 저장. 음성 채널={} (추가 {}), 로그 채널={}, 통계 채널={}, "
+                    + "기존 기록 {}건 이전", guildId, Arrays.toString(channels.voiceChannelIds()), Arrays.toString(added),
+                channels.logChannelId(), channels.summaryChannelId(), claimed);
+        });
+    }
+
+    // 설정 저장 스레드에서 실행. 실패하면 로그만 남긴다 (설정 생성이 실패한 서버는 다음 시작 때 다시 찾는다)
+    private void writeSettings(long guildId, Runnable write) {
+        try {
+            settingsWriter.execute(() -> {
+                try {
+                    write.run();
+                } catch (RuntimeException e) {
+                    log.error("[GuildChannelRegistry] guild={} 설정 저장 실패", guildId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            log.warn("[GuildChannelRegistry] guild={} 종료 중이라 설정을 저장하지 못했습니다.", guildId);
+        }
+    }
+
+    /**
+     * guild_id 가 없던 기존 기록 중 이 서버 음성 채널의 기록을 가져온다.
+     * 일 합계(rollup)와 출석은 채널 구분이 없으므로, 기록을 하나라도 가져온 서버가 전부 가져간다 (기존에는 서버가 하나였음).
+     */
+    private int claimLegacyRows(long guildId, long[] voiceChannelIds) {
+        int claimed = 0;
+        for (long channelId : voiceChannelIds) {
+            claimed += jdbcTemplate.update(CLAIM_LOGS_SQL, guildId, channelId);
+        }
+
+        if (claimed > 0) {
+            jdbcTemplate.update(CLAIM_DAILY_TOTALS_SQL, guildId);
+            jdbcTemplate.update(DELETE_LEGACY_DAILY_TOTALS_SQL);
+            claimLegacyPresence(guildId);
+        }
+        return claimed;
+    }
+
+    // 출석은 run-length 라 SQL 로 더할 수 없으므로 이 서버의 같은 날 출석(메모리 색인이 최신)과 OR 해서 덮어쓴다
+    private void claimLegacyPresence(long guildId) {
+        List<LegacyPresence> legacy = jdbcTemplate.query(SELECT_LEGACY_PRESENCE_SQL, (rs, rowNum) ->
+            new LegacyPresence(rs.getLong("user_id"), rs.getDate("stat_date").toLocalDate(),
+                rs.getBytes("minute_runs")));
+
+        jdbcTemplate.batchUpdate(UPSERT_PRESENCE_SQL, legacy, legacy.size(), (ps, row) -> {
+            MinuteBitset merged = presenceIndex.get(guildId, row.userId(), row.statDate()).orRuns(row.runs());
+            ps.setLong(1, guildId);
+            ps.setLong(2, row.userId());
+            ps.setDate(3, Date.valueOf(row.statDate()));
+            ps.setBytes(4, merged.toRuns());
+        });
+        jdbcTemplate.update(DELETE_LEGACY_PRESENCE_SQL);
+    }
+
+    private long[] findVoiceChannelIds(Guild guild) {
+        String voiceChannelName = voiceChannelProperties.getTargetChannelName();
+        if (isBlank(voiceChannelName)) {
+            return new long[0];
+        }
+        // 음성 채널은 기존과 같이 이름이 정확히 일치해야 함
+        return guild.getVoiceChannelsByName(voiceChannelName, false).stream()
+            .mapToLong(VoiceChannel::getIdLong)
+            .toArray();
+    }
+
+    private long findTextChannelId(Guild guild, String nameOrId) {
+        if (isBlank(nameOrId)) {
+            return NOT_FOUND;
+        }
+
+        // 1) 숫자로만 이루어진 경우에만 "ID" 로 시도
+        if (nameOrId.chars().allMatch(Character::isDigit)) {
+            TextChannel byId = guild.getTextChannelById(nameOrId);
+            if (byId != null) {
+                return byId.getIdLong();
+            }
+        }
+
+        // 2) 그 외에는 "이름" 으로 검색
+        return guild.getTextChannelsByName(nameOrId, true).stream()
+            .findFirst()
+            .map(TextChannel::getIdLong)
+            .orElse(NOT_FOUND);
+    }
+
+    private static TextChannel textChannel(Guild guild, long channelId) {
+        return channelId == NOT_FOUND ? null : guild.getTextChannelById(channelId);
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static long orNotFound(Long channelId) {
+        return channelId != null ? channelId : NOT_FOUND;
+    }
+
+    private static Long orNull(long channelId) {
+        return channelId != NOT_FOUND ? channelId : null;
+    }
+
+    private static boolean isVoiceOrText(ChannelType type) {
+        return type == ChannelType.VOICE || type == ChannelType.TEXT;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.studybot.guild;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 서버(guild)별 채널 설정
+ * 기록할 음성 채널은 TrackedVoiceChannel 에 따로 둔다 (서버당 여러 개)
+ */
+@Entity
+@Table(name = "guild_settings")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuildSettings {
+    @Id
+    private Long guildId;
+
+    private Long logChannelId; // 입퇴장 로그 채널
+    private Long summaryChannelId; // 일간/주간/월간 통계 채널 (없으면 로그 채널 사용)
+}
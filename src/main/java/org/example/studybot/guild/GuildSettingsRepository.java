@@ -0,0 +1,11 @@
+package org.example.studybot.guild;
+
+import java.util.List;
+
+import org.springframework.data.repository.Repository;
+
+public interface GuildSettingsRepository extends Repository<GuildSettings, Long> {
+    GuildSettings save(GuildSettings settings);
+
+    List<GuildSettings> findAll();
+}
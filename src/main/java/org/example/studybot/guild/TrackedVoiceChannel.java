@@ -0,0 +1,27 @@
+package org.example.studybot.guild;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 공부 시간을 기록할 음성 채널 (채널 ID 는 디스코드 전체에서 유일)
+ */
+@Entity
+@Table(name = "tracked_voice_channels",
+    indexes = @Index(name = "idx_tracked_voice_channels_guild", columnList = "guild_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackedVoiceChannel {
+    @Id
+    private Long channelId;
+
+    private Long guildId;
+}
@@ -0,0 +1,13 @@
+package org.example.studybot.guild;
+
+import java.util.List;
+
+import org.springframework.data.repository.Repository;
+
+public interface TrackedVoiceChannelRepository extends Repository<TrackedVoiceChannel, Long> {
+    TrackedVoiceChannel save(TrackedVoiceChannel channel);
+
+    List<TrackedVoiceChannel> findAll();
+
+    void deleteById(Long channelId);
+}
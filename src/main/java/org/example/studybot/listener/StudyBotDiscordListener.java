@@ -1,70 +1,114 @@
 package org.example.studybot.listener;
 
 import org.example.studybot.command.CommandHandler;
+import org.example.studybot.command.CommandReply;
+import org.example.studybot.command.recordcommands.RecordManager;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.User;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
-import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.FileUpload;
+import net.dv8tion.jda.api.utils.messages.MessageCreateRequest;
 
 import net.dv8tion.jda.api.components.buttons.Button;
 import net.dv8tion.jda.api.components.actionrow.ActionRow;
 
+/**
+ * 명령어는 슬래시 명령어 / 드롭다운 / 버튼 인터랙션으로만 받는다.
+ * 메시지 내용을 읽지 않으므로 MESSAGE_CONTENT 인텐트가 필요 없다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class StudyBotDiscordListener extends ListenerAdapter {
 
+    private static final String ERROR_REPLY = "명령어 응답을 보내는 중 오류가 발생했습니다.";
+
     private final CommandHandler commandHandler;
 
+    // 전역 슬래시 명령어 등록 (같은 목록이면 디스코드 쪽에서 그대로 유지)
+    @Override
+    public void onReady(ReadyEvent event) {
+        event.getJDA().updateCommands()
+            .addCommands(commandHandler.getSlashCommands())
+            .queue(
+                commands -> log.info("[StudyBotDiscordListener] 슬래시 명령어 {}개 등록", commands.size()),
+                error -> log.error("[StudyBotDiscordListener] 슬래시 명령어 등록 실패", error)
+            );
+    }
+
     @Override
-    public void onMessageReceived(MessageReceivedEvent event) {
-        User user = event.getAuthor();
-        Member member = event.getMember();
-        TextChannel textChannel = event.getChannel().asTextChannel();
-        Message message = event.getMessage();
+    public void onSlashCommandInteraction(SlashCommandInteractionEvent event) {
+        String name = event.getName();
+        String period = event.getOption(CommandHandler.OPTION_PERIOD, OptionMapping::getAsString);
+        String date = event.getOption(CommandHandler.OPTION_DATE, OptionMapping::getAsString);
+        String targetUser = event.getOption(CommandHandler.OPTION_USER, OptionMapping::getAsString);
+        String range = event.getOption(CommandHandler.OPTION_RANGE, OptionMapping::getAsString);
+        String grouping = event.getOption(CommandHandler.OPTION_GROUP, OptionMapping::getAsString);
+
+        if (name.equals(CommandHandler.MENU_COMMAND)) {
+            event.reply("명령어를 선택하거나 취소할 수 있습니다.")
+                .addComponents(
+                    ActionRow.of(commandHandler.getTextCommandsDropdown()),
+                    ActionRow.of(Button.danger("cancel_menu", "취소"))
+                )
+                .queue();
+            return;
+        }
 
-        if (user.isBot())
+        boolean recordQuery = name.equals(CommandHandler.RECORD_COMMAND);
+        if (recordQuery && period == null && date == null && targetUser == null) {
+            event.reply("기록 관련 명령어를 선택하세요.")
+                .addComponents(
+                    ActionRow.of(commandHandler.getRecordCommandsDropdown()),
+                    ActionRow.of(Button.danger("cancel_menu", "취소"))
+                )
+                .queue();
             return;
+        }
 
-        String content = message.getContentDisplay().trim();
-
-        if (content.startsWith("!")) {
-            String nickname = member != null ? member.getNickname() : null;
-            String displayName = nickname != null ? nickname : user.getName();
-            String cmd = content.substring(1).trim();
-
-            if (cmd.equals("명령어")) {
-                textChannel.sendMessage("명령어를 선택하거나 취소할 수 있습니다.")
-                    .addComponents(
-                        ActionRow.of(commandHandler.getTextCommandsDropdown()),
-                        ActionRow.of(Button.danger("cancel_menu", "취소"))
-                    )
-                    .queue();
-                return;
-            }
-
-            if (cmd.equals("기록")) {
-                textChannel.sendMessage("기록 관련 명령어를 선택하세요.")
-                    .addComponents(
-                        ActionRow.of(commandHandler.getRecordCommandsDropdown()),
-                        ActionRow.of(Button.danger("cancel_menu", "취소"))
-                    )
-                    .queue();
-                return;
-            }
-
-            String returnMessage = commandHandler.handle(cmd, displayName, displayName);
-            textChannel.sendMessage(returnMessage).queue();
+        long guildId = event.getGuild().getIdLong();
+        String displayName = displayName(event.getMember(), event.getUser());
+
+        // 3초 안에 먼저 응답(defer)해 두고, 명령어는 별도 스레드에서 실행한 뒤 결과를 followup 으로 전송
+        event.deferReply().queue();
+        CompletableFuture<CommandReply> reply;
+        if (recordQuery) {
+            reply = commandHandler.handleRecord(guildId, period != null ? period : "일간", date, targetUser);
+        } else if (name.equals(CommandHandler.RANGE_COMMAND)) {
+            reply = commandHandler.handleRange(guildId, range, targetUser, grouping);
+        } else {
+            reply = commandHandler.handle(name, guildId, event.getUser().getIdLong(), displayName);
         }
+        sendFollowup(event.getHook(), reply);
+    }
+
+    // /기록, /기간기록 의 사용자 옵션
+    @Override
+    public void onCommandAutoCompleteInteraction(CommandAutoCompleteInteractionEvent event) {
+        if (!event.getFocusedOption().getName().equals(CommandHandler.OPTION_USER)) {
+            return;
+        }
+
+        List<Command.Choice> choices = commandHandler.completeUserName(event.getGuild().getIdLong(),
+            event.getFocusedOption().getValue());
+        event.replyChoices(choices).queue();
     }
 
     @Override
@@ -74,13 +118,13 @@ public class StudyBotDiscordListener extends ListenerAdapter {
         if (componentId.startsWith("command_selector")) {
             String selected = event.getValues().get(0);
 
-            Member member = event.getMember();
-            String nickname = member != null ? member.getNickname() : null;
-            String displayName = nickname != null ? nickname : event.getUser().getName();
-
-            String returnMessage = commandHandler.handle(selected, displayName, displayName);
+            long userId = event.getUser().getIdLong();
+            String displayName = displayName(event.getMember(), event.getUser());
 
-            event.reply(returnMessage).queue();
+            // 3초 안에 먼저 응답(defer)해 두고, 결과는 나중에 followup 으로 전송
+            event.deferReply().queue();
+            sendFollowup(event.getHook(),
+                commandHandler.handle(selected, event.getGuild().getIdLong(), userId, displayName));
             event.getMessage().delete().queue();
         }
     }
@@ -90,7 +134,70 @@ public class StudyBotDiscordListener extends ListenerAdapter {
         if (event.getComponentId().equals("cancel_menu")) {
             event.reply("명령어 선택이 취소되었습니다!").setEphemeral(true).queue();
             event.getMessage().delete().queue();
+            return;
+        }
+
+        // 기록 페이지 넘기기: 같은 메시지를 해당 페이지로 수정
+        if (event.getComponentId().startsWith(RecordManager.PAGE_BUTTON_PREFIX)) {
+            event.deferEdit().queue();
+            InteractionHook hook = event.getHook();
+            commandHandler.handlePage(event.getComponentId(), event.getGuild().getIdLong())
+                .thenAccept(reply -> hook.editOriginal(reply.text())
+                    .setComponents(pageButtons(reply))
+                    .queue())
+                .exceptionally(error -> {
+                    log.error("[StudyBotDiscordListener] 기록 페이지 응답 실패: {}", event.getComponentId(), error);
+                    hook.editOriginal(ERROR_REPLY).setComponents().queue();
+                    return null;
+                });
         }
     }
 
+    /**
+     * 명령어 결과를 followup 으로 보낸다.
+     * 결과 future 는 실패하지 않지만 메시지를 만드는 중(길이 초과, 첨부 파일 등)에 던진 예외는 thenAccept 안에서 사라지므로,
+     * 로그를 남기고 짧은 오류 안내로 대신 응답한다. (defer 한 응답이 "생각 중..." 으로 남지 않도록)
+     */
+    private static void sendFollowup(InteractionHook hook, CompletableFuture<CommandReply> reply) {
+        reply.thenAccept(result -> withReplyParts(hook.sendMessage(result.text()), result).queue())
+            .exceptionally(error -> {
+                log.error("[StudyBotDiscordListener] 명령어 응답 실패", error);
+                hook.sendMessage(ERROR_REPLY).queue();
+                return null;
+            });
+    }
+
+    // 음성 기록과 같은 표시 이름 (서버별명 → 전역 이름 → 계정 이름)
+    private static String displayName(Member member, User user) {
+        return member != null ? member.getEffectiveName() : user.getName();
+    }
+
+    // 차트 명령어는 PNG 를 첨부 파일로 올리고, 여러 페이지인 기록은 페이지 버튼을 단다
+    private static <R extends MessageCreateRequest<R> & RestAction<?>> R withReplyParts(R request, CommandReply reply) {
+        if (reply.hasImage()) {
+            request.addFiles(FileUpload.fromData(reply.image(), reply.imageName()));
+        }
+        if (reply.hasPages()) {
+            request.addComponents(pageButtons(reply));
+        }
+        return request;
+    }
+
+    // ◀ 이전 | n / 전체 | 다음 ▶ (처음/끝 페이지에서는 해당 방향 버튼 비활성화)
+    private static List<ActionRow> pageButtons(CommandReply reply) {
+        if (!reply.hasPages()) {
+            return List.of();
+        }
+
+        CommandReply.Page page = reply.page();
+        return List.of(ActionRow.of(
+            Button.secondary(page.buttonIdPrefix() + (page.index() - 1), "◀ 이전")
+                .withDisabled(!page.hasPrevious()),
+            Button.secondary("report_page_indicator", (page.index() + 1) + " / " + page.count())
+                .withDisabled(true),
+            Button.secondary(page.buttonIdPrefix() + (page.index() + 1), "다음 ▶")
+                .withDisabled(!page.hasNext())
+        ));
+    }
+
 }
@@ -1,53 +1,167 @@
 package org.example.studybot.listener;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 
-import org.example.studybot.util.TextChannelProperties;
+import org.example.studybot.guild.GuildChannelRegistry;
+import org.example.studybot.util.ReportWriter;
+import org.example.studybot.voicechannel.SessionJournal;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.example.studybot.voicechannel.UserNameIndex;
 import org.example.studybot.voicechannel.VoiceChannelLog;
-import org.example.studybot.voicechannel.VoiceChannelLogRepository;
-import org.example.studybot.voicechannel.VoiceChannelProperties;
+import org.example.studybot.voicechannel.VoiceChannelLogWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class VoiceChannelTracker extends ListenerAdapter {
 
     @Autowired
-    private VoiceChannelLogRepository repository;
+    private VoiceChannelLogWriter logWriter;
+
+    // 서버별 기록 대상 음성 채널 / 로그 채널 (이벤트마다 이름으로 찾지 않음)
+    @Autowired
+    private GuildChannelRegistry guildChannelRegistry;
 
+    // 열린 세션은 서버별로 저널에 남겨서 재시작해도 잃어버리지 않음 (여러 이벤트 스레드에서 접근해도 안전)
     @Autowired
-    private VoiceChannelProperties voiceChannelProperties;
+    private SessionJournal sessionJournal;
 
+    // 서버별 오늘 실시간 순위 (입장/퇴장마다 갱신)
     @Autowired
-    private TextChannelProperties textChannelProperties;
+    private TodayLeaderboard leaderboard;
 
-    // 여러 이벤트 스레드에서 접근하니까 ConcurrentHashMap 사용
-    private final Map<Long, LocalDateTime> userJoinTimes = new ConcurrentHashMap<>();
+    // userId → 표시 이름 캐시 (기록 출력, 사용자 옵션 자동완성). 입장/퇴장 때 최신 이름으로 갱신
+    @Autowired
+    private UserNameIndex userNameIndex;
+
+    // 입장/퇴장 시각 (ClockConfig). 부하 테스트 하네스에서는 시뮬레이션 시계를 넣어서 머문 시간을 검증한다
+    @Autowired
+    private Clock clock;
+
+    /**
+     * 재시작 후 저널에서 복구한 세션을 현재 음성 채널 상태와 맞춘다.
+     * - 저널에는 있는데 채널에 없는 사람: 봇이 꺼져 있는 동안 나간 것 → 마지막 저널 시각으로 세션 종료
+     * - 채널에는 있는데 저널에 없는 사람: 봇이 꺼져 있는 동안 들어온 것 → 지금부터 세션 시작
+     */
+    @Override
+    public void onReady(ReadyEvent event) {
+        JDA jda = event.getJDA();
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        adoptLegacySessions(jda);
+
+        // guildId → 지금 기록 대상 채널에 있는 userId
+        Map<Long, Set<Long>> present = new HashMap<>();
+        int inProgress = 0;
+        for (Guild guild : jda.getGuilds()) {
+            long guildId = guild.getIdLong();
+            Set<Long> guildMembers = present.computeIfAbsent(guildId, id -> new HashSet<>());
+
+            for (long channelId : guildChannelRegistry.trackedChannelIds(guildId)) {
+                VoiceChannel voiceChannel = guild.getVoiceChannelById(channelId);
+                if (voiceChannel == null) {
+                    continue;
+                }
+                for (Member member : voiceChannel.getMembers()) {
+                    if (member.getUser().isBot()) {
+                        continue;
+                    }
+                    guildMembers.add(member.getIdLong());
+                    sessionJournal.open(guildId, member.getIdLong(), channelId, now);
+                    userNameIndex.update(guildId, member.getIdLong(), member.getEffectiveName());
+                    inProgress++;
+                }
+            }
+        }
+
+        LocalDateTime lastKnown = sessionJournal.getLastRecordedAt();
+        int closed = 0;
+        for (SessionJournal.OpenSession open : sessionJournal.getAllOpenSessions()) {
+            long guildId = open.guildId();
+            long userId = open.userId();
+            if (present.getOrDefault(guildId, Set.of()).contains(userId)) {
+                continue;
+            }
+
+            SessionJournal.OpenSession session = sessionJournal.close(guildId, userId, lastKnown);
+            if (session == null) {
+                continue;
+            }
+
+            User user = jda.getUserById(userId);
+            String userName = user != null ? user.getName() : String.valueOf(userId);
+            String displayName = findDisplayName(jda.getGuildById(guildId), userId, userName);
+            VoiceChannel channel = jda.getVoiceChannelById(session.channelId());
+            String channelName = channel != null ? channel.getName() : String.valueOf(session.channelId());
+
+            saveSession(guildId, userId, displayName, userName, session.channelId(), channelName,
+                session.joinedAt(), lastKnown);
+            closed++;
+        }
+
+        log.info("[VoiceChannelTracker] 세션 복구 완료. 진행 중={}, 종료 처리={}", inProgress, closed);
+    }
+
+    /**
+     * 이전 형식 저널에서 복구된 세션은 서버를 모르므로, 채널이 남아 있으면 그 채널의 서버로 옮긴다.
+     * 채널이 없어졌으면 그대로 두고 onReady 에서 종료 처리된다 (guild_id = 0 으로 저장).
+     */
+    private void adoptLegacySessions(JDA jda) {
+        List<SessionJournal.OpenSession> legacySessions =
+            List.copyOf(sessionJournal.getOpenSessions(SessionJournal.LEGACY_GUILD_ID).values());
+
+        for (SessionJournal.OpenSession legacy : legacySessions) {
+            VoiceChannel channel = jda.getVoiceChannelById(legacy.channelId());
+            if (channel == null) {
+                continue;
+            }
+            sessionJournal.close(SessionJournal.LEGACY_GUILD_ID, legacy.userId(), legacy.joinedAt());
+            sessionJournal.open(channel.getGuild().getIdLong(), legacy.userId(), legacy.channelId(), legacy.joinedAt());
+        }
+    }
 
     @Override
     public void onGuildVoiceUpdate(GuildVoiceUpdateEvent event) {
         Member member = event.getMember();           // 길드 멤버 (null일 수도 있음)
         User user = event.getEntity().getUser();     // 유저 객체 (절대 null 아님)
 
+        long guildId = event.getGuild().getIdLong();
         long userId = user.getIdLong();
         var joinedChannel = event.getChannelJoined();
         var leftChannel = event.getChannelLeft();
 
-        String targetVoiceChannelName = voiceChannelProperties.getTargetChannelName();
-        String targetTextChannelName = textChannelProperties.getTargetChannelName();
+        // 이 서버의 기록 대상 음성 채널인지 ID 로만 비교
+        boolean joinedTarget = joinedChannel != null && guildChannelRegistry.isTracked(guildId, joinedChannel.getIdLong());
+        boolean leftTarget = leftChannel != null && guildChannelRegistry.isTracked(guildId, leftChannel.getIdLong());
+        // 음성에서 완전히 나감: 대상 채널에서 바로 나갔거나, 대상 채널에서 다른 채널로 옮겨 있다가 나간 경우
+        boolean disconnected = leftChannel != null && joinedChannel == null
+            && (leftTarget || sessionJournal.isOpen(guildId, userId));
+        if (!joinedTarget && !disconnected) {
+            return;
+        }
 
         // 텍스트 채널 찾기
-        var textChannels = event.getGuild().getTextChannelsByName(targetTextChannelName, true);
-        TextChannel textChannel = (textChannels != null && !textChannels.isEmpty()) ? textChannels.get(0) : null;
+        TextChannel textChannel = guildChannelRegistry.logChannel(event.getGuild());
 
         // 👤 닉네임/이름 처리 (여기서 null 절대 안 나게)
         // 서버별명(길드 닉네임)을 우선 사용하고, 없으면 계정 이름 사용
@@ -59,10 +173,10 @@ public class VoiceChannelTracker extends ListenerAdapter {
         }
 
         // 🎧 1) 대상 음성채널에 "입장" 했는지 체크
-        if (joinedChannel != null && joinedChannel.getName().equals(targetVoiceChannelName)) {
+        if (joinedTarget) {
             // 아직 기록 안 된 사용자만 처리
-            if (!userJoinTimes.containsKey(userId)) {
-                userJoinTimes.put(userId, LocalDateTime.now());
+            if (sessionJournal.open(guildId, userId, joinedChannel.getIdLong(), LocalDateTime.now(clock))) {
+                userNameIndex.update(guildId, userId, displayName);
 
                 if (textChannel != null) {
                     textChannel.sendMessage(
@@ -72,49 +186,73 @@ public class VoiceChannelTracker extends ListenerAdapter {
             }
         }
 
-        // 🎧 2) 대상 음성채널에서 "완전히 나간" 경우만 처리
-        //    - 지금 로직은: 서버의 모든 음성채널에서 완전히 나갈 때만 퇴장으로 침
+        // 🎧 2) 대상 음성채널에서 시작한 세션이 음성에서 "완전히 나간" 경우만 처리
+        //    - 지금 로직은: 서버의 모든 음성채널에서 완전히 나갈 때만 퇴장으로 침 (중간에 다른 채널로 옮겨도 이어짐)
         //    - 만약 다른 음성채널로 이동하는 것도 퇴장으로 치고 싶으면 joinedChannel == null 조건을 빼면 됨
-        if (leftChannel != null
-            && leftChannel.getName().equals(targetVoiceChannelName)
-            && joinedChannel == null) {
-
-            LocalDateTime joinTime = userJoinTimes.remove(userId);
-
-            if (joinTime != null) {
-                long duration = ChronoUnit.SECONDS.between(joinTime, LocalDateTime.now());
-                long hours = duration / 3600;
-                long minutes = (duration % 3600) / 60;
-                long seconds = duration % 60;
-
-                // DB 저장
-                VoiceChannelLog log = new VoiceChannelLog();
-                log.setUserId(userId);
-                // 🔹 서버별명 기준: nickName 에는 서버 닉네임(또는 표시 이름)
-                log.setNickName(displayName);
-                // 🔹 userName 은 항상 계정 이름으로 고정
-                log.setUserName(user.getName());
-                log.setChannelId(leftChannel.getIdLong());
-                log.setChannelName(leftChannel.getName());
-                log.setDuration(duration);
-                log.setRecordedAt(LocalDateTime.now());
-
-                repository.save(log);
+        if (disconnected) {
+
+            LocalDateTime leftAt = LocalDateTime.now(clock);
+            SessionJournal.OpenSession session = sessionJournal.close(guildId, userId, leftAt);
+
+            if (session != null) {
+                // 대상이 아닌 채널에서 나갔으면 세션을 시작한 대상 채널로 기록
+                long channelId = leftTarget ? leftChannel.getIdLong() : session.channelId();
+                String channelName = leftTarget ? leftChannel.getName() : channelName(event.getGuild(), channelId);
+                long duration = saveSession(guildId, userId, displayName, user.getName(),
+                    channelId, channelName, session.joinedAt(), leftAt);
 
                 // 텍스트 채널에 메시지 출력
                 if (textChannel != null) {
-                    StringBuilder sb = new StringBuilder();
-                    sb.append("\uD83E\uDE76 ")
-                        .append(displayName)
-                        .append("님이 `").append(leftChannel.getName()).append("` 채널에서 퇴장했습니다.\n")
-                        .append("머문 시간: ");
-                    if (hours > 0) sb.append(hours).append("시간 ");
-                    if (minutes > 0) sb.append(minutes).append("분 ");
-                    sb.append(seconds).append("초");
-
-                    textChannel.sendMessage(sb.toString()).queue();
+                    try (ReportWriter out = ReportWriter.open()) {
+                        out.append("\uD83E\uDE76 ")
+                            .append(displayName)
+                            .append("님이 `").append(channelName).append("` 채널에서 퇴장했습니다.\n")
+                            .append("머문 시간: ")
+                            .duration(duration);
+
+                        textChannel.sendMessage(out.toString()).queue();
+                    }
                 }
             }
         }
     }
+
+    /**
+     * 닫힌 세션을 DB 저장 큐에 넣는다 (이벤트 스레드를 막지 않도록 write-behind 큐에 넣기만 함)
+     *
+     * @return 머문 시간(초)
+     */
+    private long saveSession(long guildId, long userId, String displayName, String userName, long channelId,
+        String channelName, LocalDateTime joinedAt, LocalDateTime leftAt) {
+        long duration = Math.max(0L, ChronoUnit.SECONDS.between(joinedAt, leftAt));
+
+        VoiceChannelLog voiceLog = new VoiceChannelLog();
+        voiceLog.setGuildId(guildId);
+        voiceLog.setUserId(userId);
+        // 🔹 서버별명 기준: nickName 에는 서버 닉네임(또는 표시 이름)
+        voiceLog.setNickName(displayName);
+        // 🔹 userName 은 항상 계정 이름으로 고정
+        voiceLog.setUserName(userName);
+        voiceLog.setChannelId(channelId);
+        voiceLog.setChannelName(channelName);
+        voiceLog.setDuration(duration);
+        // 자정을 넘긴 세션은 logWriter 가 날짜별 구간으로 나눠서 저장
+        voiceLog.setStartedAt(joinedAt);
+        voiceLog.setRecordedAt(leftAt);
+
+        logWriter.enqueue(voiceLog);
+        leaderboard.recordLeave(guildId, userId, joinedAt, leftAt);
+        userNameIndex.update(guildId, userId, displayName);
+        return duration;
+    }
+
+    private String findDisplayName(Guild guild, long userId, String fallback) {
+        Member member = guild != null ? guild.getMemberById(userId) : null;
+        return member != null ? member.getEffectiveName() : fallback;
+    }
+
+    private String channelName(Guild guild, long channelId) {
+        VoiceChannel channel = guild.getVoiceChannelById(channelId);
+        return channel != null ? channel.getName() : String.valueOf(channelId);
+    }
 }
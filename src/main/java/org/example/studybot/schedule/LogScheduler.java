@@ -1,5 +1,7 @@
 package org.example.studybot.schedule;
 
+import java.time.LocalDate;
+
 import org.example.studybot.util.summary.DailySummaryService;
 import org.example.studybot.util.summary.MonthSummaryService;
 import org.example.studybot.util.summary.WeekSummaryService;
@@ -17,23 +19,29 @@ public class LogScheduler {
     private final WeekSummaryService weekSummaryService;
     private final MonthSummaryService monthSummaryService;
 
+    // 서버별 집계는 병렬로, 전송은 속도 제한을 두고 처리
+    private final SummaryJobRunner summaryJobRunner;
+
 
     @Scheduled(cron = "0 1 0 * * *")
     public void sendDailySummary() {
         log.info(">>> [LogScheduler] sendDailySummary 호출됨");
-        dailySummaryService.generateAndSendDailySummary();
+        LocalDate today = LocalDate.now();
+        summaryJobRunner.run("daily", guildId -> dailySummaryService.buildDailySummary(guildId, today));
     }
 
     @Scheduled(cron = "0 2 0 * * MON")
     public void sendWeeklySummary() {
         log.info(">>> [LogScheduler] sendWeeklySummary 호출됨");
-        weekSummaryService.generateAndSendWeeklySummary();
+        LocalDate today = LocalDate.now();
+        summaryJobRunner.run("weekly", guildId -> weekSummaryService.buildWeeklySummary(guildId, today));
     }
 
-    // 매월 1일 00:01에 "지난 달" 통계 전송
+    // 매월 1일 00:03에 "지난 달" 통계 전송
     @Scheduled(cron = "0 3 0 1 * *")
     public void sendMonthlySummary() {
         log.info(">>> [LogScheduler] sendMonthlySummary 호출됨");
-        monthSummaryService.generateAndSendMonthlySummary();
+        LocalDate today = LocalDate.now();
+        summaryJobRunner.run("monthly", guildId -> monthSummaryService.buildMonthlySummary(guildId, today));
     }
 }
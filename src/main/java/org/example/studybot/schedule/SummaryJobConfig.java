@@ -0,0 +1,58 @@
+package org.example.studybot.schedule;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.studybot.util.SendRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SummaryJobConfig {
+
+    /**
+     * 서버별 통계 집계용 스레드 풀 (크기 제한 + 대기열 제한)
+     * 대기열까지 가득 차면 스케줄러 스레드가 직접 실행해서 자연스럽게 속도를 늦춘다.
+     * 스케줄러 스레드에서만 작업을 넣는다. JDA 콜백에서 이어지는 전송은 summarySendExecutor 로 보낸다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService summaryExecutor(
+        @Value("${summary.executor.threads:4}") int threads,
+        @Value("${summary.executor.queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "summary-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 통계 메시지 전송 차례를 기다리는 스레드 (하나)
+     * JDA 콜백 스레드에서 작업을 넣으므로 대기열에 제한을 두지 않고, 넣은 스레드에서 대신 실행하는 일도 없다.
+     * 전송은 SendRateLimiter 로 어차피 한 줄로 서므로 스레드 하나면 되고, 대기열은 한 번 실행의 메시지 수를 넘지 않는다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService summarySendExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "summary-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 통계 메시지 전송 속도 (봇 전체 전역 제한보다 충분히 낮게)
+    @Bean
+    public SendRateLimiter summarySendRateLimiter(
+        @Value("${summary.send.permits-per-second:20}") double permitsPerSecond) {
+        return new SendRateLimiter(permitsPerSecond);
+    }
+}
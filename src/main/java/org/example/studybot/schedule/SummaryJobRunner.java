@@ -0,0 +1,129 @@
+package org.example.studybot.schedule;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongFunction;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+
+import org.example.studybot.guild.GuildChannelRegistry;
+import org.example.studybot.util.SendRateLimiter;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 통계 전송 파이프라인
+ * 서버마다 (1) 집계 + 메시지 생성을 summaryExecutor 에서 병렬로 하고 (2) 전송은 summarySendExecutor 에서 SendRateLimiter 로 간격을 둔다.
+ * 메시지가 여러 개로 나뉘면 앞 메시지 전송이 성공한 뒤에 다음 메시지 차례를 받아서 보내므로 순서를 지킨다. (중간에 실패하면 나머지는 보내지 않음)
+ * 모든 서버의 마지막 메시지 전송이 끝날 때까지 기다리므로 다음 스케줄(00:02 주간 등)과 겹치지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryJobRunner {
+
+    private final JDA jda;
+    private final GuildChannelRegistry guildChannelRegistry;
+    private final ExecutorService summaryExecutor;
+    private final ExecutorService summarySendExecutor;
+    private final SendRateLimiter summarySendRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 설정된 모든 서버에 대해 통계 메시지를 만들고 전송한다.
+     *
+     * @param jobName        메트릭/로그용 이름 (daily, weekly, monthly)
+     * @param messageBuilder guildId → 보낼 메시지들, 보낼 순서대로 (DB 집계 포함)
+     */
+    public void run(String jobName, LongFunction<List<String>> messageBuilder) {
+        Set<Long> guildIds = guildChannelRegistry.configuredGuildIds();
+        Timer.Sample runSample = Timer.start(meterRegistry);
+
+        List<CompletableFuture<Void>> jobs = guildIds.stream()
+            .map(guildId -> CompletableFuture.supplyAsync(
+                    () -> runForGuild(jobName, guildId, messageBuilder), summaryExecutor)
+                .thenCompose(sent -> sent))
+            .toList();
+        CompletableFuture.allOf(jobs.toArray(CompletableFuture[]::new)).join();
+
+        long elapsedNanos = runSample.stop(Timer.builder("studybot.summary.run")
+            .description("모든 서버의 통계 전송에 걸린 시간")
+            .tag("job", jobName)
+            .register(meterRegistry));
+        log.info("[SummaryJobRunner] {} 통계 완료. 서버={}개, {}ms", jobName, guildIds.size(), elapsedNanos / 1_000_000);
+    }
+
+    /**
+     * @return 마지막 메시지까지 전송되면(또는 실패하면) 완료되는 future. 실패로 완료되지는 않는다
+     */
+    private CompletableFuture<Void> runForGuild(String jobName, long guildId,
+        LongFunction<List<String>> messageBuilder) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Guild guild = jda.getGuildById(guildId);
+        TextChannel textChannel = guild != null ? guildChannelRegistry.summaryChannel(guild) : null;
+        if (textChannel == null) {
+            log.warn("[SummaryJobRunner] 채널을 찾을 수 없습니다. job={}, guild={}", jobName, guildId);
+            stopJobTimer(sample, jobName, "no_channel");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<String> messages;
+        try {
+            messages = messageBuilder.apply(guildId);
+        } catch (RuntimeException e) {
+            log.error("[SummaryJobRunner] {} 통계 생성 실패. guild={}", jobName, guildId, e);
+            stopJobTimer(sample, jobName, "error");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<?> sent = CompletableFuture.completedFuture(null);
+        for (String message : messages) {
+            // 앞 메시지가 전송된 뒤에 전송 차례를 기다린다
+            // JDA 콜백 스레드에서 넘겨받으므로 호출한 스레드에서 실행하는 일이 없는 전송 전용 스레드에서 기다린다
+            sent = sent.thenComposeAsync(previous -> {
+                acquireSendPermit();
+                return textChannel.sendMessage(message).submit();
+            }, summarySendExecutor);
+        }
+
+        return sent.handle((success, error) -> {
+            if (error == null) {
+                log.info("[SummaryJobRunner] {} 통계 전송 완료. guild={}, 메시지 {}개", jobName, guildId, messages.size());
+                stopJobTimer(sample, jobName, "sent");
+            } else if (error.getCause() instanceof InterruptedException) {
+                stopJobTimer(sample, jobName, "interrupted");
+            } else {
+                log.warn("[SummaryJobRunner] {} 통계 전송 실패. guild={}: {}", jobName, guildId, error.getMessage());
+                stopJobTimer(sample, jobName, "send_failed");
+            }
+            return null;
+        });
+    }
+
+    private void acquireSendPermit() {
+        try {
+            summarySendRateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private void stopJobTimer(Timer.Sample sample, String jobName, String outcome) {
+        sample.stop(Timer.builder("studybot.summary.job")
+            .description("서버 하나의 통계 집계 + 전송 시간 (마지막 메시지 전송까지)")
+            .tag("job", jobName)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+}
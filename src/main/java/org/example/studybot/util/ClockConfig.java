@@ -0,0 +1,19 @@
+package org.example.studybot.util;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * 입장/퇴장 시각을 재는 시계 (시스템 기본 시간대)
+     * 빈으로 주입받으므로 부하 테스트 하네스(src/jmh 의 loadtest)처럼 스프링 밖에서는 시뮬레이션 시계로 바꿔 끼운다.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
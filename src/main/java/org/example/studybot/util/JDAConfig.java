@@ -1,24 +1,114 @@
 package org.example.studybot.util;
 
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RestConfig;
+import net.dv8tion.jda.api.requests.SequentialRestRateLimiter;
 
+import org.example.studybot.voicechannel.JdaCacheProperties;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 봇 전체에서 쓰는 유일한 JDA 인스턴스 (게이트웨이 연결 1개)
+ * 리스너는 스프링 빈으로 등록된 JDA EventListener 를 모두 붙이고, 컨텍스트 종료 시 함께 shutdown 한다.
+ * 리스너 쪽에서 JDA 빈을 주입받으면 순환 참조가 되므로, 리스너는 이벤트의 getJDA() 를 사용한다.
+ * 리스너는 이벤트 처리 시간을 재는 TimedEventListener 로 감싸서 붙이고, 게이트웨이 ping 과 REST 대기열도 게이지로 내보낸다.
+ * 모든 길드를 받아 준비가 끝난 시점(JVM 시작 기준)과 그때의 힙 사용량을 남겨서 설정별 시작 시간/메모리를 비교할 수 있게 한다.
+ */
+@Slf4j
 @Configuration
 public class JDAConfig {
 
     @Value("${discord.bot.token}")
     private String token;
 
-    @Bean
-    public JDA jda() {
+    @Bean(destroyMethod = "shutdown")
+    public JDA jda(List<EventListener> listeners, JdaCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        // 명령어는 슬래시 명령어(인터랙션)로만 받으므로 메시지 인텐트는 켜지 않는다
+        EnumSet<GatewayIntent> intents = EnumSet.of(GatewayIntent.GUILD_VOICE_STATES);
+        if (cacheProperties.requiresGuildMembersIntent()) {
+            intents.add(GatewayIntent.GUILD_MEMBERS);
+        }
+        if (cacheProperties.requiresGuildPresencesIntent()) {
+            intents.add(GatewayIntent.GUILD_PRESENCES);
+        }
+
+        // rate limit 에 걸려 아직 보내지 못한 REST 요청 수
+        AtomicInteger restQueued = new AtomicInteger();
+        RestConfig restConfig = new RestConfig()
+            .setRateLimiterFactory(config ->
+                new MeteredRestRateLimiter(new SequentialRestRateLimiter(config), restQueued));
+
+        JDA jda;
         try {
-            return JDABuilder.createDefault(token).build();
+            jda = JDABuilder.createDefault(token)
+                .setActivity(Activity.playing("/명령어 기다리는 중!"))
+                .setMaxReconnectDelay(32)
+                .enableIntents(intents) // 필요한 인텐트 모두 활성화
+                // 모든 채널의 메시지/타이핑/반응 이벤트를 받지 않도록 기본 인텐트에서 제외
+                .disableIntents(GatewayIntent.GUILD_MESSAGES, GatewayIntent.DIRECT_MESSAGES,
+                    GatewayIntent.GUILD_MESSAGE_TYPING, GatewayIntent.DIRECT_MESSAGE_TYPING,
+                    GatewayIntent.GUILD_MESSAGE_REACTIONS, GatewayIntent.DIRECT_MESSAGE_REACTIONS)
+                .setMemberCachePolicy(cacheProperties.toMemberCachePolicy())
+                .setChunkingFilter(cacheProperties.toChunkingFilter())
+                .disableCache(cacheProperties.toDisabledCacheFlags())
+                .setRestConfig(restConfig)
+                .addEventListeners(listeners.stream()
+                    .map(listener -> new TimedEventListener(listener, meterRegistry))
+                    .toArray())
+                .build();
         } catch (Exception e) {
             throw new RuntimeException("JDA 초기화 중 오류 발생", e);
         }
+
+        Gauge.builder("studybot.jda.gateway.ping", jda, JDA::getGatewayPing)
+            .description("게이트웨이 heartbeat 왕복 시간 (연결 전에는 -1)")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("studybot.jda.rest.queue", restQueued, AtomicInteger::get)
+            .description("rate limit 대기 중인 REST 요청 수")
+            .register(meterRegistry);
+
+        AtomicLong readyMillis = new AtomicLong(-1);
+        jda.addEventListener((EventListener) event -> {
+            if (event instanceof ReadyEvent ready) {
+                readyMillis.set(ManagementFactory.getRuntimeMXBean().getUptime());
+                Runtime runtime = Runtime.getRuntime();
+                log.info("[JDA] 준비 완료: JVM 시작 후 {}ms, 길드 {}개, 캐시된 멤버 {}명, 힙 사용 {}MB",
+                    readyMillis.get(), ready.getGuildTotalCount(), cachedMembers(ready.getJDA()),
+                    (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+            }
+        });
+        Gauge.builder("studybot.jda.ready.time", readyMillis, AtomicLong::get)
+            .description("JVM 시작부터 JDA ReadyEvent 까지 걸린 시간 (준비 전에는 -1)")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        // 멤버 캐시 정책(jda.cache.member-cache-policy)에 따라 달라지는 메모리의 대부분
+        Gauge.builder("studybot.jda.members.cached", jda, JDAConfig::cachedMembers)
+            .description("모든 길드에 캐시된 멤버 수")
+            .register(meterRegistry);
+        return jda;
+    }
+
+    private static long cachedMembers(JDA jda) {
+        return jda.getGuildCache().applyStream(guilds -> guilds
+            .mapToLong(guild -> guild.getMemberCache().size())
+            .sum());
     }
 }
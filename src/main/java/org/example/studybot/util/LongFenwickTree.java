@@ -0,0 +1,70 @@
+package org.example.studybot.util;
+
+import java.util.Arrays;
+
+/**
+ * long 값 Fenwick 트리 (Binary Indexed Tree, 스레드 안전하지 않음)
+ * 한 칸에 더하기와 구간 합을 둘 다 O(log n) 으로 한다. 인덱스는 0부터.
+ * 범위 밖 인덱스에 더하면 용량을 두 배씩 늘린다. (용량은 항상 2의 거듭제곱)
+ */
+public class LongFenwickTree {
+
+    // 1부터 쓰는 트리. tree[i] = (i - lowbit(i), i] 구간 합
+    private long[] tree;
+
+    public LongFenwickTree(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1;
+        tree = new long[capacity + 1];
+    }
+
+    public int capacity() {
+        return tree.length - 1;
+    }
+
+    public void add(int index, long delta) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("index 는 0 이상이어야 합니다: " + index);
+        }
+        while (index >= capacity()) {
+            grow();
+        }
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * [0, index] 합. index 가 음수면 0, 용량을 넘으면 전체 합
+     */
+    public long prefixSum(int index) {
+        long sum = 0L;
+        for (int i = Math.min(index + 1, capacity()); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * [from, to] 합 (양 끝 포함)
+     */
+    public long rangeSum(int from, int to) {
+        if (from > to) {
+            return 0L;
+        }
+        return prefixSum(to) - prefixSum(from - 1);
+    }
+
+    public long get(int index) {
+        return rangeSum(index, index);
+    }
+
+    /**
+     * 용량 n → 2n. (n, 2n) 노드는 새 칸(0)만 덮으므로 0이고, 2n 노드는 전체 합 = 기존 n 노드 값이다.
+     */
+    private void grow() {
+        int capacity = capacity();
+        long[] grown = Arrays.copyOf(tree, capacity * 2 + 1);
+        grown[capacity * 2] = tree[capacity];
+        tree = grown;
+    }
+}
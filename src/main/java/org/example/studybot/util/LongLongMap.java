@@ -0,0 +1,111 @@
+package org.example.studybot.util;
+
+import java.util.Arrays;
+
+/**
+ * long → long 오픈 어드레싱 해시맵 (박싱 없음, 스레드 안전하지 않음)
+ * 키 0 은 빈 칸 표시로 쓰므로 저장할 수 없다. (디스코드 snowflake ID 는 0 이 없음)
+ */
+public class LongLongMap {
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public LongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    public long get(long key) {
+        int slot = find(keys, key);
+        return keys[slot] == key ? values[slot] : 0L;
+    }
+
+    // 값이 0 인 키도 있다고 본다 (get 은 없는 키와 구분하지 못함)
+    public boolean containsKey(long key) {
+        return key != EMPTY && keys[find(keys, key)] == key;
+    }
+
+    /**
+     * key 의 값에 delta 를 더한다. 없으면 delta 로 새로 넣는다.
+     *
+     * @return 더한 후의 값
+     */
+    public long addTo(long key, long delta) {
+        checkKey(key);
+        int slot = find(keys, key);
+        if (keys[slot] == key) {
+            return values[slot] += delta;
+        }
+
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 4 > keys.length * 3) {
+            grow();
+        }
+        return delta;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0L);
+        size = 0;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // key 가 있는 칸, 없으면 key 가 들어갈 빈 칸 (선형 탐사)
+    private static int find(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("key 0 은 사용할 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.studybot.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 디스코드 메시지 길이 제한(2000자)에 맞춰 나누는 메시지 빌더
+ * append 로 쌓다가 endSection 을 부르면 그 구간(사용자 한 명 분량 등)을 한 덩어리로 붙인다.
+ * 현재 메시지에 다 들어가지 않으면 다음 메시지로 넘기므로, 한 사람의 기록이 두 메시지로 갈라지지 않는다.
+ * 구간 하나가 제한보다 길 때만 줄 단위로 (한 줄이 그래도 길면 글자 단위로) 자른다.
+ */
+public class MessageChunker {
+
+    // net.dv8tion.jda.api.entities.Message.MAX_CONTENT_LENGTH
+    public static final int DISCORD_LIMIT = 2000;
+
+    private final int limit;
+    private final List<String> chunks = new ArrayList<>();
+    private final StringBuilder current = new StringBuilder();
+    private final StringBuilder section = new StringBuilder();
+
+    public MessageChunker() {
+        this(DISCORD_LIMIT);
+    }
+
+    public MessageChunker(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit 은 0 보다 커야 합니다.");
+        }
+        this.limit = limit;
+    }
+
+    public MessageChunker append(String text) {
+        section.append(text);
+        return this;
+    }
+
+    public MessageChunker append(long value) {
+        section.append(value);
+        return this;
+    }
+
+    // 공부 시간, 날짜는 ReportWriter 와 같은 형식으로 (중간 문자열 없이)
+    public MessageChunker duration(long totalSeconds) {
+        ReportWriter.appendDuration(section, totalSeconds);
+        return this;
+    }
+
+    public MessageChunker date(LocalDate date) {
+        ReportWriter.appendDate(section, date);
+        return this;
+    }
+
+    public MessageChunker dateRange(LocalDate start, LocalDate end) {
+        ReportWriter.appendDateRange(section, start, end);
+        return this;
+    }
+
+    // 지금까지 append 한 내용을 나누지 않는 한 덩어리로 확정
+    public MessageChunker endSection() {
+        if (section.length() == 0) {
+            return this;
+        }
+
+        if (current.length() + section.length() > limit) {
+            flushCurrent();
+        }
+        if (section.length() <= limit) {
+            current.append(section);
+        } else {
+            splitOversized(section);
+        }
+        section.setLength(0);
+        return this;
+    }
+
+    // 보낼 순서대로 된 메시지 목록 (각각 limit 이하, 비어 있지 않음)
+    public List<String> build() {
+        endSection();
+        flushCurrent();
+        return List.copyOf(chunks);
+    }
+
+    private void splitOversized(CharSequence text) {
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(start + limit - current.length(), text.length());
+            if (end < text.length()) {
+                // 자를 위치 앞의 마지막 줄바꿈까지 (없으면 그대로 자름)
+                int newline = lastNewline(text, start, end);
+                if (newline > start) {
+                    end = newline + 1;
+                } else if (current.length() > 0) {
+                    flushCurrent();
+                    continue;
+                }
+            }
+            current.append(text, start, end);
+            start = end;
+            if (start < text.length()) {
+                flushCurrent();
+            }
+        }
+    }
+
+    private static int lastNewline(CharSequence text, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void flushCurrent() {
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
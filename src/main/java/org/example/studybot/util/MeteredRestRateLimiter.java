@@ -0,0 +1,108 @@
+package org.example.studybot.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.RestRateLimiter;
+import net.dv8tion.jda.api.requests.Route;
+
+/**
+ * JDA 기본 REST rate limiter 에 대기 중인 요청 수를 세는 것만 덧붙인다.
+ * 요청은 큐에 들어올 때 +1, 처음 보내질 때(또는 취소/건너뜀) -1. 429 로 다시 보내는 경우는 다시 세지 않는다.
+ * 입퇴장 로그, 통계 전송이 rate limit 에 밀려 쌓이는지 보는 용도 (studybot.jda.rest.queue)
+ */
+final class MeteredRestRateLimiter implements RestRateLimiter {
+
+    private final RestRateLimiter delegate;
+    private final AtomicInteger queued;
+
+    MeteredRestRateLimiter(RestRateLimiter delegate, AtomicInteger queued) {
+        this.delegate = delegate;
+        this.queued = queued;
+    }
+
+    @Override
+    public void enqueue(Work task) {
+        queued.incrementAndGet();
+        delegate.enqueue(new CountedWork(task));
+    }
+
+    @Override
+    public void stop(boolean shutdown, Runnable callback) {
+        delegate.stop(shutdown, callback);
+    }
+
+    @Override
+    public boolean isStopped() {
+        return delegate.isStopped();
+    }
+
+    @Override
+    public int cancelRequests() {
+        return delegate.cancelRequests();
+    }
+
+    private final class CountedWork implements Work {
+
+        private final Work work;
+        private final AtomicBoolean dequeued = new AtomicBoolean();
+
+        private CountedWork(Work work) {
+            this.work = work;
+        }
+
+        // 한 요청당 한 번만 뺀다
+        private void dequeue() {
+            if (dequeued.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Route.CompiledRoute getRoute() {
+            return work.getRoute();
+        }
+
+        @Override
+        public JDA getJDA() {
+            return work.getJDA();
+        }
+
+        @Override
+        public okhttp3.Response execute() {
+            dequeue();
+            return work.execute();
+        }
+
+        @Override
+        public boolean isSkipped() {
+            boolean skipped = work.isSkipped();
+            if (skipped) {
+                dequeue();
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean isDone() {
+            return work.isDone();
+        }
+
+        @Override
+        public boolean isPriority() {
+            return work.isPriority();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return work.isCancelled();
+        }
+
+        @Override
+        public void cancel() {
+            dequeue();
+            work.cancel();
+        }
+    }
+}
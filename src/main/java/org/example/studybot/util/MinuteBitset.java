@@ -0,0 +1,177 @@
+package org.example.studybot.util;
+
+import java.util.Arrays;
+
+/**
+ * 하루 1440분 출석 비트셋 (분 단위, long 23개, 스레드 안전하지 않음)
+ * 구간 켜기와 구간 개수 세기를 모두 word 단위 OR / popcount 로 한다.
+ * 저장할 때는 (시작 분, 길이) 를 2바이트씩 쓰는 run-length 로 바꾼다. 하루 세션 몇 개면 수~수십 바이트.
+ */
+public final class MinuteBitset {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final int WORDS = (MINUTES_PER_DAY + 63) / 64;
+    private static final int BYTES_PER_RUN = 4;
+
+    private final long[] words = new long[WORDS];
+
+    /**
+     * [fromMinute, toMinute) 를 켠다. 하루 범위 밖은 잘라낸다.
+     */
+    public MinuteBitset set(int fromMinute, int toMinute) {
+        int from = Math.max(0, fromMinute);
+        int to = Math.min(MINUTES_PER_DAY, toMinute);
+        if (from >= to) {
+            return this;
+        }
+
+        int fromWord = from >>> 6;
+        int toWord = (to - 1) >>> 6;
+        for (int w = fromWord; w <= toWord; w++) {
+            words[w] |= mask(w, fromWord, toWord, from, to);
+        }
+        return this;
+    }
+
+    public MinuteBitset or(MinuteBitset other) {
+        for (int w = 0; w < WORDS; w++) {
+            words[w] |= other.words[w];
+        }
+        return this;
+    }
+
+    /**
+     * [fromMinute, toMinute) 중 켜진 분 수
+     */
+    public int count(int fromMinute, int toMinute) {
+        int from = Math.max(0, fromMinute);
+        int to = Math.min(MINUTES_PER_DAY, toMinute);
+        if (from >= to) {
+            return 0;
+        }
+
+        int fromWord = from >>> 6;
+        int toWord = (to - 1) >>> 6;
+        int count = 0;
+        for (int w = fromWord; w <= toWord; w++) {
+            count += Long.bitCount(words[w] & mask(w, fromWord, toWord, from, to));
+        }
+        return count;
+    }
+
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public MinuteBitset clear() {
+        Arrays.fill(words, 0L);
+        return this;
+    }
+
+    // ===================== run-length =====================
+
+    public byte[] toRuns() {
+        int runs = 0;
+        for (int start = nextSetBit(0); start >= 0; start = nextSetBit(nextClearBit(start))) {
+            runs++;
+        }
+
+        byte[] encoded = new byte[runs * BYTES_PER_RUN];
+        int offset = 0;
+        for (int start = nextSetBit(0); start >= 0; ) {
+            int end = nextClearBit(start);
+            writeShort(encoded, offset, start);
+            writeShort(encoded, offset + 2, end - start);
+            offset += BYTES_PER_RUN;
+            start = nextSetBit(end);
+        }
+        return encoded;
+    }
+
+    public static MinuteBitset fromRuns(byte[] runs) {
+        return new MinuteBitset().orRuns(runs);
+    }
+
+    /**
+     * 저장된 run-length 를 이 비트셋에 OR 한다 (집계할 때 비트셋 하나를 재사용하기 위해)
+     */
+    public MinuteBitset orRuns(byte[] runs) {
+        for (int offset = 0; offset + BYTES_PER_RUN <= runs.length; offset += BYTES_PER_RUN) {
+            int start = readShort(runs, offset);
+            set(start, start + readShort(runs, offset + 2));
+        }
+        return this;
+    }
+
+    // ===================== 내부 =====================
+
+    // w 번째 word 에서 [from, to) 에 해당하는 비트
+    private static long mask(int w, int fromWord, int toWord, int from, int to) {
+        long mask = -1L;
+        if (w == fromWord) {
+            mask &= -1L << (from & 63);
+        }
+        if (w == toWord) {
+            mask &= -1L >>> (63 - ((to - 1) & 63));
+        }
+        return mask;
+    }
+
+    private int nextSetBit(int from) {
+        if (from >= MINUTES_PER_DAY) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0L) {
+                int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                return bit < MINUTES_PER_DAY ? bit : -1;
+            }
+            if (++w == WORDS) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    private int nextClearBit(int from) {
+        if (from >= MINUTES_PER_DAY) {
+            return MINUTES_PER_DAY;
+        }
+        int w = from >>> 6;
+        long word = ~words[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0L) {
+                return Math.min(MINUTES_PER_DAY, (w << 6) + Long.numberOfTrailingZeros(word));
+            }
+            if (++w == WORDS) {
+                return MINUTES_PER_DAY;
+            }
+            word = ~words[w];
+        }
+    }
+
+    private static void writeShort(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 8);
+        target[offset + 1] = (byte) value;
+    }
+
+    private static int readShort(byte[] source, int offset) {
+        return ((source[offset] & 0xFF) << 8) | (source[offset + 1] & 0xFF);
+    }
+}
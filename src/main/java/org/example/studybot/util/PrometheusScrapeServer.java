@@ -0,0 +1,89 @@
+package org.example.studybot.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prometheus 스크레이프 엔드포인트 (GET {path}, 기본 http://127.0.0.1:9464/metrics)
+ * 봇은 웹 애플리케이션이 아니라서 웹 서버(톰캣)를 띄우지 않고 JDK 내장 HttpServer 로 이 경로 하나만 연다.
+ * 기본은 로컬에서만 접근할 수 있도록 루프백에 바인딩한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "metrics.prometheus", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PrometheusScrapeServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final PrometheusMeterRegistry registry;
+    private final String host;
+    private final int port;
+    private final String path;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PrometheusScrapeServer(PrometheusMeterRegistry registry,
+        @Value("${metrics.prometheus.host:127.0.0.1}") String host,
+        @Value("${metrics.prometheus.port:9464}") int port,
+        @Value("${metrics.prometheus.path:/metrics}") String path) {
+        this.registry = registry;
+        this.host = host;
+        this.port = port;
+        this.path = path;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        // 스크레이프는 15~60초에 한 번이라 스레드 하나면 충분
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-scrape");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext(path, this::scrape);
+        server.setExecutor(executor);
+        server.start();
+        log.info("[PrometheusScrapeServer] http://{}:{}{} 에서 메트릭 제공", host, port, path);
+    }
+
+    @PreDestroy
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void scrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
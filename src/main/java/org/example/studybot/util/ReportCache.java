@@ -0,0 +1,137 @@
+package org.example.studybot.util;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 기록 명령어 집계 캐시 (크기 제한 LRU)
+ * 같은 서버에서 여러 명이 몇 초 사이에 같은 드롭다운을 누르거나 페이지를 넘겨도 DB 조회 + 집계는 한 번만 한다.
+ * 값은 집계(StudyAggregate) 등 불변 객체여야 한다. 같은 Key 에는 항상 같은 타입을 넣는다.
+ * 기간 [start, end) 와 겹치는 세션이 DB 에 저장되면 그 기간의 결과만 지운다. (시간으로 만료하지 않음)
+ */
+@Component
+public class ReportCache {
+
+    /**
+     * @param type     리포트 종류 (일간, 주간, 월간, 특정 날짜 ...)
+     * @param userId 개인 조회면 사용자 ID, 전체 조회면 null
+     */
+    public record Key(long guildId, String type, LocalDateTime start, LocalDateTime end, Long userId) {
+
+        boolean overlaps(long guildId, LocalDateTime from, LocalDateTime to) {
+            return this.guildId == guildId && !start.isAfter(to) && from.isBefore(end);
+        }
+    }
+
+    private final int maxEntries;
+    private final Object lock = new Object();
+    // accessOrder = true → 가장 오래 안 쓴 항목이 맨 앞
+    private final LinkedHashMap<Key, Object> entries;
+    // 무효화할 때마다 증가. 계산하는 동안 무효화가 있었으면 그 결과는 넣지 않는다
+    private long generation;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictedCounter;
+    private final Counter invalidatedCounter;
+
+    public ReportCache(MeterRegistry meterRegistry,
+        @Value("${report.cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > ReportCache.this.maxEntries) {
+                    evictedCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hitCounter = meterRegistry.counter("studybot.report.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("studybot.report.cache", "result", "miss");
+        this.evictedCounter = meterRegistry.counter("studybot.report.cache.evicted");
+        this.invalidatedCounter = meterRegistry.counter("studybot.report.cache.invalidated");
+        Gauge.builder("studybot.report.cache.size", this, ReportCache::size)
+            .description("캐시된 기록 명령어 집계 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 있으면 바로 돌려주고, 없으면 loader 로 만들어서 넣는다. (loader 는 잠금 밖에서 실행)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        long loadGeneration;
+        synchronized (lock) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hitCounter.increment();
+                return (T) cached;
+            }
+            loadGeneration = generation;
+        }
+        missCounter.increment();
+
+        T report = loader.get();
+        synchronized (lock) {
+            if (generation == loadGeneration) {
+                entries.put(key, report);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * 이 서버에서 [from, to] 와 겹치는 기간의 결과를 지운다. 세션이 DB 에 저장된 뒤 호출
+     */
+    public void invalidate(long guildId, LocalDateTime from, LocalDateTime to) {
+        int removed = 0;
+        synchronized (lock) {
+            generation++;
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().overlaps(guildId, from, to)) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidatedCounter.increment(removed);
+    }
+
+    /**
+     * 이 서버의 결과를 모두 지운다. 예전 기록이 서버로 옮겨져 기간과 상관없이 결과가 바뀐 경우
+     */
+    public void invalidateGuild(long guildId) {
+        int removed = 0;
+        synchronized (lock) {
+            generation++;
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().guildId() == guildId) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidatedCounter.increment(removed);
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+}
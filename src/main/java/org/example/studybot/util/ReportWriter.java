@@ -0,0 +1,147 @@
+package org.example.studybot.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * 기록 리포트 문자열 작성기 (기록 조회, 자동 요약, 오늘 순위, 퇴장 메시지가 같이 쓴다)
+ * 공부 시간("X시간 Y분 Z초"), 날짜(MM/dd), 요일/시 라벨을 String.format 이나 중간 문자열 없이 버퍼에 바로 붙인다.
+ * 버퍼는 스레드마다 디스코드 메시지 크기로 미리 잡아 두고 재사용하므로, 리포트 하나에 새로 생기는 건 결과 문자열뿐이다.
+ *
+ * <pre>
+ * try (ReportWriter out = ReportWriter.open()) {
+ *     out.append("합계: ").duration(seconds);
+ *     return out.toString();
+ * }
+ * </pre>
+ *
+ * MessageChunker 처럼 자기 버퍼가 있는 곳은 static append* 메서드로 같은 형식을 쓴다.
+ */
+public final class ReportWriter implements AutoCloseable {
+
+    // 디스코드 메시지 하나(2000자)가 다시 늘리지 않고 들어가는 크기
+    private static final int INITIAL_CAPACITY = MessageChunker.DISCORD_LIMIT + 48;
+    // 페이지 없이 전부 쓰는 큰 리포트 뒤에는 스레드에 큰 버퍼가 남지 않도록 다시 줄인다
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<ReportWriter> POOL = ThreadLocal.withInitial(ReportWriter::new);
+
+    // DayOfWeek.getValue() - 1 순서 (월~일)
+    private static final String[] DAY_LABELS = {"월", "화", "수", "목", "금", "토", "일"};
+
+    private StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+    private boolean inUse;
+
+    private ReportWriter() {
+    }
+
+    /**
+     * 이 스레드의 버퍼를 빌린다. 다 쓰면 close (try-with-resources)
+     * 이미 빌린 채로 또 부르면 (리포트 안에서 다른 리포트를 만드는 경우) 공유하지 않는 새 버퍼를 준다.
+     */
+    public static ReportWriter open() {
+        ReportWriter writer = POOL.get();
+        if (writer.inUse) {
+            return new ReportWriter();
+        }
+        writer.inUse = true;
+        return writer;
+    }
+
+    @Override
+    public void close() {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            buffer.setLength(0);
+        }
+        inUse = false;
+    }
+
+    public ReportWriter append(String text) {
+        buffer.append(text);
+        return this;
+    }
+
+    public ReportWriter append(char c) {
+        buffer.append(c);
+        return this;
+    }
+
+    public ReportWriter append(long value) {
+        buffer.append(value);
+        return this;
+    }
+
+    // 초 → "X시간 Y분 Z초" / "Y분 Z초" / "Z초"
+    public ReportWriter duration(long totalSeconds) {
+        appendDuration(buffer, totalSeconds);
+        return this;
+    }
+
+    // MM/dd
+    public ReportWriter date(LocalDate date) {
+        appendDate(buffer, date);
+        return this;
+    }
+
+    // "기준: MM/dd ~ MM/dd"
+    public ReportWriter dateRange(LocalDate start, LocalDate end) {
+        appendDateRange(buffer, start, end);
+        return this;
+    }
+
+    // 00시 ~ 23시
+    public ReportWriter hour(int hour) {
+        appendTwoDigits(buffer, hour).append('시');
+        return this;
+    }
+
+    public int length() {
+        return buffer.length();
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    // ===================== 다른 버퍼에 붙이기 =====================
+
+    public static StringBuilder appendDuration(StringBuilder sb, long totalSeconds) {
+        long hours = totalSeconds / 3600;
+        long minutes = (totalSeconds % 3600) / 60;
+        long seconds = totalSeconds % 60;
+
+        if (hours > 0) {
+            sb.append(hours).append("시간 ");
+        }
+        if (hours > 0 || minutes > 0) {
+            sb.append(minutes).append("분 ");
+        }
+        return sb.append(seconds).append('초');
+    }
+
+    public static StringBuilder appendDate(StringBuilder sb, LocalDate date) {
+        appendTwoDigits(sb, date.getMonthValue()).append('/');
+        return appendTwoDigits(sb, date.getDayOfMonth());
+    }
+
+    public static StringBuilder appendDateRange(StringBuilder sb, LocalDate start, LocalDate end) {
+        sb.append("기준: ");
+        appendDate(sb, start).append(" ~ ");
+        return appendDate(sb, end);
+    }
+
+    // 월 ~ 일 (상수 문자열이라 할당 없음)
+    public static String dayLabel(DayOfWeek dow) {
+        return DAY_LABELS[dow.getValue() - 1];
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+}
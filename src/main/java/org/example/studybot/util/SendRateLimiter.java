@@ -0,0 +1,38 @@
+package org.example.studybot.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 디스코드 전송 속도 제한 (일정 간격으로 한 건씩 허용하는 단순 토큰 버킷, 버스트 없음)
+ * JDA 가 429 응답은 알아서 재시도하지만, 한 번에 수백 건을 밀어 넣으면 전역 제한(초당 50건)에 걸려
+ * 다른 요청까지 밀리므로 미리 간격을 벌려서 보낸다.
+ */
+public class SendRateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos;
+
+    public SendRateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 는 0 보다 커야 합니다.");
+        }
+        this.intervalNanos = (long)(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * 다음 전송 차례가 올 때까지 기다린다.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.studybot.util;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 사용자 × 구간(요일 / 주차 / 시간대 / 날짜) 공부 시간 집계 (일간/주간/월간 리포트 공용)
+ * 행을 한 번만 훑으면서 seconds[user * bucketCount + bucket] 배열에 바로 더한다. (박싱, 중첩 Map 없음)
+ * 사용자는 userId 로 묶는다. 이름은 출력할 때 UserNameIndex 에서 찾으므로 별명을 바꿔도 한 사람으로 남는다.
+ * 만든 뒤에는 읽기 전용이다. (스레드 안전하지 않음, 리포트 하나를 만드는 동안만 씀)
+ */
+public final class StudyAggregate {
+
+    /**
+     * 구간 나누는 방식. index 는 0부터 시작
+     */
+    public enum Bucket {
+        // 구간 없이 사용자별 합계만
+        TOTAL(1),
+        // 월(0) ~ 일(6)
+        DAY_OF_WEEK(7),
+        // 월요일 기준 1주차(0) ~ 6주차(5)
+        WEEK_OF_MONTH(6),
+        // 0시(0) ~ 23시(23)
+        HOUR_OF_DAY(24),
+        // 1일(0) ~ 31일(30)
+        DAY_OF_MONTH(31);
+
+        private final int count;
+
+        Bucket(int count) {
+            this.count = count;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public static int of(DayOfWeek dayOfWeek) {
+            return dayOfWeek.getValue() - DayOfWeek.MONDAY.getValue();
+        }
+    }
+
+    // 순위 정렬 때 합계와 사용자 번호를 long 하나에 담는다 (하위 21비트 = 사용자 번호)
+    private static final int USER_BITS = 21;
+    private static final int MAX_USERS = 1 << USER_BITS;
+
+    private final Bucket bucket;
+    private final long[] userIds;
+    private final long[] seconds;
+    private final long[] totals;
+    private final int userCount;
+
+    private StudyAggregate(Bucket bucket, long[] userIds, long[] seconds, long[] totals, int userCount) {
+        this.bucket = bucket;
+        this.userIds = userIds;
+        this.seconds = seconds;
+        this.totals = totals;
+        this.userCount = userCount;
+    }
+
+    /**
+     * DB 에서 받은 합계 행들을 한 번에 집계한다.
+     *
+     * @param userId      행 → 사용자 ID
+     * @param bucketIndex 행 → 구간 index (범위를 벗어난 행은 버린다)
+     * @param seconds     행 → 초 (null 은 0 으로)
+     */
+    public static <T> StudyAggregate of(List<T> rows, Bucket bucket, ToLongFunction<T> userId,
+        ToIntFunction<T> bucketIndex, ToLongFunction<T> seconds) {
+        Builder builder = new Builder(bucket, rows.size());
+        for (T row : rows) {
+            builder.add(userId.applyAsLong(row), bucketIndex.applyAsInt(row), seconds.applyAsLong(row));
+        }
+        return builder.build();
+    }
+
+    // projection 의 SUM 결과가 null 일 때
+    public static long orZero(Long seconds) {
+        return seconds != null ? seconds : 0L;
+    }
+
+    public static Builder builder(Bucket bucket, int expectedUsers) {
+        return new Builder(bucket, expectedUsers);
+    }
+
+    public static final class Builder {
+        private final Bucket bucket;
+        private final int bucketCount;
+        // userId → 번호 + 1 (0 은 없음)
+        private final LongLongMap userIndex;
+        private long[] userIds;
+        private long[] seconds;
+        private long[] totals;
+        private int userCount;
+
+        private Builder(Bucket bucket, int expectedUsers) {
+            int capacity = Math.max(4, Math.min(expectedUsers, 1024));
+            this.bucket = bucket;
+            this.bucketCount = bucket.count();
+            this.userIndex = new LongLongMap(capacity);
+            this.userIds = new long[capacity];
+            this.seconds = new long[capacity * bucketCount];
+            this.totals = new long[capacity];
+        }
+
+        public Builder add(long userId, int bucketIndex, long sec) {
+            if (bucketIndex < 0 || bucketIndex >= bucketCount) {
+                return this;
+            }
+            int u = indexOf(userId);
+            seconds[u * bucketCount + bucketIndex] += sec;
+            totals[u] += sec;
+            return this;
+        }
+
+        public StudyAggregate build() {
+            return new StudyAggregate(bucket, userIds, seconds, totals, userCount);
+        }
+
+        private int indexOf(long userId) {
+            long existing = userIndex.get(userId);
+            if (existing != 0L) {
+                return (int) existing - 1;
+            }
+            if (userCount == MAX_USERS) {
+                throw new IllegalStateException("집계할 수 있는 사용자 수를 넘었습니다: " + MAX_USERS);
+            }
+            if (userCount == userIds.length) {
+                int capacity = userIds.length * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                seconds = Arrays.copyOf(seconds, capacity * bucketCount);
+                totals = Arrays.copyOf(totals, capacity);
+            }
+            int u = userCount++;
+            userIds[u] = userId;
+            userIndex.addTo(userId, u + 1L);
+            return u;
+        }
+    }
+
+    // ===================== 조회 =====================
+
+    public Bucket bucket() {
+        return bucket;
+    }
+
+    public boolean isEmpty() {
+        return userCount == 0;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    public long userId(int user) {
+        return userIds[user];
+    }
+
+    public long seconds(int user, int bucketIndex) {
+        return seconds[user * bucket.count() + bucketIndex];
+    }
+
+    public long total(int user) {
+        return totals[user];
+    }
+
+    /**
+     * 집계 내용(userId, 구간별 초)이 같으면 같은 값. 차트 캐시에서 데이터 버전으로 쓴다
+     */
+    public long fingerprint() {
+        long hash = bucket.ordinal();
+        for (int u = 0; u < userCount; u++) {
+            hash = mix(hash, userIds[u]);
+            int base = u * bucket.count();
+            for (int b = 0; b < bucket.count(); b++) {
+                hash = mix(hash, seconds[base + b]);
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x9E3779B97F4A7C15L + (hash >>> 29);
+    }
+
+    /**
+     * 합계 내림차순 사용자 번호. 합계가 같으면 먼저 나온 사용자가 앞
+     */
+    public int[] usersByTotalDescending() {
+        long[] keys = new long[userCount];
+        for (int u = 0; u < userCount; u++) {
+            // 오름차순 정렬 후 뒤에서부터 읽으므로 번호는 뒤집어서 담는다
+            keys[u] = (totals[u] << USER_BITS) | (MAX_USERS - 1 - u);
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            order[i] = MAX_USERS - 1 - (int) (keys[userCount - 1 - i] & (MAX_USERS - 1));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.studybot.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+/**
+ * JDA 리스너 이벤트 처리 시간 (리스너 × 이벤트 종류별 Timer: studybot.jda.event)
+ * JDA 는 이벤트 스레드에서 리스너를 차례로 부르므로, 여기서 재는 시간만큼 다음 이벤트가 기다린다.
+ * 명령어처럼 executor 로 넘기는 작업은 넘기기까지만 잰다. (실행 시간은 studybot.command.latency)
+ */
+final class TimedEventListener implements EventListener {
+
+    private final EventListener delegate;
+    private final String listenerName;
+    private final MeterRegistry meterRegistry;
+    // 이벤트 클래스 → Timer (이벤트마다 빌더를 만들지 않도록)
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+    TimedEventListener(EventListener delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.listenerName = delegate.getClass().getSimpleName();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvent(GenericEvent event) {
+        long start = System.nanoTime();
+        try {
+            delegate.onEvent(event);
+        } finally {
+            timerOf(event.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timerOf(Class<?> eventType) {
+        Timer timer = timers.get(eventType);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(eventType, type -> Timer.builder("studybot.jda.event")
+                .description("JDA 이벤트 처리 시간 (이벤트 스레드)")
+                .tag("listener", listenerName)
+                .tag("event", type.getSimpleName())
+                .register(meterRegistry));
+        }
+        return timer;
+    }
+}
@@ -1,21 +1,18 @@
 package org.example.studybot.util.summary;
 
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
-
-import org.example.studybot.util.TextChannelProperties;
-import org.example.studybot.voicechannel.VoiceChannelLog;
+import org.example.studybot.util.MessageChunker;
+import org.example.studybot.util.ReportWriter;
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.UserTotalView;
 import org.example.studybot.voicechannel.VoiceChannelLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
 @Service
 public class DailySummaryService {
@@ -23,145 +20,72 @@ public class DailySummaryService {
     @Autowired
     private VoiceChannelLogRepository repository;
 
+    // 합계는 userId 로 묶고, 이름은 메시지를 만들 때 찾는다
     @Autowired
-    private JDA jda;
-
-    @Autowired
-    private TextChannelProperties textChannelProperties;
-
-    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
+    private UserNameIndex userNameIndex;
 
     /**
-     * LogScheduler 에서 매일 0시 1분에 호출
-     * 어제 하루(00:00 ~ 23:59:59) 기록을 집계해서
-     * RecordManager 의 "전체 일간 기록" 과 같은 형식의 문자열로 전송
+     * LogScheduler(SummaryJobRunner) 에서 매일 0시 1분에 서버마다 병렬로 호출
+     * 이 서버의 어제 하루([00:00, 오늘 00:00)) 기록을 집계해서
+     * RecordManager 의 "전체 일간 기록" 과 같은 형식으로 만든다 (전송은 SummaryJobRunner 가 함)
+     * 사람이 많으면 2000자 제한에 맞춰 사용자 단위로 나눈 여러 메시지가 된다.
      */
-    public void generateAndSendDailySummary() {
-        LocalDate yesterday = LocalDate.now().minusDays(1);
-
+    public List<String> buildDailySummary(long guildId, LocalDate today) {
+        LocalDate yesterday = today.minusDays(1);
         LocalDateTime startOfDay = yesterday.atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
-
-        // 1) 요약 채널 이름이 설정돼 있으면 그걸 우선 사용, 없으면 기존 target 사용
-        String channelName = Optional.ofNullable(textChannelProperties.getSummaryChannelName())
-            .filter(s -> !s.isBlank())
-            .orElse(textChannelProperties.getTargetChannelName());
-
-        // 2) 선택된 이름/ID로 텍스트 채널 찾기
-        TextChannel textChannel = findTextChannel(channelName);
-        if (textChannel == null) {
-            System.err.println("[DailySummaryService] 채널을 찾을 수 없습니다. name=" + channelName);
-            return;
-        }
+        LocalDateTime endOfDay = today.atStartOfDay();
 
-        // 어제의 로그 가져오기
-        List<VoiceChannelLog> logs = repository.findAllLogsBetween(startOfDay, endOfDay);
+        // 어제의 이 서버 사용자별 합계 가져오기 (집계는 DB 에서)
+        List<UserTotalView> userTotals = repository.sumByUserBetween(guildId, startOfDay, endOfDay, null);
 
         // 메시지 포맷: RecordManager 의 전체 일간 기록과 동일한 스타일
-        String message = buildDailySummaryMessage(logs, yesterday);
-
-        textChannel.sendMessage(message)
-            .queue(
-                success -> System.out.println("[DailySummaryService] 어제 일간 요약 전송 완료"),
-                error -> System.err.println("[DailySummaryService] 어제 일간 요약 전송 실패: " + error.getMessage())
-            );
+        return buildDailySummaryMessage(guildId, userTotals, yesterday);
     }
 
     /**
      * 어제 날짜 기준 전체 일간 기록 메시지 생성
      * RecordManager.formatDailySummary(...) 의 "전체 조회" 스타일과 동일하게 맞춤
      */
-    private String buildDailySummaryMessage(List<VoiceChannelLog> logs, LocalDate targetDate) {
-        String periodLabel = targetDate.format(DATE_FMT); // 예: 12/08
-
-        if (logs == null || logs.isEmpty()) {
+    private List<String> buildDailySummaryMessage(long guildId, List<UserTotalView> userTotals, LocalDate targetDate) {
+        if (userTotals == null || userTotals.isEmpty()) {
             // RecordManager.getLogsForSpecificDate 와 유사한 스타일
-            return periodLabel + "에 기록이 없습니다.";
+            return List.of(noRecordMessage(targetDate));
         }
 
-        // userName → totalSeconds
-        Map<String, Long> userDurations = new HashMap<>();
-
-        for (VoiceChannelLog log : logs) {
-            String user = resolveUserName(log);
-            long duration = Optional.ofNullable(log.getDuration()).orElse(0L);
+        // userId → totalSeconds
+        StudyAggregate aggregate = StudyAggregate.of(userTotals, Bucket.TOTAL,
+            UserTotalView::getUserId, row -> 0, row -> StudyAggregate.orZero(row.getTotalSeconds()));
 
-            userDurations.merge(user, duration, Long::sum);
+        if (aggregate.isEmpty()) {
+            return List.of(noRecordMessage(targetDate));
         }
 
-        if (userDurations.isEmpty()) {
-            return periodLabel + "에 기록이 없습니다.";
-        }
-
-        StringBuilder sb = new StringBuilder();
+        MessageChunker message = new MessageChunker();
 
         // 헤더: 📊 **{MM/dd} 전체 공부 기록 요약**
-        sb.append(String.format("📊 **%s 전체 공부 기록 요약**\n\n", periodLabel));
+        message.append("📊 **").date(targetDate).append(" 전체 공부 기록 요약**\n\n");
+        message.endSection();
 
         // 총 공부 시간 기준 내림차순 정렬
-        userDurations.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .forEach(entry -> {
-                String user = entry.getKey();
-                long totalSeconds = entry.getValue();
-
-                sb.append("────────────────────────\n");
-                sb.append("**").append(user).append("**\n");
-                sb.append("총 공부 시간: ")
-                    .append(formatDuration(totalSeconds))
-                    .append("\n\n");
-            });
-
-        sb.append("────────────────────────");
-
-        return sb.toString();
-    }
-
-    /**
-     * 서버별명(nickName) 이 있으면 그걸 쓰고,
-     * 없거나 공백이면 userName 사용
-     * (RecordManager.resolveUserName 과 동일한 로직)
-     */
-    private String resolveUserName(VoiceChannelLog log) {
-        return Optional.ofNullable(log.getNickName())
-            .filter(s -> !s.isBlank())
-            .orElse(log.getUserName());
-    }
+        for (int user : aggregate.usersByTotalDescending()) {
+            message.append("────────────────────────\n");
+            message.append("**").append(userNameIndex.displayName(guildId, aggregate.userId(user))).append("**\n");
+            message.append("총 공부 시간: ")
+                .duration(aggregate.total(user))
+                .append("\n\n");
+            // 한 사람 분량은 한 메시지 안에
+            message.endSection();
+        }
 
-    /**
-     * 초 → "X시간 Y분 Z초" 포맷
-     * (RecordManager.prettyDuration, 기존 formatDuration 과 동일 스타일)
-     */
-    private String formatDuration(long seconds) {
-        long hours = seconds / 3600;
-        long minutes = (seconds % 3600) / 60;
-        long secs = seconds % 60;
+        message.append("────────────────────────");
 
-        if (hours > 0) {
-            return String.format("%d시간 %d분 %d초", hours, minutes, secs);
-        }
-        if (minutes > 0) {
-            return String.format("%d분 %d초", minutes, secs);
-        }
-        return String.format("%d초", secs);
+        return message.build();
     }
 
-    private TextChannel findTextChannel(String nameOrId) {
-        if (nameOrId == null || nameOrId.isBlank()) {
-            return null;
+    // 예: 12/08에 기록이 없습니다.
+    private String noRecordMessage(LocalDate targetDate) {
+        try (ReportWriter out = ReportWriter.open()) {
+            return out.date(targetDate).append("에 기록이 없습니다.").toString();
         }
-
-        // 1) 숫자로만 이루어진 경우에만 "ID" 로 시도
-        if (nameOrId.chars().allMatch(Character::isDigit)) {
-            TextChannel byId = jda.getTextChannelById(nameOrId);
-            if (byId != null) {
-                return byId;
-            }
-        }
-
-        // 2) 그 외에는 "이름" 으로 검색
-        return jda.getTextChannelsByName(nameOrId, true).stream()
-            .findFirst()
-            .orElse(null);
     }
 }
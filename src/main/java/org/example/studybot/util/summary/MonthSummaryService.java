@@ -1,78 +1,47 @@
 package org.example.studybot.util.summary;
 
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
-
-import org.example.studybot.util.TextChannelProperties;
-import org.example.studybot.voicechannel.VoiceChannelLog;
-import org.example.studybot.voicechannel.VoiceChannelLogRepository;
+import org.example.studybot.util.MessageChunker;
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.UserDailyTotalRepository;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.UserWeekTotalView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
-import java.time.temporal.WeekFields;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
 @Service
 public class MonthSummaryService {
 
+	// 원본 세션 대신 사용자별 일 합계(rollup)를 읽는다
 	@Autowired
-	private VoiceChannelLogRepository repository;
-
-	@Autowired
-	private JDA jda;
+	private UserDailyTotalRepository dailyTotalRepository;
 
+	// 합계는 userId 로 묶고, 이름은 메시지를 만들 때 찾는다
 	@Autowired
-	private TextChannelProperties textChannelProperties;
-
-	private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
-
-	// RecordManager와 동일: 월요일 기준 주차
-	private static final WeekFields WEEK_FIELDS = WeekFields.of(DayOfWeek.MONDAY, 1);
+	private UserNameIndex userNameIndex;
 
 	/**
-	 * LogScheduler 에서 매월 1일 00:01에 호출
-	 * "지난 달(1일~말일)" 기록을 집계해서 RecordManager의 "월간 전체 공부 기록 요약" 형식으로 전송
+	 * LogScheduler(SummaryJobRunner) 에서 매월 1일 00:03에 서버마다 병렬로 호출
+	 * 이 서버의 "지난 달(1일~말일)" 기록을 집계해서 RecordManager의 "월간 전체 공부 기록 요약" 형식으로 만든다
+	 * 사람이 많으면 2000자 제한에 맞춰 사용자 단위로 나눈 여러 메시지가 된다.
 	 */
-	public void generateAndSendMonthlySummary() {
-		LocalDate today = LocalDate.now();
-
+	public List<String> buildMonthlySummary(long guildId, LocalDate today) {
 		// 지난 달 기준 날짜(아무 날이나 잡고 first/last로 범위 확정)
 		LocalDate anyDayLastMonth = today.with(TemporalAdjusters.firstDayOfMonth()).minusDays(1);
 		LocalDate startDate = anyDayLastMonth.with(TemporalAdjusters.firstDayOfMonth());
 		LocalDate endDate = anyDayLastMonth.with(TemporalAdjusters.lastDayOfMonth());
 
-		LocalDateTime start = startDate.atStartOfDay();
-		LocalDateTime end = endDate.atTime(23, 59, 59);
-
-		// 1) 요약 채널 이름이 설정돼 있으면 그걸 우선 사용, 없으면 기존 target 사용
-		String channelName = Optional.ofNullable(textChannelProperties.getSummaryChannelName())
-			.filter(s -> !s.isBlank())
-			.orElse(textChannelProperties.getTargetChannelName());
-
-		// 2) 선택된 이름/ID로 텍스트 채널 찾기
-		TextChannel textChannel = findTextChannel(channelName);
-		if (textChannel == null) {
-			System.err.println("[MonthSummaryService] 채널을 찾을 수 없습니다. name=" + channelName);
-			return;
-		}
-
-		List<VoiceChannelLog> logs = repository.findAllLogsBetween(start, end);
+		// 이 서버의 사용자 × 주차 합계 (집계는 DB 에서)
+		int firstDayOffset = startDate.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+		List<UserWeekTotalView> weekTotals =
+			dailyTotalRepository.sumByUserAndWeekOfMonth(guildId, startDate, endDate, firstDayOffset, null);
 
-		String message = buildMonthlySummaryMessage(logs, startDate, endDate);
-
-		textChannel.sendMessage(message)
-			.queue(
-				success -> System.out.println("[MonthSummaryService] 지난 달 월간 요약 전송 완료"),
-				error -> System.err.println("[MonthSummaryService] 지난 달 월간 요약 전송 실패: " + error.getMessage())
-			);
+		return buildMonthlySummaryMessage(guildId, weekTotals, startDate, endDate);
 	}
 
 	/**
@@ -81,118 +50,55 @@ public class MonthSummaryService {
 	 * - 기준: MM/dd ~ MM/dd
 	 * - 유저별: n주차 bullet + 합계
 	 */
-	private String buildMonthlySummaryMessage(List<VoiceChannelLog> logs, LocalDate startDate, LocalDate endDate) {
+	private List<String> buildMonthlySummaryMessage(long guildId, List<UserWeekTotalView> weekTotals, LocalDate startDate,
+		LocalDate endDate) {
 		String periodLabel = "월간";
 
-		if (logs == null || logs.isEmpty()) {
-			return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
-		}
-
-		// user → (weekIndex → duration)
-		Map<String, Map<Integer, Long>> userWeekDurations = new HashMap<>();
-
-		for (VoiceChannelLog log : logs) {
-			String user = resolveUserName(log);
-
-			LocalDate date = log.getRecordedAt().toLocalDate();
-			int weekIndex = date.get(WEEK_FIELDS.weekOfMonth()); // 월요일 기준 주차
-
-			long duration = Optional.ofNullable(log.getDuration()).orElse(0L);
-
-			userWeekDurations
-				.computeIfAbsent(user, k -> new HashMap<>())
-				.merge(weekIndex, duration, Long::sum);
+		if (weekTotals == null || weekTotals.isEmpty()) {
+			return List.of("⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.");
 		}
 
-		if (userWeekDurations.isEmpty()) {
-			return "⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.";
-		}
+		// user × 주차 (월요일 기준 주차는 DB 에서 1부터 계산)
+		StudyAggregate aggregate = StudyAggregate.of(weekTotals, Bucket.WEEK_OF_MONTH,
+			UserWeekTotalView::getUserId,
+			row -> row.getWeekIndex().intValue() - 1,
+			row -> StudyAggregate.orZero(row.getTotalSeconds()));
 
-		// userTotals
-		Map<String, Long> userTotals = new HashMap<>();
-		for (Map.Entry<String, Map<Integer, Long>> entry : userWeekDurations.entrySet()) {
-			long sum = entry.getValue().values().stream()
-				.mapToLong(Long::longValue)
-				.sum();
-			userTotals.put(entry.getKey(), sum);
+		if (aggregate.isEmpty()) {
+			return List.of("⚠️ " + periodLabel + " 기간 동안 기록이 없습니다.");
 		}
 
-		String dateRange = String.format("기준: %s ~ %s",
-			startDate.format(DATE_FMT), endDate.format(DATE_FMT));
-
-		StringBuilder sb = new StringBuilder();
-		sb.append("📊 **월간 전체 공부 기록 요약**\n")
-			.append(dateRange)
+		MessageChunker message = new MessageChunker();
+		message.append("📊 **월간 전체 공부 기록 요약**\n")
+			.dateRange(startDate, endDate)
 			.append("\n\n");
-
-		userTotals.entrySet().stream()
-			.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-			.forEach(entry -> {
-				String user = entry.getKey();
-				long total = entry.getValue();
-				Map<Integer, Long> weeks = userWeekDurations.get(user);
-
-				sb.append("────────────────────────\n");
-				sb.append("**").append(user).append("**\n\n");
-
-				weeks.entrySet().stream()
-					.sorted(Map.Entry.comparingByKey())
-					.forEach(weekEntry -> {
-						int weekIndex = weekEntry.getKey();
-						long sec = weekEntry.getValue();
-
-						sb.append("• ")
-							.append(weekIndex)
-							.append("주차: ")
-							.append(prettyDuration(sec))
-							.append("\n");
-					});
-
-				sb.append("\n합계: ")
-					.append(prettyDuration(total))
-					.append("\n\n");
-			});
-
-		sb.append("────────────────────────");
-		return sb.toString();
-	}
-
-	private String resolveUserName(VoiceChannelLog log) {
-		return Optional.ofNullable(log.getNickName())
-			.filter(s -> !s.isBlank())
-			.orElse(log.getUserName());
-	}
-
-	private String prettyDuration(long totalSeconds) {
-		long hours = totalSeconds / 3600;
-		long minutes = (totalSeconds % 3600) / 60;
-		long seconds = totalSeconds % 60;
-
-		if (hours > 0) {
-			return String.format("%d시간 %d분 %d초", hours, minutes, seconds);
-		}
-		if (minutes > 0) {
-			return String.format("%d분 %d초", minutes, seconds);
-		}
-		return String.format("%d초", seconds);
-	}
-
-	private TextChannel findTextChannel(String nameOrId) {
-		if (nameOrId == null || nameOrId.isBlank()) {
-			return null;
-		}
-
-		// 숫자로만 이루어진 경우 ID로 시도
-		if (nameOrId.chars().allMatch(Character::isDigit)) {
-			TextChannel byId = jda.getTextChannelById(nameOrId);
-			if (byId != null) {
-				return byId;
+		message.endSection();
+
+		for (int user : aggregate.usersByTotalDescending()) {
+			message.append("────────────────────────\n");
+			message.append("**").append(userNameIndex.displayName(guildId, aggregate.userId(user))).append("**\n\n");
+
+			for (int week = 0; week < Bucket.WEEK_OF_MONTH.count(); week++) {
+				long sec = aggregate.seconds(user, week);
+				if (sec == 0L) {
+					continue;
+				}
+
+				message.append("• ")
+					.append(week + 1)
+					.append("주차: ")
+					.duration(sec)
+					.append("\n");
 			}
+
+			message.append("\n합계: ")
+				.duration(aggregate.total(user))
+				.append("\n\n");
+			// 한 사람 분량은 한 메시지 안에
+			message.endSection();
 		}
 
-		// 그 외에는 이름으로 검색
-		return jda.getTextChannelsByName(nameOrId, true).stream()
-			.findFirst()
-			.orElse(null);
+		message.append("────────────────────────");
+		return message.build();
 	}
 }
@@ -1,34 +1,29 @@
 package org.example.studybot.util.summary;
 
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
-
-import org.example.studybot.util.TextChannelProperties;
-import org.example.studybot.voicechannel.VoiceChannelLog;
-import org.example.studybot.voicechannel.VoiceChannelLogRepository;
+import org.example.studybot.util.MessageChunker;
+import org.example.studybot.util.ReportWriter;
+import org.example.studybot.util.StudyAggregate;
+import org.example.studybot.util.StudyAggregate.Bucket;
+import org.example.studybot.voicechannel.UserDailyTotalRepository;
+import org.example.studybot.voicechannel.UserDayTotalView;
+import org.example.studybot.voicechannel.UserNameIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
 @Service
 public class WeekSummaryService {
 
+	// 원본 세션 대신 사용자별 일 합계(rollup)를 읽는다
 	@Autowired
-	private VoiceChannelLogRepository repository;
-
-	@Autowired
-	private JDA jda;
+	private UserDailyTotalRepository dailyTotalRepository;
 
+	// 합계는 userId 로 묶고, 이름은 메시지를 만들 때 찾는다
 	@Autowired
-	private TextChannelProperties textChannelProperties;
+	private UserNameIndex userNameIndex;
 
 	// RecordManager와 동일한 요일 순서(월~일)
 	private static final DayOfWeek[] WEEK_ORDER = {
@@ -41,172 +36,77 @@ public class WeekSummaryService {
 		DayOfWeek.SUNDAY
 	};
 
-	private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd");
-
 	/**
-	 * LogScheduler 에서 매주 월요일 00:01에 호출
-	 * "지난 주(월~일)" 기록을 집계해서 RecordManager의 "주간 전체 공부 기록 요약"과 동일한 스타일로 전송
+	 * LogScheduler(SummaryJobRunner) 에서 매주 월요일 00:02에 서버마다 병렬로 호출
+	 * 이 서버의 "지난 주(월~일)" 기록을 집계해서 RecordManager의 "주간 전체 공부 기록 요약"과 동일한 스타일로 만든다
+	 * 사람이 많으면 2000자 제한에 맞춰 사용자 단위로 나눈 여러 메시지가 된다.
 	 */
-	public void generateAndSendWeeklySummary() {
+	public List<String> buildWeeklySummary(long guildId, LocalDate today) {
 		// 오늘 기준 "이번 주 월요일" -> 거기서 1주 빼서 "지난 주 월요일"
-		LocalDate today = LocalDate.now();
 		LocalDate thisWeekMonday = today.minusDays(today.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
 
 		LocalDate lastWeekMonday = thisWeekMonday.minusWeeks(1);
 		LocalDate lastWeekSunday = lastWeekMonday.plusDays(6);
 
-		LocalDateTime start = lastWeekMonday.atStartOfDay();
-		LocalDateTime end = lastWeekSunday.atTime(23, 59, 59);
-
-		// 1) 요약 채널 이름이 설정돼 있으면 그걸 우선 사용, 없으면 기존 target 사용 (DailySummaryService와 동일)
-		String channelName = Optional.ofNullable(textChannelProperties.getSummaryChannelName())
-			.filter(s -> !s.isBlank())
-			.orElse(textChannelProperties.getTargetChannelName());
-
-		// 2) 선택된 이름/ID로 텍스트 채널 찾기
-		TextChannel textChannel = findTextChannel(channelName);
-		if (textChannel == null) {
-			System.err.println("[WeekSummaryService] 채널을 찾을 수 없습니다. name=" + channelName);
-			return;
-		}
-
-		List<VoiceChannelLog> logs = repository.findAllLogsBetween(start, end);
-
-		String message = buildWeeklySummaryMessage(logs, start.toLocalDate(), end.toLocalDate());
+		// 이 서버의 사용자 × 날짜 합계 (집계는 DB 에서)
+		List<UserDayTotalView> dayTotals =
+			dailyTotalRepository.sumByUserAndDay(guildId, lastWeekMonday, lastWeekSunday, null);
 
-		textChannel.sendMessage(message)
-			.queue(
-				success -> System.out.println("[WeekSummaryService] 지난 주 주간 요약 전송 완료"),
-				error -> System.err.println("[WeekSummaryService] 지난 주 주간 요약 전송 실패: " + error.getMessage())
-			);
+		return buildWeeklySummaryMessage(guildId, dayTotals, lastWeekMonday, lastWeekSunday);
 	}
 
 	/**
 	 * RecordManager.formatWeeklySummary(...)의 "전체 조회" 스타일과 동일하게 메시지 생성
+	 * 벤치마크(src/jmh)에서 직접 부르므로 package-private
 	 */
-	private String buildWeeklySummaryMessage(List<VoiceChannelLog> logs, LocalDate startDate, LocalDate endDate) {
-		if (logs == null || logs.isEmpty()) {
+	List<String> buildWeeklySummaryMessage(long guildId, List<UserDayTotalView> dayTotals, LocalDate startDate,
+		LocalDate endDate) {
+		if (dayTotals == null || dayTotals.isEmpty()) {
 			// RecordManager와 동일한 안내 문구 스타일
-			return "⚠️ 주간 기간 동안 기록이 없습니다.";
+			return List.of("⚠️ 주간 기간 동안 기록이 없습니다.");
 		}
 
-		// user → (DayOfWeek → duration)
-		Map<String, Map<DayOfWeek, Long>> userDayDurations = new HashMap<>();
+		// user × 요일(월~일)
+		StudyAggregate aggregate = StudyAggregate.of(dayTotals, Bucket.DAY_OF_WEEK,
+			UserDayTotalView::getUserId,
+			row -> Bucket.of(row.getStatDate().getDayOfWeek()),
+			row -> StudyAggregate.orZero(row.getTotalSeconds()));
 
-		for (VoiceChannelLog log : logs) {
-			String user = resolveUserName(log);
-
-			LocalDate date = log.getRecordedAt().toLocalDate();
-			DayOfWeek dow = date.getDayOfWeek();
-
-			long duration = Optional.ofNullable(log.getDuration()).orElse(0L);
-
-			userDayDurations
-				.computeIfAbsent(user, k -> new HashMap<>())
-				.merge(dow, duration, Long::sum);
-		}
-
-		if (userDayDurations.isEmpty()) {
-			return "⚠️ 주간 기간 동안 기록이 없습니다.";
-		}
-
-		// userTotals
-		Map<String, Long> userTotals = new HashMap<>();
-		for (Map.Entry<String, Map<DayOfWeek, Long>> entry : userDayDurations.entrySet()) {
-			long sum = entry.getValue().values().stream()
-				.mapToLong(Long::longValue)
-				.sum();
-			userTotals.put(entry.getKey(), sum);
+		if (aggregate.isEmpty()) {
+			return List.of("⚠️ 주간 기간 동안 기록이 없습니다.");
 		}
 
-		String dateRange = String.format("기준: %s ~ %s", startDate.format(DATE_FMT), endDate.format(DATE_FMT));
-
-		StringBuilder sb = new StringBuilder();
-		sb.append("📊 **주간 전체 공부 기록 요약**\n")
-			.append(dateRange)
+		MessageChunker message = new MessageChunker();
+		message.append("📊 **주간 전체 공부 기록 요약**\n")
+			.dateRange(startDate, endDate)
 			.append("\n\n");
+		message.endSection();
 
-		userTotals.entrySet().stream()
-			.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-			.forEach(entry -> {
-				String user = entry.getKey();
-				long total = entry.getValue();
-				Map<DayOfWeek, Long> days = userDayDurations.get(user);
-
-				sb.append("────────────────────────\n");
-				sb.append("**").append(user).append("**\n\n");
-
-				for (DayOfWeek dow : WEEK_ORDER) {
-					Long sec = days.get(dow);
-					if (sec == null || sec == 0L) {
-						continue;
-					}
-
-					sb.append("• ")
-						.append(dayLabel(dow))
-						.append(": ")
-						.append(prettyDuration(sec))
-						.append("\n");
-				}
-
-				sb.append("\n합계: ")
-					.append(prettyDuration(total))
-					.append("\n\n");
-			});
+		for (int user : aggregate.usersByTotalDescending()) {
+			message.append("────────────────────────\n");
+			message.append("**").append(userNameIndex.displayName(guildId, aggregate.userId(user))).append("**\n\n");
 
-		sb.append("────────────────────────");
-		return sb.toString();
-	}
-
-	private String resolveUserName(VoiceChannelLog log) {
-		return Optional.ofNullable(log.getNickName())
-			.filter(s -> !s.isBlank())
-			.orElse(log.getUserName());
-	}
-
-	private String prettyDuration(long totalSeconds) {
-		long hours = totalSeconds / 3600;
-		long minutes = (totalSeconds % 3600) / 60;
-		long seconds = totalSeconds % 60;
-
-		if (hours > 0) {
-			return String.format("%d시간 %d분 %d초", hours, minutes, seconds);
-		}
-		if (minutes > 0) {
-			return String.format("%d분 %d초", minutes, seconds);
-		}
-		return String.format("%d초", seconds);
-	}
-
-	private String dayLabel(DayOfWeek dow) {
-		switch (dow) {
-			case MONDAY: return "월";
-			case TUESDAY: return "화";
-			case WEDNESDAY: return "수";
-			case THURSDAY: return "목";
-			case FRIDAY: return "금";
-			case SATURDAY: return "토";
-			case SUNDAY: return "일";
-			default: return "";
-		}
-	}
-
-	private TextChannel findTextChannel(String nameOrId) {
-		if (nameOrId == null || nameOrId.isBlank()) {
-			return null;
-		}
+			for (DayOfWeek dow : WEEK_ORDER) {
+				long sec = aggregate.seconds(user, Bucket.of(dow));
+				if (sec == 0L) {
+					continue;
+				}
 
-		// 숫자로만 이루어진 경우 ID로 시도
-		if (nameOrId.chars().allMatch(Character::isDigit)) {
-			TextChannel byId = jda.getTextChannelById(nameOrId);
-			if (byId != null) {
-				return byId;
+				message.append("• ")
+					.append(ReportWriter.dayLabel(dow))
+					.append(": ")
+					.duration(sec)
+					.append("\n");
 			}
+
+			message.append("\n합계: ")
+				.duration(aggregate.total(user))
+				.append("\n\n");
+			// 한 사람 분량은 한 메시지 안에
+			message.endSection();
 		}
 
-		// 그 외에는 이름으로 검색
-		return jda.getTextChannelsByName(nameOrId, true).stream()
-			.findFirst()
-			.orElse(null);
+		message.append("────────────────────────");
+		return message.build();
 	}
 }
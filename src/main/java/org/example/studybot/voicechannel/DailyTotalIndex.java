@@ -0,0 +1,214 @@
+package org.example.studybot.voicechannel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.example.studybot.util.LongFenwickTree;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서버 × 사용자별 일 합계(user_daily_totals) 메모리 색인
+ * 사용자마다 첫 기록 날짜부터의 일 단위 Fenwick 트리를 두어, 1년짜리 기간도 사용자당 O(log 일수) 로 합계를 구한다.
+ * 시작할 때 rollup 을 모두 읽고, 이후에는 VoiceChannelLogWriter 가 커밋한 일 합계만큼 더한다.
+ * rollup 을 통째로 다시 만든 경우(backfill, 예전 기록 서버 이전)에는 reload 한다.
+ * 개인 조회는 userId 로 트리 하나만 찾는다. 이름은 출력할 때 UserNameIndex 에서 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyTotalIndex {
+
+    public record UserTotal(long userId, long seconds) {
+    }
+
+    private static final String LOAD_SQL =
+        "SELECT guild_id, user_id, stat_date, seconds FROM user_daily_totals ORDER BY stat_date";
+
+    // 한 사용자 트리의 처음 용량 (일). 기록이 길어지면 두 배씩 늘어난다
+    private static final int INITIAL_DAYS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object lock = new Object();
+
+    // rollup 쓰기(커밋 + add)는 read, reload(SELECT + 교체)는 write. 둘이 겹치면 증가분이 빠지거나 두 번 들어간다
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    // guildId → (userId → 일별 합계)
+    private Map<Long, Map<Long, UserSeries>> guilds = new HashMap<>();
+
+    private static final class UserSeries {
+        // 트리 0번 칸의 날짜 (epoch day)
+        private long originDay;
+        private LongFenwickTree days = new LongFenwickTree(INITIAL_DAYS);
+
+        private UserSeries(long originDay) {
+            this.originDay = originDay;
+        }
+
+        void add(long epochDay, long seconds) {
+            if (epochDay < originDay) {
+                rebase(epochDay);
+            }
+            days.add((int) (epochDay - originDay), seconds);
+        }
+
+        long sum(long fromDay, long toDay) {
+            long from = Math.max(fromDay, originDay) - originDay;
+            long to = Math.min(toDay - originDay, days.capacity() - 1L);
+            if (from > to) {
+                return 0L;
+            }
+            return days.rangeSum((int) from, (int) to);
+        }
+
+        // 첫 기록보다 이전 날짜가 들어온 경우 (예전 기록을 나중에 옮겨 온 경우뿐이라 드묾)
+        private void rebase(long newOriginDay) {
+            int shift = (int) (originDay - newOriginDay);
+            LongFenwickTree rebased = new LongFenwickTree(days.capacity() + shift);
+            for (int i = 0; i < days.capacity(); i++) {
+                long seconds = days.get(i);
+                if (seconds != 0L) {
+                    rebased.add(i + shift, seconds);
+                }
+            }
+            days = rebased;
+            originDay = newOriginDay;
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    /**
+     * rollup 전체를 다시 읽어서 색인을 교체한다.
+     * 읽고 교체하는 동안 writeCommitted 는 기다리므로, 그 전에 커밋된 합계는 읽은 값에, 그 뒤의 합계는 새 색인에 들어간다.
+     * 조회(totals, sum)는 기다리지 않고 교체 전 색인을 본다.
+     */
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            Map<Long, Map<Long, UserSeries>> loaded = new HashMap<>();
+            int[] rows = {0};
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                add(loaded, rs.getLong("guild_id"), rs.getLong("user_id"), rs.getDate("stat_date").toLocalDate(),
+                    rs.getLong("seconds"));
+                rows[0]++;
+            });
+
+            synchronized (lock) {
+                guilds = loaded;
+            }
+            log.info("[DailyTotalIndex] 일 합계 {}행 색인", rows[0]);
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * rollup 에 커밋하고 그 증가분을 add 하는 작업을 reload 와 겹치지 않게 실행한다 (VoiceChannelLogWriter)
+     */
+    void writeCommitted(Runnable commitThenAdd) {
+        reloadLock.readLock().lock();
+        try {
+            commitThenAdd.run();
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * rollup 과 출석을 통째로 고치는 작업(예전 기록 서버 이전)을 writeCommitted 와 겹치지 않게 실행한다.
+     * 안에서 reload 를 불러도 된다 (같은 잠금을 다시 잡음).
+     */
+    public <T> T rewrite(Supplier<T> rewrite) {
+        reloadLock.writeLock().lock();
+        try {
+            return rewrite.get();
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 커밋된 일 합계 증가분 (VoiceChannelLogWriter, writeCommitted 안에서)
+     */
+    public void add(long guildId, long userId, LocalDate statDate, long seconds) {
+        synchronized (lock) {
+            add(guilds, guildId, userId, statDate, seconds);
+        }
+    }
+
+    private static void add(Map<Long, Map<Long, UserSeries>> target, long guildId, long userId, LocalDate statDate,
+        long seconds) {
+        long epochDay = statDate.toEpochDay();
+        UserSeries series = target.computeIfAbsent(guildId, id -> new HashMap<>())
+            .computeIfAbsent(userId, id -> new UserSeries(epochDay));
+        series.add(epochDay, seconds);
+    }
+
+    /**
+     * [from, to] (양 끝 포함) 사용자별 합계, 합계 내림차순 (0초인 사용자는 제외)
+     *
+     * @param userId null 이면 전체, 아니면 그 사용자만
+     */
+    public List<UserTotal> totals(long guildId, LocalDate from, LocalDate to, Long userId) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+
+        List<UserTotal> result = new ArrayList<>();
+        synchronized (lock) {
+            Map<Long, UserSeries> users = guilds.getOrDefault(guildId, Map.of());
+            if (userId != null) {
+                UserSeries series = users.get(userId);
+                long seconds = series != null ? series.sum(fromDay, toDay) : 0L;
+                return seconds > 0L ? List.of(new UserTotal(userId, seconds)) : List.of();
+            }
+            users.forEach((id, series) -> {
+                long seconds = series.sum(fromDay, toDay);
+                if (seconds > 0L) {
+                    result.add(new UserTotal(id, seconds));
+                }
+            });
+        }
+        result.sort(Comparator.comparingLong(UserTotal::seconds).reversed());
+        return result;
+    }
+
+    /**
+     * [from, to] (양 끝 포함) 합계
+     *
+     * @param userId null 이면 서버 전체, 아니면 그 사용자만
+     */
+    public long sum(long guildId, LocalDate from, LocalDate to, Long userId) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+
+        long sum = 0L;
+        synchronized (lock) {
+            Map<Long, UserSeries> users = guilds.getOrDefault(guildId, Map.of());
+            if (userId != null) {
+                UserSeries series = users.get(userId);
+                return series != null ? series.sum(fromDay, toDay) : 0L;
+            }
+            for (UserSeries series : users.values()) {
+                sum += series.sum(fromDay, toDay);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.studybot.voicechannel;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import net.dv8tion.jda.api.utils.ChunkingFilter;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDA 멤버/채널 캐시 설정
+ * 기본값은 음성 채널 추적에 필요한 만큼만 캐시한다: 음성 채널에 접속한 멤버만 캐시, 멤버 chunking 없음.
+ */
+@Component
+@ConfigurationProperties(prefix = "jda.cache")
+public class JdaCacheProperties {
+
+    public enum MemberCacheMode {
+        VOICE,   // 음성 채널에 접속 중인 멤버만 (기본)
+        ONLINE,  // 온라인 멤버 (GUILD_PRESENCES 인텐트와 ONLINE_STATUS 캐시를 함께 켠다)
+        ALL,     // 모든 멤버 (GUILD_MEMBERS 인텐트 필요)
+        NONE     // 캐시 안 함
+    }
+
+    private MemberCacheMode memberCachePolicy = MemberCacheMode.VOICE;
+
+    // 접속 시 길드 전체 멤버 목록을 받아올지 여부 (큰 서버에서는 메모리/트래픽이 큼)
+    private boolean chunkMembers = false;
+
+    // 봇이 쓰지 않는 캐시는 끈다
+    private List<CacheFlag> disabledCacheFlags = new ArrayList<>(List.of(
+        CacheFlag.ACTIVITY,
+        CacheFlag.CLIENT_STATUS,
+        CacheFlag.ONLINE_STATUS,
+        CacheFlag.EMOJI,
+        CacheFlag.STICKER,
+        CacheFlag.SCHEDULED_EVENTS
+    ));
+
+    public MemberCachePolicy toMemberCachePolicy() {
+        return switch (memberCachePolicy) {
+            case VOICE -> MemberCachePolicy.VOICE;
+            case ONLINE -> MemberCachePolicy.ONLINE;
+            case ALL -> MemberCachePolicy.ALL;
+            case NONE -> MemberCachePolicy.NONE;
+        };
+    }
+
+    public ChunkingFilter toChunkingFilter() {
+        return chunkMembers ? ChunkingFilter.ALL : ChunkingFilter.NONE;
+    }
+
+    // 전체 멤버 목록이 필요할 때만 GUILD_MEMBERS(특권 인텐트)를 요청
+    public boolean requiresGuildMembersIntent() {
+        return chunkMembers || memberCachePolicy == MemberCacheMode.ALL;
+    }
+
+    // ONLINE 정책은 온라인 상태를 알아야 하므로 GUILD_PRESENCES(특권 인텐트)를 요청
+    public boolean requiresGuildPresencesIntent() {
+        return memberCachePolicy == MemberCacheMode.ONLINE;
+    }
+
+    // 음성 상태 캐시는 입퇴장 추적에 꼭 필요하므로 설정에 있어도 끄지 않는다
+    // ONLINE 정책이면 온라인 상태 캐시도 끄지 않는다 (꺼져 있으면 JDA 가 ONLINE 정책으로 아무도 캐시하지 못한다)
+    public EnumSet<CacheFlag> toDisabledCacheFlags() {
+        EnumSet<CacheFlag> flags = EnumSet.noneOf(CacheFlag.class);
+        flags.addAll(disabledCacheFlags);
+        flags.remove(CacheFlag.VOICE_STATE);
+        if (memberCachePolicy == MemberCacheMode.ONLINE) {
+            flags.remove(CacheFlag.ONLINE_STATUS);
+        }
+        return flags;
+    }
+
+    public MemberCacheMode getMemberCachePolicy() {
+        return memberCachePolicy;
+    }
+
+    public void setMemberCachePolicy(MemberCacheMode memberCachePolicy) {
+        this.memberCachePolicy = memberCachePolicy;
+    }
+
+    public boolean isChunkMembers() {
+        return chunkMembers;
+    }
+
+    public void setChunkMembers(boolean chunkMembers) {
+        this.chunkMembers = chunkMembers;
+    }
+
+    public List<CacheFlag> getDisabledCacheFlags() {
+        return disabledCacheFlags;
+    }
+
+    public void setDisabledCacheFlags(List<CacheFlag> disabledCacheFlags) {
+        this.disabledCacheFlags = disabledCacheFlags;
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.studybot.voicechannel;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.example.studybot.util.MinuteBitset;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서버 × 사용자 × 날짜별 분 단위 출석 (user_minute_presence) 메모리 색인
+ * 값은 저장 형식 그대로 run-length 바이트로 들고 있어서 1년치도 수 MB 안쪽이다.
+ * 시간대 히트맵과 /기간기록 시간 단위는 여기서 바로 집계하므로 원본 기록을 다시 읽지 않는다.
+ * 갱신은 VoiceChannelLogWriter (단일 flush 스레드) 가 커밋한 뒤에만 한다.
+ * 예전 기록을 서버로 옮긴 경우(GuildChannelRegistry)에는 reload 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MinutePresenceIndex {
+
+    private static final String LOAD_SQL =
+        "SELECT guild_id, user_id, stat_date, minute_runs FROM user_minute_presence";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object lock = new Object();
+
+    // guildId → (userId → (epoch day → run-length))
+    private Map<Long, Map<Long, NavigableMap<Long, byte[]>>> guilds = new HashMap<>();
+    // guildId → 그 서버의 출석이 바뀐 횟수 (차트 캐시 키)
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    /**
+     * 테이블 전체를 다시 읽어서 색인을 교체한다 (DailyTotalIndex.rewrite 안에서, flush 와 겹치지 않게)
+     */
+    public void reload() {
+        Map<Long, Map<Long, NavigableMap<Long, byte[]>>> loaded = new HashMap<>();
+        int[] rows = {0};
+        long[] bytes = {0L};
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            byte[] runs = rs.getBytes("minute_runs");
+            put(loaded, rs.getLong("guild_id"), rs.getLong("user_id"), rs.getDate("stat_date").toLocalDate(), runs);
+            rows[0]++;
+            bytes[0] += runs.length;
+        });
+
+        synchronized (lock) {
+            // 통째로 바꾸므로 전후 어느 쪽에든 있는 서버는 모두 바뀐 것으로 본다
+            guilds.keySet().forEach(this::bump);
+            loaded.keySet().forEach(this::bump);
+            guilds = loaded;
+        }
+        log.info("[MinutePresenceIndex] 출석 {}행 ({}bytes) 불러옴", rows[0], bytes[0]);
+    }
+
+    /**
+     * 이 날 지금까지의 출석 (없으면 빈 비트셋). 새 구간과 OR 해서 다시 저장할 때 쓴다.
+     */
+    public MinuteBitset get(long guildId, long userId, LocalDate statDate) {
+        synchronized (lock) {
+            NavigableMap<Long, byte[]> days = guilds.getOrDefault(guildId, Map.of()).get(userId);
+            byte[] runs = days != null ? days.get(statDate.toEpochDay()) : null;
+            return runs != null ? MinuteBitset.fromRuns(runs) : new MinuteBitset();
+        }
+    }
+
+    public void put(long guildId, long userId, LocalDate statDate, byte[] runs) {
+        synchronized (lock) {
+            put(guilds, guildId, userId, statDate, runs);
+            bump(guildId);
+        }
+    }
+
+    /**
+     * 서버의 출석 버전. 바뀔 때마다 커진다.
+     * 집계보다 먼저 읽으면 그 사이의 변경은 옛 버전 키로만 남으므로 다음 조회에서 다시 집계된다.
+     */
+    public long version(long guildId) {
+        synchronized (lock) {
+            return versions.getOrDefault(guildId, 0L);
+        }
+    }
+
+    // lock 안에서만 호출
+    private void bump(long guildId) {
+        versions.merge(guildId, 1L, Long::sum);
+    }
+
+    private static void put(Map<Long, Map<Long, NavigableMap<Long, byte[]>>> target, long guildId, long userId,
+        LocalDate statDate, byte[] runs) {
+        target.computeIfAbsent(guildId, id -> new HashMap<>())
+            .computeIfAbsent(userId, id -> new TreeMap<>())
+            .put(statDate.toEpochDay(), runs);
+    }
+
+    /**
+     * [from, to] (양 끝 포함) 요일 × 시 출석 분 합계 (사람-분)
+     *
+     * @return [요일 0=월 ~ 6=일][시 0 ~ 23]
+     */
+    public long[][] weekdayHourMinutes(long guildId, LocalDate from, LocalDate to) {
+        long[][] minutes = new long[7][24];
+        // 비트셋 하나를 재사용해서 날마다 run-length 를 풀고 시간별로 popcount
+        MinuteBitset day = new MinuteBitset();
+
+        synchronized (lock) {
+            for (NavigableMap<Long, byte[]> days : guilds.getOrDefault(guildId, Map.of()).values()) {
+                for (Map.Entry<Long, byte[]> entry
+                    : days.subMap(from.toEpochDay(), true, to.toEpochDay(), true).entrySet()) {
+                    // 1970-01-01 은 목요일 (월요일 = 0)
+                    int weekday = (int) Math.floorMod(entry.getKey() + 3, 7L);
+                    day.clear().orRuns(entry.getValue());
+                    for (int hour = 0; hour < 24; hour++) {
+                        minutes[weekday][hour] += day.count(hour * 60, hour * 60 + 60);
+                    }
+                }
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * [from, to] (양 끝 포함) 시별 출석 분 합계 (사람-분)
+     *
+     * @param userId null 이면 서버 전체
+     * @return [시 0 ~ 23]
+     */
+    public long[] hourMinutes(long guildId, LocalDate from, LocalDate to, Long userId) {
+        long[] minutes = new long[24];
+        MinuteBitset day = new MinuteBitset();
+
+        synchronized (lock) {
+            Map<Long, NavigableMap<Long, byte[]>> users = guilds.getOrDefault(guildId, Map.of());
+            Collection<NavigableMap<Long, byte[]>> selected = userId == null ? users.values()
+                : users.containsKey(userId) ? List.of(users.get(userId)) : List.of();
+            for (NavigableMap<Long, byte[]> days : selected) {
+                for (byte[] runs : days.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+                    day.clear().orRuns(runs);
+                    for (int hour = 0; hour < 24; hour++) {
+                        minutes[hour] += day.count(hour * 60, hour * 60 + 60);
+                    }
+                }
+            }
+        }
+        return minutes;
+    }
+}
@@ -0,0 +1,296 @@
+package org.example.studybot.voicechannel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 열린(아직 퇴장하지 않은) 공부 세션의 append-only 저널
+ * 입장/퇴장을 메모리 매핑 파일에 고정 길이 레코드로 쌓고, fsync 는 주기적으로 묶어서 한다.
+ * 재시작 시 저널을 다시 읽어 열린 세션을 복구한다.
+ *
+ * 열린 세션은 서버(guild)별로 나눠서 보관한다.
+ *
+ * 레코드 형식 (33 byte): [type 1][guildId 8][userId 8][channelId 8][epochMillis 8]
+ * 이전 형식 (25 byte, guildId 없음): [type 1][userId 8][channelId 8][epochMillis 8] - 읽기만 하고 LEGACY_GUILD_ID 로 복구
+ * type 이 0 이면 데이터의 끝. type 은 나머지 필드를 다 쓴 뒤 마지막에 기록한다.
+ */
+@Slf4j
+@Component
+public class SessionJournal {
+
+    static final int RECORD_SIZE = 33;
+    static final int LEGACY_RECORD_SIZE = 25;
+
+    // guildId 를 모르는 (이전 형식) 세션. 재시작 후 채널로 서버를 찾아 옮긴다
+    public static final long LEGACY_GUILD_ID = 0L;
+
+    private static final byte TYPE_END = 0;
+    private static final byte TYPE_LEGACY_JOIN = 1;
+    private static final byte TYPE_LEGACY_LEAVE = 2;
+    private static final byte TYPE_LEGACY_SHUTDOWN = 3;
+    private static final byte TYPE_JOIN = 4;
+    private static final byte TYPE_LEAVE = 5;
+    private static final byte TYPE_SHUTDOWN = 6;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    public record OpenSession(long guildId, long userId, long channelId, LocalDateTime joinedAt) {
+    }
+
+    private final SessionJournalProperties properties;
+    // guildId → (userId → 열린 세션)
+    private final Map<Long, Map<Long, OpenSession>> openSessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService syncer;
+
+    private Path path;
+    private FileChannel fileChannel;
+    private volatile MappedByteBuffer buffer;
+    private volatile boolean dirty;
+    private LocalDateTime lastRecordedAt;
+
+    public SessionJournal(SessionJournalProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("studybot.sessions.open", this, SessionJournal::countOpenSessions)
+            .description("지금 음성 채널에 있는 (열린) 공부 세션 수")
+            .register(meterRegistry);
+        Gauge.builder("studybot.sessions.open.guilds", openSessions,
+                sessions -> sessions.values().stream().filter(guild -> !guild.isEmpty()).count())
+            .description("열린 세션이 있는 서버 수")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        path = Path.of(properties.getPath());
+        map(properties.getCapacityBytes());
+        replay();
+        // 재시작마다 열린 세션만 남기고 정리해서 파일을 작게 유지
+        compact();
+
+        long interval = properties.getFsyncIntervalMs();
+        syncer.scheduleWithFixedDelay(this::sync, interval, interval, TimeUnit.MILLISECONDS);
+
+        log.info("[SessionJournal] 저널 복구 완료. 서버={}, 열린 세션={}", openSessions.size(), countOpenSessions());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        syncer.shutdown();
+        append(TYPE_SHUTDOWN, 0L, 0L, 0L, toMillis(LocalDateTime.now()));
+        synchronized (this) {
+            buffer.force();
+            fileChannel.close();
+        }
+    }
+
+    // ===================== 공개 메서드 =====================
+
+    /**
+     * 세션 시작 기록
+     *
+     * @return 이미 열린 세션이 있으면 false
+     */
+    public boolean open(long guildId, long userId, long channelId, LocalDateTime joinedAt) {
+        OpenSession session = new OpenSession(guildId, userId, channelId, joinedAt);
+        if (sessionsOf(guildId).putIfAbsent(userId, session) != null) {
+            return false;
+        }
+        append(TYPE_JOIN, guildId, userId, channelId, toMillis(joinedAt));
+        return true;
+    }
+
+    /**
+     * 세션 종료 기록
+     *
+     * @return 닫힌 세션, 열린 세션이 없었으면 null
+     */
+    public OpenSession close(long guildId, long userId, LocalDateTime leftAt) {
+        Map<Long, OpenSession> sessions = openSessions.get(guildId);
+        OpenSession session = sessions != null ? sessions.remove(userId) : null;
+        if (session != null) {
+            append(TYPE_LEAVE, guildId, userId, session.channelId(), toMillis(leftAt));
+        }
+        return session;
+    }
+
+    public boolean isOpen(long guildId, long userId) {
+        Map<Long, OpenSession> sessions = openSessions.get(guildId);
+        return sessions != null && sessions.containsKey(userId);
+    }
+
+    // 한 서버의 열린 세션 (userId → 세션)
+    public Map<Long, OpenSession> getOpenSessions(long guildId) {
+        Map<Long, OpenSession> sessions = openSessions.get(guildId);
+        return sessions != null ? Collections.unmodifiableMap(sessions) : Map.of();
+    }
+
+    // 모든 서버의 열린 세션 (재시작 후 복구용)
+    public List<OpenSession> getAllOpenSessions() {
+        List<OpenSession> all = new ArrayList<>();
+        openSessions.values().forEach(sessions -> all.addAll(sessions.values()));
+        return all;
+    }
+
+    /**
+     * 저널에 마지막으로 남은 시각 (정상 종료였다면 종료 시각)
+     * 봇이 꺼져 있는 동안 나간 사람의 세션을 닫을 때 사용한다.
+     */
+    public LocalDateTime getLastRecordedAt() {
+        return lastRecordedAt != null ? lastRecordedAt : LocalDateTime.now();
+    }
+
+    // ===================== 기록 =====================
+
+    private synchronized void append(byte type, long guildId, long userId, long channelId, long epochMillis) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            compact();
+        }
+
+        int pos = buffer.position();
+        buffer.putLong(pos + 1, guildId);
+        buffer.putLong(pos + 9, userId);
+        buffer.putLong(pos + 17, channelId);
+        buffer.putLong(pos + 25, epochMillis);
+        buffer.put(pos, type);
+        buffer.position(pos + RECORD_SIZE);
+        dirty = true;
+    }
+
+    private Map<Long, OpenSession> sessionsOf(long guildId) {
+        return openSessions.computeIfAbsent(guildId, id -> new ConcurrentHashMap<>());
+    }
+
+    private int countOpenSessions() {
+        return openSessions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void sync() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        try {
+            buffer.force();
+        } catch (Exception e) {
+            dirty = true;
+            log.error("[SessionJournal] fsync 실패", e);
+        }
+    }
+
+    private void replay() {
+        MappedByteBuffer buf = buffer;
+        int pos = 0;
+        long lastMillis = 0L;
+
+        while (pos + LEGACY_RECORD_SIZE <= buf.capacity()) {
+            byte type = buf.get(pos);
+            if (type == TYPE_END) {
+                break;
+            }
+
+            boolean legacy = type == TYPE_LEGACY_JOIN || type == TYPE_LEGACY_LEAVE || type == TYPE_LEGACY_SHUTDOWN;
+            int size = legacy ? LEGACY_RECORD_SIZE : RECORD_SIZE;
+            if (pos + size > buf.capacity()) {
+                break;
+            }
+
+            int offset = legacy ? pos + 1 : pos + 9;
+            long guildId = legacy ? LEGACY_GUILD_ID : buf.getLong(pos + 1);
+            long userId = buf.getLong(offset);
+            long channelId = buf.getLong(offset + 8);
+            long epochMillis = buf.getLong(offset + 16);
+
+            if (type == TYPE_JOIN || type == TYPE_LEGACY_JOIN) {
+                sessionsOf(guildId).put(userId, new OpenSession(guildId, userId, channelId, toDateTime(epochMillis)));
+            } else if (type == TYPE_LEAVE || type == TYPE_LEGACY_LEAVE) {
+                sessionsOf(guildId).remove(userId);
+            }
+            lastMillis = Math.max(lastMillis, epochMillis);
+            pos += size;
+        }
+
+        buf.position(pos);
+        lastRecordedAt = lastMillis > 0 ? toDateTime(lastMillis) : null;
+    }
+
+    /**
+     * 열린 세션만 담은 새 저널을 임시 파일에 쓰고 원자적으로 교체한다.
+     * 교체 도중에 죽어도 기존 파일이나 새 파일 중 하나는 온전히 남는다.
+     */
+    private synchronized void compact() {
+        List<OpenSession> sessions = getAllOpenSessions();
+        int needed = (sessions.size() + 1) * RECORD_SIZE;
+        int capacity = Math.max(properties.getCapacityBytes(), needed * 2);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try {
+            Files.deleteIfExists(tmp);
+            try (FileChannel tmpChannel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer tmpBuffer = tmpChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                for (OpenSession session : sessions) {
+                    tmpBuffer.put(TYPE_JOIN)
+                        .putLong(session.guildId())
+                        .putLong(session.userId())
+                        .putLong(session.channelId())
+                        .putLong(toMillis(session.joinedAt()));
+                }
+                tmpBuffer.force();
+            }
+
+            fileChannel.close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            map(capacity);
+            buffer.position(sessions.size() * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("세션 저널 압축 실패", e);
+        }
+    }
+
+    private void map(int capacity) throws IOException {
+        fileChannel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(capacity, fileChannel.size());
+        buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.studybot.voicechannel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "session-journal")
+public class SessionJournalProperties {
+
+    // 열린 세션 저널 파일 경로
+    private String path = "session-journal.dat";
+
+    // 저널 파일 크기(byte). 가득 차면 열린 세션만 남기고 압축한다
+    private int capacityBytes = 1024 * 1024;
+
+    // 디스크 동기화(fsync) 주기(ms)
+    private long fsyncIntervalMs = 200;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    public void setCapacityBytes(int capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+
+    public long getFsyncIntervalMs() {
+        return fsyncIntervalMs;
+    }
+
+    public void setFsyncIntervalMs(long fsyncIntervalMs) {
+        this.fsyncIntervalMs = fsyncIntervalMs;
+    }
+}
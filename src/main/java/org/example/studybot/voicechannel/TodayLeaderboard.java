@@ -0,0 +1,276 @@
+package org.example.studybot.voicechannel;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.example.studybot.util.LongLongMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서버별 오늘 공부 시간 실시간 순위 (DB 조회 없음)
+ * 완료된 세션 합계는 서버마다 userId → 초 primitive 맵과 합계 내림차순 집합에 두고 세션이 끝날 때마다 갱신한다.
+ * 진행 중인 세션은 SessionJournal 의 입장 시각으로 계산한다.
+ * 자정에 통째로 초기화된다. 출력용 이름은 UserNameIndex 에서 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodayLeaderboard {
+
+    public record Entry(long userId, String displayName, long seconds, boolean inProgress) {
+    }
+
+    private final SessionJournal sessionJournal;
+    private final UserDailyTotalRepository dailyTotalRepository;
+    private final UserNameIndex userNameIndex;
+    private final Clock clock;
+
+    private final Object lock = new Object();
+
+    // guildId → 서버별 순위 상태
+    private Map<Long, GuildBoard> boards = new HashMap<>();
+    // 처음 들어오는 날짜에서 초기화된다 (seedFromRollup 또는 첫 기록)
+    private LocalDate day = LocalDate.MIN;
+
+    private record Ranked(long userId, long seconds) {
+    }
+
+    // 합계 내림차순, 같으면 userId 순
+    private static final Comparator<Ranked> BY_SECONDS_DESC =
+        Comparator.comparingLong(Ranked::seconds).reversed().thenComparingLong(Ranked::userId);
+
+    private static final class GuildBoard {
+        // userId → 오늘 완료된 세션 합계(초)
+        private final LongLongMap closedSeconds = new LongLongMap(64);
+        // closedSeconds 와 같은 내용을 합계 내림차순으로 (top 은 앞에서 k 개만 읽는다)
+        private final NavigableSet<Ranked> ranked = new TreeSet<>(BY_SECONDS_DESC);
+
+        // 세션이 끝날 때마다 O(log n) 으로 순서를 맞춘다
+        private void add(long userId, long seconds) {
+            if (closedSeconds.containsKey(userId)) {
+                ranked.remove(new Ranked(userId, closedSeconds.get(userId)));
+            }
+            ranked.add(new Ranked(userId, closedSeconds.addTo(userId, seconds)));
+        }
+    }
+
+    /**
+     * 재시작해도 오늘 이미 끝난 세션이 빠지지 않도록 rollup 에서 채워 둔다.
+     * JDA 가 이벤트를 보내기 전(빈 생성 시점)에 실행된다.
+     */
+    @PostConstruct
+    public void seedFromRollup() {
+        LocalDate today = LocalDate.now(clock);
+        List<UserDailyTotal> totals = dailyTotalRepository.findAllBetween(today, today);
+
+        synchronized (lock) {
+            rollIfNeeded(today);
+            for (UserDailyTotal total : totals) {
+                long guildId = total.getId().getGuildId();
+                long userId = total.getId().getUserId();
+                boardOf(guildId).add(userId, total.getSeconds());
+            }
+        }
+        log.info("[TodayLeaderboard] 오늘 기록 {}명 불러옴", totals.size());
+    }
+
+    /**
+     * 세션 종료 시 오늘에 해당하는 부분만 누적 (자정을 넘긴 세션은 자정 이후만)
+     */
+    public void recordLeave(long guildId, long userId, LocalDateTime joinedAt, LocalDateTime leftAt) {
+        synchronized (lock) {
+            rollIfNeeded(leftAt.toLocalDate());
+            if (!leftAt.toLocalDate().equals(day)) {
+                return; // 어제 끝난 세션이 늦게 들어온 경우
+            }
+
+            LocalDateTime from = joinedAt.isAfter(day.atStartOfDay()) ? joinedAt : day.atStartOfDay();
+            long seconds = ChronoUnit.SECONDS.between(from, leftAt);
+            if (seconds > 0L) {
+                boardOf(guildId).add(userId, seconds);
+            }
+        }
+    }
+
+    /**
+     * 예전 기록(guild_id = 0)이 서버로 옮겨지면 (GuildChannelRegistry) 시작할 때 guild 0 으로 채운 오늘 합계도 옮긴다
+     */
+    public void claimLegacy(long guildId) {
+        synchronized (lock) {
+            GuildBoard legacy = boards.remove(SessionJournal.LEGACY_GUILD_ID);
+            if (legacy != null) {
+                GuildBoard board = boardOf(guildId);
+                legacy.closedSeconds.forEach(board::add);
+            }
+        }
+    }
+
+    /**
+     * 서버의 상위 k명. DB 조회 없음.
+     * 완료 합계 상위 k명과 지금 채널에 있는 m명만 후보로 보므로 O(k + m log k) (오늘 참여자 수와 무관).
+     * 지금 채널에 있는 사람은 입장 시각(자정 이전이면 자정)부터 지금까지를 더한다.
+     * 후보 밖의 사람은 완료 합계가 상위 k명의 완료 합계보다 작고 더 늘지도 않으므로 순위에 들 수 없다.
+     */
+    public List<Entry> top(long guildId, int k, LocalDateTime now) {
+        if (k <= 0) {
+            return List.of();
+        }
+
+        TopK topK = new TopK(k);
+        LocalDateTime midnight;
+
+        synchronized (lock) {
+            rollIfNeeded(now.toLocalDate());
+            midnight = day.atStartOfDay();
+
+            GuildBoard board = boardOf(guildId);
+            Map<Long, SessionJournal.OpenSession> open = sessionJournal.getOpenSessions(guildId);
+            // 채널에 있는 사람은 아래에서 진행 중인 시간까지 더해서 넣는다
+            Iterator<Ranked> closed = board.ranked.iterator();
+            for (int i = 0; i < k && closed.hasNext(); i++) {
+                Ranked ranked = closed.next();
+                if (!open.containsKey(ranked.userId())) {
+                    topK.offer(ranked.userId(), ranked.seconds());
+                }
+            }
+
+            for (SessionJournal.OpenSession session : open.values()) {
+                topK.offer(session.userId(),
+                    board.closedSeconds.get(session.userId()) + inProgressSeconds(session, midnight, now));
+            }
+        }
+
+        Map<Long, SessionJournal.OpenSession> open = sessionJournal.getOpenSessions(guildId);
+        List<Entry> entries = new ArrayList<>(topK.size);
+        for (int i : topK.sortedDescending()) {
+            long userId = topK.ids[i];
+            entries.add(new Entry(userId, userNameIndex.displayName(guildId, userId),
+                topK.seconds[i], open.containsKey(userId)));
+        }
+        return entries;
+    }
+
+    // 자정이 되면 완료 합계를 한 번에 교체 (진행 중인 세션은 자정부터 다시 계산됨)
+    @Scheduled(cron = "0 0 0 * * *")
+    public void resetAtMidnight() {
+        synchronized (lock) {
+            rollIfNeeded(LocalDate.now(clock));
+        }
+    }
+
+    private void rollIfNeeded(LocalDate today) {
+        if (today.isAfter(day)) {
+            boards = new HashMap<>();
+            day = today;
+            log.info("[TodayLeaderboard] {} 순위 초기화", day);
+        }
+    }
+
+    // lock 안에서만 호출
+    private GuildBoard boardOf(long guildId) {
+        return boards.computeIfAbsent(guildId, id -> new GuildBoard());
+    }
+
+    private static long inProgressSeconds(SessionJournal.OpenSession session, LocalDateTime midnight,
+        LocalDateTime now) {
+        LocalDateTime from = session.joinedAt().isAfter(midnight) ? session.joinedAt() : midnight;
+        return Math.max(0L, ChronoUnit.SECONDS.between(from, now));
+    }
+
+    /**
+     * 크기 k 의 최소 힙 (primitive 배열)
+     */
+    private static final class TopK {
+        private final long[] ids;
+        private final long[] seconds;
+        private int size;
+
+        private TopK(int k) {
+            this.ids = new long[k];
+            this.seconds = new long[k];
+        }
+
+        private void offer(long id, long value) {
+            if (value <= 0L) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                seconds[size] = value;
+                siftUp(size++);
+            } else if (value > seconds[0]) {
+                ids[0] = id;
+                seconds[0] = value;
+                siftDown(0);
+            }
+        }
+
+        // 힙 안의 인덱스를 값 내림차순으로 (k 개만 삽입 정렬)
+        private int[] sortedDescending() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                int j = i;
+                while (j > 0 && seconds[order[j - 1]] < seconds[i]) {
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                order[j] = i;
+            }
+            return order;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (seconds[i] >= seconds[parent]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = i * 2 + 1;
+                int right = left + 1;
+                int smallest = i;
+                if (left < size && seconds[left] < seconds[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && seconds[right] < seconds[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            long value = seconds[a];
+            seconds[a] = seconds[b];
+            seconds[b] = value;
+        }
+    }
+}
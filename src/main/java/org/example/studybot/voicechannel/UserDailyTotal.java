@@ -0,0 +1,26 @@
+package org.example.studybot.voicechannel;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 서버 × 사용자별 하루 공부 시간 합계 (voice_channel_logs 의 일 단위 rollup)
+ * 세션이 저장될 때 VoiceChannelLogWriter 가 같은 트랜잭션에서 누적한다.
+ */
+@Entity
+@Table(name = "user_daily_totals",
+    indexes = @Index(name = "idx_user_daily_totals_guild_date", columnList = "guild_id, stat_date"))
+@Getter
+@Setter
+public class UserDailyTotal {
+    @EmbeddedId
+    private UserDailyTotalId id;
+
+    private Long seconds; // 하루 총 공부 시간(초)
+    private Integer sessionCount; // 하루 세션 수
+    private String displayName; // 마지막으로 기록된 표시 이름 (서버별명 우선)
+}
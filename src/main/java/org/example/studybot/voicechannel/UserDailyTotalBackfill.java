@@ -0,0 +1,117 @@
+package org.example.studybot.voicechannel;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기존 voice_channel_logs 로부터 user_daily_totals 를 다시 만든다. (구간 시작 날짜 기준)
+ * 며칠 단위로 잘라서 (1) 일반 SELECT 로 집계하고 (2) 짧은 트랜잭션으로 upsert 하므로
+ * 원본 테이블에 잠금을 오래 잡지 않는다. 원본 기준으로 값을 "덮어쓰기" 때문에 여러 번 돌려도 같은 결과가 된다.
+ *
+ * 덮어쓰기는 그 사이에 VoiceChannelLogWriter 가 더한 값(flush, spill 재저장)을 지울 수 있으므로
+ * 빈 생성 시점에 끝까지 돌리고, VoiceChannelLogWriter 는 이 빈 다음에 만들어진다(@DependsOn).
+ * 그동안에는 JDA 도 아직 연결되지 않아 새 기록이 생기지 않으므로 오늘 날짜까지 다시 만든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDailyTotalBackfill {
+
+    // 이름은 그날 마지막 구간의 이름 (VoiceChannelLogWriter 가 마지막 배치의 이름으로 덮어쓰는 것과 같음)
+    private static final String AGGREGATE_SQL =
+        "SELECT d.guild_id, d.user_id, d.stat_date, d.seconds, d.session_count, "
+            + "(SELECT COALESCE(NULLIF(l.nick_name, ''), l.user_name) FROM voice_channel_logs l "
+            + " WHERE l.guild_id = d.guild_id AND l.user_id = d.user_id "
+            + "   AND l.started_at >= d.stat_date AND l.started_at < d.stat_date + INTERVAL 1 DAY "
+            + " ORDER BY l.started_at DESC, l.id DESC LIMIT 1) AS display_name "
+            + "FROM (SELECT guild_id, user_id, DATE(started_at) AS stat_date, SUM(duration) AS seconds, "
+            + "      COUNT(*) AS session_count "
+            + "      FROM voice_channel_logs WHERE started_at >= ? AND started_at < ? "
+            + "      GROUP BY guild_id, user_id, DATE(started_at)) d";
+
+    private static final String REPLACE_SQL =
+        "INSERT INTO user_daily_totals (guild_id, user_id, stat_date, seconds, session_count, display_name) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE seconds = VALUES(seconds), session_count = VALUES(session_count), "
+            + "display_name = VALUES(display_name)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DailyTotalIndex dailyTotalIndex;
+
+    @Value("${rollup.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${rollup.backfill-chunk-days:7}")
+    private int chunkDays;
+
+    private record DailyRow(long guildId, long userId, LocalDate statDate, long seconds, int sessionCount, String displayName) {
+    }
+
+    // 기록이 많으면 그만큼 시작이 늦어진다 (처음 배포할 때 한 번만 켜는 설정)
+    @PostConstruct
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        Date first = jdbcTemplate.queryForObject("SELECT MIN(DATE(started_at)) FROM voice_channel_logs", Date.class);
+        if (first == null) {
+            log.info("[UserDailyTotalBackfill] 원본 기록이 없어 건너뜁니다.");
+            return;
+        }
+
+        LocalDate end = LocalDate.now().plusDays(1);
+        int rows = 0;
+        for (LocalDate from = first.toLocalDate(); from.isBefore(end); from = from.plusDays(chunkDays)) {
+            LocalDate to = from.plusDays(chunkDays).isAfter(end) ? end : from.plusDays(chunkDays);
+            rows += backfillChunk(from, to);
+        }
+
+        log.info("[UserDailyTotalBackfill] 완료. {} ~ {}, {}행", first, end.minusDays(1), rows);
+        // 합계를 덮어썼으므로 메모리 색인도 다시 만든다
+        dailyTotalIndex.reload();
+    }
+
+    // [from, to) 구간
+    private int backfillChunk(LocalDate from, LocalDate to) {
+        List<DailyRow> dailyRows = jdbcTemplate.query(AGGREGATE_SQL,
+            (rs, rowNum) -> new DailyRow(
+                rs.getLong("guild_id"),
+                rs.getLong("user_id"),
+                rs.getDate("stat_date").toLocalDate(),
+                rs.getLong("seconds"),
+                rs.getInt("session_count"),
+                rs.getString("display_name")),
+            Timestamp.valueOf(from.atStartOfDay()),
+            Timestamp.valueOf(to.atStartOfDay()));
+
+        if (dailyRows.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(REPLACE_SQL, dailyRows, dailyRows.size(), (ps, row) -> {
+                ps.setLong(1, row.guildId());
+                ps.setLong(2, row.userId());
+                ps.setDate(3, Date.valueOf(row.statDate()));
+                ps.setLong(4, row.seconds());
+                ps.setInt(5, row.sessionCount());
+                ps.setString(6, row.displayName());
+            }));
+        return dailyRows.size();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.studybot.voicechannel;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserDailyTotalId implements Serializable {
+    private Long guildId;
+    private Long userId;
+    private LocalDate statDate; // 집계 날짜
+}
@@ -0,0 +1,37 @@
+package org.example.studybot.voicechannel;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+public interface UserDailyTotalRepository extends Repository<UserDailyTotal, UserDailyTotalId> {
+
+    // 날짜 범위(양 끝 포함)의 서버 × 사용자별 일 합계 (전체 서버)
+    @Query("SELECT t FROM UserDailyTotal t WHERE t.id.statDate >= :start AND t.id.statDate <= :end")
+    List<UserDailyTotal> findAllBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // 서버의 사용자 × 날짜 합계 (userId 가 null 이면 전체, 있으면 PK 범위만 읽음)
+    @Query("SELECT t.id.userId AS userId, t.id.statDate AS statDate, SUM(t.seconds) AS totalSeconds "
+        + "FROM UserDailyTotal t WHERE t.id.guildId = :guildId "
+        + "AND t.id.statDate >= :start AND t.id.statDate <= :end "
+        + "AND (:userId IS NULL OR t.id.userId = :userId) "
+        + "GROUP BY t.id.userId, t.id.statDate")
+    List<UserDayTotalView> sumByUserAndDay(@Param("guildId") long guildId, @Param("start") LocalDate start,
+        @Param("end") LocalDate end, @Param("userId") Long userId);
+
+    /**
+     * 서버의 사용자 × 월요일 기준 주차 합계 (userId 가 null 이면 전체)
+     * firstDayOffset: 그 달 1일의 요일 (월=0 ~ 일=6), WeekFields.of(MONDAY, 1).weekOfMonth() 와 같은 값이 나온다
+     */
+    @Query(value = "SELECT user_id AS userId, "
+        + "CAST(FLOOR((DAYOFMONTH(stat_date) - 1 + :firstDayOffset) / 7) + 1 AS SIGNED) AS weekIndex, "
+        + "CAST(SUM(seconds) AS SIGNED) AS totalSeconds "
+        + "FROM user_daily_totals WHERE guild_id = :guildId AND stat_date >= :start AND stat_date <= :end "
+        + "AND (:userId IS NULL OR user_id = :userId) "
+        + "GROUP BY user_id, weekIndex", nativeQuery = true)
+    List<UserWeekTotalView> sumByUserAndWeekOfMonth(@Param("guildId") long guildId, @Param("start") LocalDate start,
+        @Param("end") LocalDate end, @Param("firstDayOffset") int firstDayOffset, @Param("userId") Long userId);
+}
@@ -0,0 +1,14 @@
+package org.example.studybot.voicechannel;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자 × 날짜 합계 projection (주간 요일별 집계용)
+ */
+public interface UserDayTotalView {
+    Long getUserId();
+
+    LocalDate getStatDate();
+
+    Long getTotalSeconds();
+}
@@ -0,0 +1,166 @@
+package org.example.studybot.voicechannel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+/**
+ * 서버별 userId → 표시 이름(서버별명, 없으면 계정 이름) 캐시 + 이름 접두어 색인 (DB 조회 없음)
+ * 기록은 모두 userId 로 묶고 조회하며, 이름은 출력할 때만 여기서 찾는다. 별명을 바꿔도 기록이 나뉘지 않는다.
+ * 시작할 때 rollup 의 마지막 표시 이름으로 채우고, 음성 입장/퇴장, 명령어 사용, 별명 변경 이벤트로 갱신한다.
+ * 자동완성은 이름을 대소문자 구분 없이 정렬해 두고 접두어 범위만 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNameIndex extends ListenerAdapter {
+
+    public record Match(long userId, String displayName) {
+    }
+
+    // 날짜순으로 읽어서 마지막 표시 이름이 남도록
+    private static final String LOAD_SQL =
+        "SELECT guild_id, user_id, display_name FROM user_daily_totals "
+            + "WHERE display_name IS NOT NULL ORDER BY stat_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, GuildNames> guilds = new ConcurrentHashMap<>();
+
+    // 이름이 바뀔 때마다 증가 (이름이 들어간 차트 캐시 키에 쓴다)
+    private final AtomicLong version = new AtomicLong();
+
+    private static final class GuildNames {
+        // userId → 표시 이름
+        private final Map<Long, String> byId = new ConcurrentHashMap<>();
+        // 소문자 이름 + '\0' + userId → userId. 이름이 같은 사람도 따로 남는다
+        private final NavigableMap<String, Long> byName = new ConcurrentSkipListMap<>();
+    }
+
+    @PostConstruct
+    public void load() {
+        int[] rows = {0};
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            update(rs.getLong("guild_id"), rs.getLong("user_id"), rs.getString("display_name"));
+            rows[0]++;
+        });
+        log.info("[UserNameIndex] 표시 이름 {}행에서 {}개 서버 불러옴", rows[0], guilds.size());
+    }
+
+    /**
+     * 최신 표시 이름으로 갱신한다. (음성 입장/퇴장, 명령어 사용 시)
+     */
+    public void update(long guildId, long userId, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+
+        GuildNames names = guilds.computeIfAbsent(guildId, id -> new GuildNames());
+        synchronized (names) {
+            String previous = names.byId.put(userId, name);
+            if (name.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                names.byName.remove(nameKey(previous, userId));
+            }
+            names.byName.put(nameKey(name, userId), userId);
+        }
+        version.incrementAndGet();
+    }
+
+    // 별명 변경 (GUILD_MEMBERS 인텐트가 켜져 있을 때만 옴). 기록이 있는 사람만 갱신
+    @Override
+    public void onGuildMemberUpdateNickname(GuildMemberUpdateNicknameEvent event) {
+        long guildId = event.getGuild().getIdLong();
+        long userId = event.getMember().getIdLong();
+        GuildNames names = guilds.get(guildId);
+        if (names != null && names.byId.containsKey(userId)) {
+            update(guildId, userId, event.getMember().getEffectiveName());
+        }
+    }
+
+    /**
+     * 출력용 이름. 모르는 사용자면 ID 로 표시한다
+     */
+    public String displayName(long guildId, long userId) {
+        GuildNames names = guilds.get(guildId);
+        String name = names != null ? names.byId.get(userId) : null;
+        return name != null ? name : "알 수 없는 사용자 (" + userId + ")";
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * 사용자 옵션 값 → userId. 자동완성에서 고른 값(userId) 이나 직접 입력한 이름(대소문자 무시, 같은 이름이 여럿이면 처음 것)
+     *
+     * @return 이 서버에서 모르는 사용자면 null
+     */
+    public Long resolve(long guildId, String value) {
+        GuildNames names = guilds.get(guildId);
+        if (names == null || value == null || value.isBlank()) {
+            return null;
+        }
+
+        String text = value.strip();
+        try {
+            long userId = Long.parseLong(text);
+            if (names.byId.containsKey(userId)) {
+                return userId;
+            }
+        } catch (NumberFormatException ignored) {
+            // 이름으로 찾는다
+        }
+
+        String from = keyOf(text) + '\0';
+        Map.Entry<String, Long> first = names.byName.ceilingEntry(from);
+        return first != null && first.getKey().startsWith(from) ? first.getValue() : null;
+    }
+
+    /**
+     * prefix 로 시작하는 이름을 가나다(사전)순으로 최대 limit 개. prefix 가 비어 있으면 처음부터
+     */
+    public List<Match> complete(long guildId, String prefix, int limit) {
+        GuildNames names = guilds.get(guildId);
+        if (names == null || limit <= 0) {
+            return List.of();
+        }
+
+        String from = keyOf(prefix == null ? "" : prefix.strip());
+        List<Match> result = new ArrayList<>(Math.min(limit, 32));
+        for (Long userId : names.byName.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            String name = names.byId.get(userId);
+            if (name != null) {
+                result.add(new Match(userId, name));
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static String nameKey(String name, long userId) {
+        return keyOf(name) + '\0' + userId;
+    }
+
+    private static String keyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.studybot.voicechannel;
+
+/**
+ * 사용자별 합계 projection
+ */
+public interface UserTotalView {
+    Long getUserId();
+
+    Long getTotalSeconds();
+}
@@ -0,0 +1,12 @@
+package org.example.studybot.voicechannel;
+
+/**
+ * 사용자 × 주차(월요일 기준) 합계 projection (월간 집계용)
+ */
+public interface UserWeekTotalView {
+    Long getUserId();
+
+    Long getWeekIndex();
+
+    Long getTotalSeconds();
+}
@@ -6,12 +6,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "voice_channel_logs")
+// 인덱스는 Flyway 마이그레이션(V2 ~ V4, V6)에서 생성, 여기는 문서용
+@Table(name = "voice_channel_logs", indexes = {
+    @Index(name = "idx_voice_logs_guild_started", columnList = "guild_id, started_at, user_id, duration"),
+    @Index(name = "idx_voice_logs_user_started", columnList = "user_id, started_at"),
+    @Index(name = "idx_voice_logs_guild_channel", columnList = "guild_id, channel_id")
+})
 @Getter
 @Setter
 public class VoiceChannelLog {
@@ -19,11 +25,13 @@ public class VoiceChannelLog {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    private Long guildId; // 서버 ID (V3 이전 기록은 처음 설정된 서버로 옮겨짐)
     private Long userId;
     private String nickName;
     private Long channelId;
     private String channelName;
     private Long duration; // 머문 시간(초)
-    private LocalDateTime recordedAt; // 기록 시간
+    private LocalDateTime startedAt; // 구간 시작 (자정을 넘긴 세션은 날짜별로 나뉘어 저장됨)
+    private LocalDateTime recordedAt; // 구간 끝 (퇴장 시각 또는 다음 날 00:00)
     private String userName;
 }
@@ -10,19 +10,13 @@ import org.springframework.data.repository.query.Param;
 public interface VoiceChannelLogRepository extends Repository<VoiceChannelLog, Long> {
     VoiceChannelLog save(VoiceChannelLog log);
 
-    @Query("SELECT v FROM VoiceChannelLog v WHERE v.recordedAt >= :start AND v.recordedAt < :end")
-    List<VoiceChannelLog> findAllLogsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-
-    @Query("SELECT v FROM VoiceChannelLog v WHERE v.recordedAt >= :start AND v.recordedAt < :end AND v.userName = :userName")
-    List<VoiceChannelLog> findLogsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end, String userName);
-
-    // 주간 기록 (이번 주)
-    @Query("SELECT v FROM VoiceChannelLog v WHERE v.recordedAt >= :startOfWeek AND v.recordedAt < :endOfWeek")
-    List<VoiceChannelLog> findWeeklyLogs(@Param("startOfWeek") String startOfWeek, @Param("endOfWeek") String endOfWeek);
-
-    // 일간 기록 (오늘)
-    @Query("SELECT v FROM VoiceChannelLog v WHERE v.recordedAt >= :startOfDay AND v.recordedAt < :endOfDay")
-    List<VoiceChannelLog> findDailyLogs(@Param("startOfDay") String startOfDay, @Param("endOfDay") String endOfDay);
+    // 구간은 날짜를 넘지 않으므로 시작 시각으로만 범위를 자른다
+    // 서버의 기간 내 사용자별 합계 (userId 가 null 이면 전체). 별명과 상관없이 userId 로 묶는다
+    @Query("SELECT v.userId AS userId, SUM(v.duration) AS totalSeconds "
+        + "FROM VoiceChannelLog v WHERE v.guildId = :guildId AND v.startedAt >= :start AND v.startedAt < :end "
+        + "AND v.userId IS NOT NULL AND (:userId IS NULL OR v.userId = :userId) "
+        + "GROUP BY v.userId")
+    List<UserTotalView> sumByUserBetween(@Param("guildId") long guildId, @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end, @Param("userId") Long userId);
 
 }
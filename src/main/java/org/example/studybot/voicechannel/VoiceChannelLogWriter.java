@@ -0,0 +1,620 @@
+package org.example.studybot.voicechannel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.studybot.util.MinuteBitset;
+import org.example.studybot.util.ReportCache;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 음성 채널 기록 write-behind 저장기
+ * JDA 이벤트 스레드는 큐에 넣기만 하고, 실제 insert 는 별도 스레드가 JDBC 배치로 처리한다.
+ * 자정을 넘긴 세션은 넣을 때 날짜별 구간으로 나누므로, 한 행은 항상 하루 안에 있다.
+ * 같은 트랜잭션에서 user_daily_totals rollup 과 분 단위 출석(user_minute_presence)도 함께 쌓고,
+ * 커밋 후 메모리 색인(DailyTotalIndex, MinutePresenceIndex)에도 반영한다.
+ * DB 에 쓸 수 없을 때는 spill 파일에 보관했다가 다음 flush 때 다시 시도한다.
+ */
+@Slf4j
+@Component
+// rollup backfill(덮어쓰기)이 끝난 뒤에 flush 를 시작한다
+@DependsOn("userDailyTotalBackfill")
+public class VoiceChannelLogWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO voice_channel_logs "
+            + "(guild_id, user_id, nick_name, user_name, channel_id, channel_name, duration, started_at, recorded_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_DAILY_TOTAL_SQL =
+        "INSERT INTO user_daily_totals (guild_id, user_id, stat_date, seconds, session_count, display_name) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE seconds = seconds + VALUES(seconds), "
+            + "session_count = session_count + VALUES(session_count), display_name = VALUES(display_name)";
+
+    // 이미 있던 출석과 OR 한 결과를 덮어쓴다
+    // (flush 스레드와 예전 기록 이전만 쓰고 둘은 DailyTotalIndex 잠금으로 겹치지 않으므로 메모리 색인 값이 최신)
+    private static final String UPSERT_PRESENCE_SQL =
+        "INSERT INTO user_minute_presence (guild_id, user_id, stat_date, minute_runs) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE minute_runs = VALUES(minute_runs)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VoiceChannelLogWriterProperties properties;
+    private final ReportCache reportCache;
+    private final DailyTotalIndex dailyTotalIndex;
+    private final MinutePresenceIndex presenceIndex;
+
+    private final BlockingQueue<VoiceChannelLog> queue;
+    // 큐가 가득 찼을 때 넘친 기록. flush 스레드가 spill 파일에 옮긴다 (이벤트 스레드에서 파일 I/O 를 하지 않도록)
+    private final ConcurrentLinkedQueue<VoiceChannelLog> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+    // flush 요청이 이미 실행 대기 중이면 또 넣지 않는다
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Path spillPath;
+    private final Object spillLock = new Object();
+
+    private final Counter enqueuedCounter;
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+    private final Counter spilledCounter;
+    private final Counter failedFlushCounter;
+    private final Timer flushTimer;
+
+    public VoiceChannelLogWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+        VoiceChannelLogWriterProperties properties, ReportCache reportCache, DailyTotalIndex dailyTotalIndex,
+        MinutePresenceIndex presenceIndex, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.reportCache = reportCache;
+        this.dailyTotalIndex = dailyTotalIndex;
+        this.presenceIndex = presenceIndex;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "voice-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.spillPath = Path.of(properties.getSpillFile());
+
+        Gauge.builder("studybot.voicelog.writer.queue.size", queue, Collection::size)
+            .description("flush 대기 중인 음성 채널 기록 수")
+            .register(meterRegistry);
+        this.enqueuedCounter = meterRegistry.counter("studybot.voicelog.writer.enqueued");
+        this.flushedCounter = meterRegistry.counter("studybot.voicelog.writer.flushed");
+        this.rejectedCounter = meterRegistry.counter("studybot.voicelog.writer.rejected");
+        this.spilledCounter = meterRegistry.counter("studybot.voicelog.writer.spilled");
+        this.failedFlushCounter = meterRegistry.counter("studybot.voicelog.writer.flush.failed");
+        this.flushTimer = meterRegistry.timer("studybot.voicelog.writer.flush");
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = properties.getFlushIntervalMs();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 이벤트 스레드에서 호출. 절대 DB 나 파일을 기다리지 않는다.
+     * 세션(startedAt ~ recordedAt)은 날짜별 구간으로 나눠서 넣는다.
+     * 큐가 가득 찬 경우(backpressure)에는 넘친 기록을 flush 스레드에 넘겨 spill 파일에 기록하게 한다.
+     * 넘친 기록마저 큐 크기만큼 쌓였으면(flush 스레드가 멈춘 경우) 그때만 여기서 바로 spill 한다.
+     */
+    public void enqueue(VoiceChannelLog voiceLog) {
+        for (VoiceChannelLog segment : splitByDay(voiceLog)) {
+            if (queue.offer(segment)) {
+                enqueuedCounter.increment();
+                continue;
+            }
+
+            rejectedCounter.increment();
+            if (overflowSize.incrementAndGet() <= properties.getQueueCapacity()) {
+                overflow.add(segment);
+                continue;
+            }
+            overflowSize.decrementAndGet();
+            log.warn("[VoiceChannelLogWriter] 큐와 넘침 대기열이 모두 가득 차서 바로 spill 파일에 기록합니다. capacity={}",
+                properties.getQueueCapacity());
+            spill(List.of(segment));
+        }
+
+        if (queue.size() >= properties.getBatchSize() || overflowSize.get() > 0) {
+            requestFlush();
+        }
+    }
+
+    // 대기 중인 flush 요청이 없을 때만 하나 넣는다. 종료 중이면 shutdown() 의 마지막 flush 가 비운다
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushSafely();
+            });
+        } catch (RejectedExecutionException e) {
+            flushRequested.set(false);
+        }
+    }
+
+    /**
+     * 세션을 자정 기준으로 나눈다. 각 구간의 duration 합은 원래 duration 과 같다.
+     * 예) 23:00 ~ 02:00 → [23:00 ~ 다음 날 00:00, 3600초] + [00:00 ~ 02:00, 7200초]
+     */
+    static List<VoiceChannelLog> splitByDay(VoiceChannelLog session) {
+        LocalDateTime end = session.getRecordedAt();
+        LocalDateTime start = session.getStartedAt() != null
+            ? session.getStartedAt()
+            : end.minusSeconds(session.getDuration());
+        if (!start.toLocalDate().isBefore(end.toLocalDate())) {
+            session.setStartedAt(start);
+            return List.of(session);
+        }
+
+        // 초 단위 절삭 오차가 쌓이지 않도록 세션 시작부터의 누적 초로 구간 길이를 계산한다
+        List<VoiceChannelLog> segments = new ArrayList<>();
+        LocalDateTime segmentStart = start;
+        long elapsed = 0L;
+        while (segmentStart.isBefore(end)) {
+            LocalDateTime nextMidnight = segmentStart.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = nextMidnight.isBefore(end) ? nextMidnight : end;
+            long elapsedAtEnd = segmentEnd.equals(end)
+                ? session.getDuration()
+                : Math.min(session.getDuration(), ChronoUnit.SECONDS.between(start, segmentEnd));
+
+            segments.add(segment(session, segmentStart, segmentEnd, elapsedAtEnd - elapsed));
+            elapsed = elapsedAtEnd;
+            segmentStart = segmentEnd;
+        }
+        return segments;
+    }
+
+    private static VoiceChannelLog segment(VoiceChannelLog session, LocalDateTime start, LocalDateTime end,
+        long duration) {
+        VoiceChannelLog segment = new VoiceChannelLog();
+        segment.setGuildId(session.getGuildId());
+        segment.setUserId(session.getUserId());
+        segment.setNickName(session.getNickName());
+        segment.setUserName(session.getUserName());
+        segment.setChannelId(session.getChannelId());
+        segment.setChannelName(session.getChannelName());
+        segment.setDuration(duration);
+        segment.setStartedAt(start);
+        segment.setRecordedAt(end);
+        return segment;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(properties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flusher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        // 남은 기록은 종료 스레드에서 직접 비운다 (실패하면 spill 파일로)
+        flushSafely();
+        log.info("[VoiceChannelLogWriter] 종료 완료. 남은 큐={}", queue.size());
+    }
+
+    // ===================== flush =====================
+
+    private void flushSafely() {
+        try {
+            flushTimer.record(this::flush);
+        } catch (Exception e) {
+            log.error("[VoiceChannelLogWriter] flush 중 오류", e);
+        }
+    }
+
+    private void flush() {
+        spillOverflow();
+        boolean dbAvailable = replaySpillFile();
+
+        List<VoiceChannelLog> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            if (dbAvailable) {
+                dbAvailable = writeOrSpill(batch);
+            } else {
+                // DB 가 방금 실패했으면 이번 주기에는 더 시도하지 않고 바로 spill
+                spill(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private boolean writeOrSpill(List<VoiceChannelLog> batch) {
+        try {
+            writeBatch(batch);
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            failedFlushCounter.increment();
+            log.warn("[VoiceChannelLogWriter] DB 저장 실패, {}건을 spill 파일에 보관합니다: {}", batch.size(), e.getMessage());
+            spill(batch);
+            return false;
+        }
+    }
+
+    private void writeBatch(List<VoiceChannelLog> batch) {
+        List<DailyDelta> deltas = toDailyDeltas(batch);
+        // 출석 읽기부터 커밋, 색인 반영까지 DailyTotalIndex.reload / rewrite 가 끼어들지 않도록 묶는다
+        dailyTotalIndex.writeCommitted(() -> {
+            for (DailyDelta delta : deltas) {
+                delta.presence = presenceIndex.get(delta.guildId, delta.userId, delta.statDate)
+                    .or(delta.minutes)
+                    .toRuns();
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, voiceLog) -> {
+                    ps.setLong(1, voiceLog.getGuildId());
+                    ps.setLong(2, voiceLog.getUserId());
+                    ps.setString(3, voiceLog.getNickName());
+                    ps.setString(4, voiceLog.getUserName());
+                    ps.setLong(5, voiceLog.getChannelId());
+                    ps.setString(6, voiceLog.getChannelName());
+                    ps.setLong(7, voiceLog.getDuration());
+                    ps.setTimestamp(8, Timestamp.valueOf(voiceLog.getStartedAt()));
+                    ps.setTimestamp(9, Timestamp.valueOf(voiceLog.getRecordedAt()));
+                });
+
+                jdbcTemplate.batchUpdate(UPSERT_DAILY_TOTAL_SQL, deltas, deltas.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.guildId);
+                    ps.setLong(2, delta.userId);
+                    ps.setDate(3, Date.valueOf(delta.statDate));
+                    ps.setLong(4, delta.seconds);
+                    ps.setInt(5, delta.sessionCount);
+                    ps.setString(6, delta.displayName);
+                });
+                jdbcTemplate.batchUpdate(UPSERT_PRESENCE_SQL, deltas, deltas.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.guildId);
+                    ps.setLong(2, delta.userId);
+                    ps.setDate(3, Date.valueOf(delta.statDate));
+                    ps.setBytes(4, delta.presence);
+                });
+            });
+            for (DailyDelta delta : deltas) {
+                dailyTotalIndex.add(delta.guildId, delta.userId, delta.statDate, delta.seconds);
+                presenceIndex.put(delta.guildId, delta.userId, delta.statDate, delta.presence);
+            }
+        });
+        flushedCounter.increment(batch.size());
+        invalidateReports(batch);
+    }
+
+    /**
+     * 커밋된 뒤에야 조회 결과가 바뀌므로, 세션 종료 시점이 아니라 여기서 기록 명령어 캐시를 지운다.
+     * (종료 직후에 지우면 flush 전에 다시 조회한 예전 결과가 캐시에 남는다)
+     */
+    private void invalidateReports(List<VoiceChannelLog> batch) {
+        Map<Long, LocalDateTime[]> rangeByGuild = new HashMap<>();
+        for (VoiceChannelLog voiceLog : batch) {
+            LocalDateTime[] range = rangeByGuild.computeIfAbsent(voiceLog.getGuildId(),
+                id -> new LocalDateTime[] {voiceLog.getStartedAt(), voiceLog.getRecordedAt()});
+            if (voiceLog.getStartedAt().isBefore(range[0])) {
+                range[0] = voiceLog.getStartedAt();
+            }
+            if (voiceLog.getRecordedAt().isAfter(range[1])) {
+                range[1] = voiceLog.getRecordedAt();
+            }
+        }
+        rangeByGuild.forEach((guildId, range) -> reportCache.invalidate(guildId, range[0], range[1]));
+    }
+
+    // 배치 안에서 먼저 (guildId, userId, 날짜) 별로 합쳐서 upsert 횟수를 줄인다 (날짜 = 구간 시작 날짜)
+    private static List<DailyDelta> toDailyDeltas(List<VoiceChannelLog> batch) {
+        Map<String, DailyDelta> deltas = new LinkedHashMap<>();
+        for (VoiceChannelLog voiceLog : batch) {
+            LocalDate statDate = voiceLog.getStartedAt().toLocalDate();
+            String key = voiceLog.getGuildId() + ":" + voiceLog.getUserId() + ":" + statDate;
+            DailyDelta delta = deltas.computeIfAbsent(key,
+                k -> new DailyDelta(voiceLog.getGuildId(), voiceLog.getUserId(), statDate));
+            delta.seconds += voiceLog.getDuration();
+            delta.sessionCount++;
+            delta.displayName = displayNameOf(voiceLog);
+            delta.minutes.set(startMinute(voiceLog), endMinute(voiceLog));
+        }
+        return new ArrayList<>(deltas.values());
+    }
+
+    // 구간 시작이 걸친 분부터
+    private static int startMinute(VoiceChannelLog voiceLog) {
+        return voiceLog.getStartedAt().toLocalTime().toSecondOfDay() / 60;
+    }
+
+    // 구간 끝이 걸친 분까지 (다음 날 00:00 으로 끝나면 하루 끝까지)
+    private static int endMinute(VoiceChannelLog voiceLog) {
+        LocalDateTime end = voiceLog.getRecordedAt();
+        if (end.toLocalDate().isAfter(voiceLog.getStartedAt().toLocalDate())) {
+            return MinuteBitset.MINUTES_PER_DAY;
+        }
+        return (end.toLocalTime().toSecondOfDay() + 59) / 60;
+    }
+
+    private static String displayNameOf(VoiceChannelLog voiceLog) {
+        String nickName = voiceLog.getNickName();
+        return nickName != null && !nickName.isBlank() ? nickName : voiceLog.getUserName();
+    }
+
+    private static final class DailyDelta {
+        private final long guildId;
+        private final long userId;
+        private final LocalDate statDate;
+        private long seconds;
+        private int sessionCount;
+        private String displayName;
+        // 이 배치의 구간들이 차지한 분
+        private final MinuteBitset minutes = new MinuteBitset();
+        // 저장할 값: 기존 출석 OR minutes 의 run-length
+        private byte[] presence;
+
+        private DailyDelta(long guildId, long userId, LocalDate statDate) {
+            this.guildId = guildId;
+            this.userId = userId;
+            this.statDate = statDate;
+        }
+    }
+
+    // ===================== spill 파일 =====================
+
+    // 이벤트 스레드가 넘긴 기록을 spill 파일로 (바로 이어서 replaySpillFile 이 DB 에 넣어 본다)
+    private void spillOverflow() {
+        List<VoiceChannelLog> logs = new ArrayList<>();
+        VoiceChannelLog voiceLog;
+        while ((voiceLog = overflow.poll()) != null) {
+            logs.add(voiceLog);
+        }
+        if (logs.isEmpty()) {
+            return;
+        }
+        overflowSize.addAndGet(-logs.size());
+        log.warn("[VoiceChannelLogWriter] 큐가 가득 차서 넘친 {}건을 spill 파일에 기록합니다. capacity={}", logs.size(),
+            properties.getQueueCapacity());
+        spill(logs);
+    }
+
+    private void spill(List<VoiceChannelLog> logs) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (VoiceChannelLog voiceLog : logs) {
+                    writer.write(toSpillLine(voiceLog));
+                    writer.newLine();
+                }
+                spilledCounter.increment(logs.size());
+            } catch (IOException e) {
+                log.error("[VoiceChannelLogWriter] spill 파일 기록 실패, {}건 유실", logs.size(), e);
+            }
+        }
+    }
+
+    /**
+     * spill 파일이 있으면 DB 에 다시 넣어본다.
+     * 파일을 먼저 .replay 로 옮겨 두고 처리하므로, 처리 중에 새로 spill 되는 기록과 섞이지 않는다.
+     * 이전에 끝까지 처리하지 못한 .replay 가 남아 있으면 (재저장 중 종료 등) 그것부터 처리하고 나서 옮긴다.
+     *
+     * @return DB 에 쓸 수 있는 상태인지 여부
+     */
+    private boolean replaySpillFile() {
+        Path replayPath = spillPath.resolveSibling(spillPath.getFileName() + ".replay");
+
+        if (Files.exists(replayPath) && !replay(replayPath)) {
+            return false;
+        }
+
+        synchronized (spillLock) {
+            if (!Files.exists(spillPath)) {
+                return true;
+            }
+            try {
+                // 위에서 처리했으므로 .replay 는 없다 (있으면 덮어쓰지 않고 실패)
+                Files.move(spillPath, replayPath);
+            } catch (IOException e) {
+                log.error("[VoiceChannelLogWriter] spill 파일 이동 실패", e);
+                return true;
+            }
+        }
+        return replay(replayPath);
+    }
+
+    /**
+     * .replay 파일의 기록을 배치로 저장한다.
+     * 읽을 수 없는 줄(쓰다 만 줄 등)은 .rejected 파일로 옮기고 나머지는 계속 처리한다.
+     * DB 저장이 실패하면 아직 저장하지 못한 기록만 남도록 .replay 를 다시 쓰고, 다음 flush 때 이어서 처리한다.
+     * (배치 하나가 커밋된 직후 프로세스가 죽으면 그 배치는 다음에 한 번 더 저장될 수 있다)
+     */
+    private boolean replay(Path replayPath) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(replayPath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("[VoiceChannelLogWriter] spill 파일 읽기 실패", e);
+            return true;
+        }
+
+        List<VoiceChannelLog> pending = new ArrayList<>(lines.size());
+        List<String> rejected = new ArrayList<>();
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                // 이전 spill 파일의 기록은 나뉘지 않은 세션일 수 있음
+                pending.addAll(splitByDay(fromSpillLine(line)));
+            } catch (RuntimeException e) {
+                rejected.add(line);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            quarantine(rejected);
+        }
+
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<VoiceChannelLog> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            try {
+                writeBatch(chunk);
+            } catch (DataAccessException | TransactionException e) {
+                failedFlushCounter.increment();
+                log.warn("[VoiceChannelLogWriter] spill 기록 재저장 실패, {}건 남음: {}", pending.size() - from,
+                    e.getMessage());
+                rewrite(replayPath, pending.subList(from, pending.size()));
+                return false;
+            }
+        }
+
+        log.info("[VoiceChannelLogWriter] spill 파일 기록 {}건 재저장 완료", pending.size());
+        deleteQuietly(replayPath);
+        return true;
+    }
+
+    // 남은 기록만으로 파일을 바꾼다 (임시 파일에 다 쓴 뒤 옮기므로 중간에 죽어도 원래 파일은 그대로)
+    private void rewrite(Path path, List<VoiceChannelLog> remaining) {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            for (VoiceChannelLog voiceLog : remaining) {
+                writer.write(toSpillLine(voiceLog));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            // 원래 파일을 그대로 두면 이미 저장된 기록이 한 번 더 들어가지만, 잃어버리지는 않는다
+            log.error("[VoiceChannelLogWriter] 남은 spill 기록을 다시 쓰지 못했습니다: {}", path, e);
+            deleteQuietly(tempPath);
+            return;
+        }
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("[VoiceChannelLogWriter] 남은 spill 기록으로 교체하지 못했습니다: {}", path, e);
+            deleteQuietly(tempPath);
+        }
+    }
+
+    // 읽을 수 없는 줄은 버리지 않고 따로 모아 둔다 (직접 확인 후 고쳐서 spill 파일에 다시 넣을 수 있음)
+    private void quarantine(List<String> lines) {
+        Path rejectedPath = spillPath.resolveSibling(spillPath.getFileName() + ".rejected");
+        log.warn("[VoiceChannelLogWriter] 읽을 수 없는 spill 기록 {}건을 {} 로 옮깁니다", lines.size(), rejectedPath);
+        try {
+            Files.write(rejectedPath, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("[VoiceChannelLogWriter] 읽을 수 없는 spill 기록 보관 실패, {}건 유실", lines.size(), e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("[VoiceChannelLogWriter] 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    // spill 파일 한 줄 (테스트에서 왕복 확인)
+    static String toSpillLine(VoiceChannelLog voiceLog) {
+        return String.join("\t",
+            String.valueOf(voiceLog.getUserId()),
+            escape(voiceLog.getNickName()),
+            escape(voiceLog.getUserName()),
+            String.valueOf(voiceLog.getChannelId()),
+            escape(voiceLog.getChannelName()),
+            String.valueOf(voiceLog.getDuration()),
+            voiceLog.getRecordedAt().toString(),
+            String.valueOf(voiceLog.getGuildId()),
+            voiceLog.getStartedAt().toString());
+    }
+
+    static VoiceChannelLog fromSpillLine(String line) {
+        String[] cols = line.split("\t", -1);
+
+        VoiceChannelLog voiceLog = new VoiceChannelLog();
+        voiceLog.setUserId(Long.parseLong(cols[0]));
+        voiceLog.setNickName(unescape(cols[1]));
+        voiceLog.setUserName(unescape(cols[2]));
+        voiceLog.setChannelId(Long.parseLong(cols[3]));
+        voiceLog.setChannelName(unescape(cols[4]));
+        voiceLog.setDuration(Long.parseLong(cols[5]));
+        voiceLog.setRecordedAt(LocalDateTime.parse(cols[6]));
+        // guildId 는 뒤에 추가된 컬럼이라 이전 spill 파일에는 없음 (처음 설정되는 서버가 가져감)
+        voiceLog.setGuildId(cols.length > 7 ? Long.parseLong(cols[7]) : 0L);
+        // startedAt 도 뒤에 추가된 컬럼 (이전 spill 파일은 끝 시각 - 머문 시간)
+        voiceLog.setStartedAt(cols.length > 8
+            ? LocalDateTime.parse(cols[8])
+            : voiceLog.getRecordedAt().minusSeconds(voiceLog.getDuration()));
+        return voiceLog;
+    }
+
+    // 탭/줄바꿈(\r 포함)이 이름에 섞여 있어도 한 줄 한 기록이 유지되도록 이스케이프
+    private static String escape(String value) {
+        if (value == null) {
+            return "\\0";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        if ("\\0".equals(value)) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
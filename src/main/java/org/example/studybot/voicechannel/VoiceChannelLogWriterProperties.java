@@ -0,0 +1,64 @@
+package org.example.studybot.voicechannel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "voice-log-writer")
+public class VoiceChannelLogWriterProperties {
+
+    // 한 번에 insert 할 최대 건수
+    private int batchSize = 100;
+
+    // 배치가 덜 찼어도 이 주기(ms)마다 flush
+    private long flushIntervalMs = 1000;
+
+    // 큐 최대 크기 (가득 차면 디스크 spill 파일로 넘김)
+    private int queueCapacity = 10_000;
+
+    // DB 에 쓰지 못한 기록을 임시로 보관하는 파일
+    private String spillFile = "voice-log-spill.tsv";
+
+    // 종료 시 남은 기록을 비우는 데 기다릴 최대 시간(ms)
+    private long shutdownTimeoutMs = 5000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getSpillFile() {
+        return spillFile;
+    }
+
+    public void setSpillFile(String spillFile) {
+        this.spillFile = spillFile;
+    }
+
+    public long getShutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+}
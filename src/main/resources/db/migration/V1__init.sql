@@ -0,0 +1,22 @@
+-- 기존 ddl-auto: update 가 만들던 스키마와 동일한 기준선
+-- 이미 테이블이 있는 DB 에서도 돌 수 있도록 IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS voice_channel_logs (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT,
+    nick_name    VARCHAR(255),
+    channel_id   BIGINT,
+    channel_name VARCHAR(255),
+    duration     BIGINT,
+    recorded_at  DATETIME(6),
+    user_name    VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_daily_totals (
+    user_id       BIGINT       NOT NULL,
+    stat_date     DATE         NOT NULL,
+    seconds       BIGINT,
+    session_count INT,
+    display_name  VARCHAR(255),
+    PRIMARY KEY (user_id, stat_date)
+) ENGINE = InnoDB;
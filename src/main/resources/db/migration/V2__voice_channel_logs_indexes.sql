@@ -0,0 +1,8 @@
+-- 기간 조회(recorded_at 범위)에서 테이블을 다시 읽지 않도록 user_id, duration 까지 포함
+CREATE INDEX idx_voice_logs_recorded_user_duration ON voice_channel_logs (recorded_at, user_id, duration);
+
+-- 개인 기록 조회 (user_id = ? AND recorded_at 범위)
+CREATE INDEX idx_voice_logs_user_recorded ON voice_channel_logs (user_id, recorded_at);
+
+-- 날짜 범위 rollup 조회 (PK 는 user_id 가 앞이라 전체 조회 시 사용 불가)
+CREATE INDEX idx_user_daily_totals_date ON user_daily_totals (stat_date);
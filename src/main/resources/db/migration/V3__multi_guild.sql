@@ -0,0 +1,32 @@
+-- 서버(guild) 별로 기록을 나누기 위한 guild_id
+-- 기존 단일 서버 기록은 0 으로 두었다가, 처음 설정되는 서버가 가져간다 (GuildChannelRegistry)
+ALTER TABLE voice_channel_logs ADD COLUMN guild_id BIGINT NOT NULL DEFAULT 0;
+
+-- 서버 + 기간 조회에서 테이블을 다시 읽지 않도록 user_id, duration 까지 포함 (기존 기간 인덱스를 대신함)
+CREATE INDEX idx_voice_logs_guild_recorded ON voice_channel_logs (guild_id, recorded_at, user_id, duration);
+DROP INDEX idx_voice_logs_recorded_user_duration ON voice_channel_logs;
+
+ALTER TABLE user_daily_totals
+    ADD COLUMN guild_id BIGINT NOT NULL DEFAULT 0 FIRST,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (guild_id, user_id, stat_date);
+
+CREATE INDEX idx_user_daily_totals_guild_date ON user_daily_totals (guild_id, stat_date);
+DROP INDEX idx_user_daily_totals_date ON user_daily_totals;
+
+-- 서버별 입퇴장 로그 / 통계 채널
+CREATE TABLE guild_settings (
+    guild_id           BIGINT NOT NULL,
+    log_channel_id     BIGINT,
+    summary_channel_id BIGINT,
+    PRIMARY KEY (guild_id)
+) ENGINE = InnoDB;
+
+-- 서버별 공부 시간을 기록할 음성 채널 (한 서버에 여러 개 가능)
+CREATE TABLE tracked_voice_channels (
+    channel_id BIGINT NOT NULL,
+    guild_id   BIGINT NOT NULL,
+    PRIMARY KEY (channel_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_tracked_voice_channels_guild ON tracked_voice_channels (guild_id);
@@ -0,0 +1,15 @@
+-- 세션을 (시작, 끝) 으로 저장하고, 자정을 넘긴 세션은 날짜별 구간으로 나눠서 기록한다
+-- started_at = 구간 시작, recorded_at = 구간 끝 (다음 날 00:00 일 수 있음). 기간 조회는 started_at 기준
+ALTER TABLE voice_channel_logs ADD COLUMN started_at DATETIME(6) NULL AFTER duration;
+
+-- 기존 기록은 끝 시각 - 머문 시간으로 채운다 (이미 저장된 기록은 나누지 않음)
+UPDATE voice_channel_logs
+SET started_at = DATE_SUB(recorded_at, INTERVAL COALESCE(duration, 0) SECOND)
+WHERE started_at IS NULL AND recorded_at IS NOT NULL;
+
+-- 기간 조회 인덱스를 시작 시각 기준으로 교체
+CREATE INDEX idx_voice_logs_guild_started ON voice_channel_logs (guild_id, started_at, user_id, duration);
+DROP INDEX idx_voice_logs_guild_recorded ON voice_channel_logs;
+
+CREATE INDEX idx_voice_logs_user_started ON voice_channel_logs (user_id, started_at);
+DROP INDEX idx_voice_logs_user_recorded ON voice_channel_logs;
@@ -0,0 +1,10 @@
+-- 사용자별 하루 분 단위 출석 (시간대 히트맵용)
+-- minute_runs: 하루 1440분 비트셋을 (시작 분, 길이) 2바이트씩 run-length 로 저장 (최대 720구간 = 2880바이트)
+-- 이 테이블이 생긴 뒤의 기록부터 쌓인다
+CREATE TABLE user_minute_presence (
+    guild_id    BIGINT          NOT NULL,
+    user_id     BIGINT          NOT NULL,
+    stat_date   DATE            NOT NULL,
+    minute_runs VARBINARY(2880) NOT NULL,
+    PRIMARY KEY (guild_id, user_id, stat_date)
+) ENGINE = InnoDB;
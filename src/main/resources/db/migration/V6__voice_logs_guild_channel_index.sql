@@ -0,0 +1,2 @@
+-- 처음 설정되는 서버가 기존 기록(guild_id = 0)을 채널별로 가져갈 때 테이블 전체를 읽지 않도록 (GuildChannelRegistry)
+CREATE INDEX idx_voice_logs_guild_channel ON voice_channel_logs (guild_id, channel_id);
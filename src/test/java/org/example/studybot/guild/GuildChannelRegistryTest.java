@@ -0,0 +1,148 @@
+package org.example.studybot.guild;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.example.studybot.util.ReportCache;
+import org.example.studybot.util.TextChannelProperties;
+import org.example.studybot.voicechannel.DailyTotalIndex;
+import org.example.studybot.voicechannel.MinutePresenceIndex;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.VoiceChannelProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
+import net.dv8tion.jda.api.events.channel.ChannelCreateEvent;
+
+class GuildChannelRegistryTest {
+
+    private static final long GUILD_ID = 1L;
+    // DB 에 설정된 채널 (이름 설정과 다른 이름)
+    private static final long CONFIGURED_A = 10L;
+    private static final long CONFIGURED_B = 11L;
+    private static final long LOG_CHANNEL_ID = 30L;
+
+    private GuildSettingsRepository settingsRepository;
+    private TrackedVoiceChannelRepository trackedChannelRepository;
+    private JdbcTemplate jdbcTemplate;
+    private ReportCache reportCache;
+    private TodayLeaderboard leaderboard;
+    private GuildChannelRegistry registry;
+    private Guild guild;
+
+    @BeforeEach
+    void setUp() {
+        settingsRepository = mock(GuildSettingsRepository.class);
+        trackedChannelRepository = mock(TrackedVoiceChannelRepository.class);
+        when(settingsRepository.findAll()).thenReturn(List.of(new GuildSettings(GUILD_ID, LOG_CHANNEL_ID, null)));
+        when(trackedChannelRepository.findAll()).thenReturn(List.of(
+            new TrackedVoiceChannel(CONFIGURED_A, GUILD_ID), new TrackedVoiceChannel(CONFIGURED_B, GUILD_ID)));
+
+        VoiceChannelProperties voiceChannelProperties = new VoiceChannelProperties();
+        voiceChannelProperties.setTargetChannelName("모각공");
+        TextChannelProperties textChannelProperties = new TextChannelProperties();
+        textChannelProperties.setTargetChannelName("공부-로그");
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        reportCache = new ReportCache(new SimpleMeterRegistry(), 16);
+        leaderboard = mock(TodayLeaderboard.class);
+        registry = new GuildChannelRegistry(settingsRepository, trackedChannelRepository, jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), voiceChannelProperties,
+            textChannelProperties, new DailyTotalIndex(jdbcTemplate), mock(UserNameIndex.class),
+            new MinutePresenceIndex(jdbcTemplate), reportCache, leaderboard);
+        registry.load();
+
+        guild = mock(Guild.class);
+        when(guild.getIdLong()).thenReturn(GUILD_ID);
+    }
+
+    private static VoiceChannel voiceChannel(long id) {
+        VoiceChannel channel = mock(VoiceChannel.class);
+        when(channel.getIdLong()).thenReturn(id);
+        return channel;
+    }
+
+    private void channelCreated(VoiceChannel... matchingName) {
+        when(guild.getVoiceChannelsByName("모각공", false)).thenReturn(List.of(matchingName));
+        ChannelCreateEvent event = mock(ChannelCreateEvent.class);
+        when(event.isFromGuild()).thenReturn(true);
+        when(event.getChannelType()).thenReturn(ChannelType.VOICE);
+        when(event.getGuild()).thenReturn(guild);
+        registry.onChannelCreate(event);
+        // 설정 저장 스레드의 작업을 끝까지 기다린다
+        registry.shutdown();
+    }
+
+    @Test
+    void channelCreateKeepsDbConfiguredChannelsThatDoNotMatchTheName() {
+        channelCreated();
+
+        assertThat(registry.trackedChannelIds(GUILD_ID)).containsExactly(CONFIGURED_A, CONFIGURED_B);
+        verify(trackedChannelRepository, never()).deleteById(anyLong());
+        verify(settingsRepository, never()).save(any());
+    }
+
+    @Test
+    void newNameMatchIsAddedNextToTheConfiguredChannels() {
+        channelCreated(voiceChannel(CONFIGURED_B), voiceChannel(20L));
+
+        assertThat(registry.trackedChannelIds(GUILD_ID)).containsExactlyInAnyOrder(CONFIGURED_A, CONFIGURED_B, 20L);
+        assertThat(registry.isTracked(GUILD_ID, 20L)).isTrue();
+        ArgumentCaptor<TrackedVoiceChannel> saved = ArgumentCaptor.forClass(TrackedVoiceChannel.class);
+        verify(trackedChannelRepository).save(saved.capture());
+        assertThat(saved.getValue().getChannelId()).isEqualTo(20L);
+        verify(trackedChannelRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void sameChannelsInADifferentOrderAreNotRewritten() {
+        channelCreated(voiceChannel(CONFIGURED_B), voiceChannel(CONFIGURED_A));
+
+        verify(trackedChannelRepository, never()).save(any());
+        verify(settingsRepository, never()).save(any());
+    }
+
+    @Test
+    void claimingLegacyRowsMovesTheLeaderboardAndClearsTheGuildsReports() {
+        when(jdbcTemplate.update(startsWith("UPDATE voice_channel_logs"), eq(GUILD_ID), eq(20L))).thenReturn(3);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 0, 0);
+        reportCache.get(new ReportCache.Key(GUILD_ID, "주간", start, start.plusDays(7), null), () -> "이 서버");
+        reportCache.get(new ReportCache.Key(2L, "주간", start, start.plusDays(7), null), () -> "다른 서버");
+
+        channelCreated(voiceChannel(20L));
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM user_minute_presence"));
+        verify(leaderboard).claimLegacy(GUILD_ID);
+        assertThat(reportCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void nothingToClaimLeavesTheLeaderboardAndReportsAlone() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 0, 0);
+        reportCache.get(new ReportCache.Key(GUILD_ID, "주간", start, start.plusDays(7), null), () -> "이 서버");
+
+        channelCreated(voiceChannel(20L));
+
+        verify(leaderboard, never()).claimLegacy(anyLong());
+        assertThat(reportCache.size()).isEqualTo(1);
+    }
+}
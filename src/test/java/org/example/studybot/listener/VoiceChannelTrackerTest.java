@@ -0,0 +1,155 @@
+package org.example.studybot.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.example.studybot.guild.GuildChannelRegistry;
+import org.example.studybot.voicechannel.SessionJournal;
+import org.example.studybot.voicechannel.SessionJournalProperties;
+import org.example.studybot.voicechannel.TodayLeaderboard;
+import org.example.studybot.voicechannel.UserNameIndex;
+import org.example.studybot.voicechannel.VoiceChannelLog;
+import org.example.studybot.voicechannel.VoiceChannelLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
+import net.dv8tion.jda.api.entities.channel.unions.AudioChannelUnion;
+import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
+
+class VoiceChannelTrackerTest {
+
+    private static final long GUILD_ID = 1L;
+    private static final long USER_ID = 100L;
+    private static final long TRACKED_ID = 10L;
+    private static final long UNTRACKED_ID = 50L;
+    private static final LocalDateTime JOINED_AT = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    @TempDir
+    Path dir;
+
+    private SessionJournal journal;
+    private VoiceChannelLogWriter logWriter;
+    private VoiceChannelTracker tracker;
+
+    private Guild guild;
+    private Member member;
+    private AudioChannelUnion tracked;
+    private AudioChannelUnion untracked;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SessionJournalProperties properties = new SessionJournalProperties();
+        properties.setPath(dir.resolve("session-journal.dat").toString());
+        journal = new SessionJournal(properties, new SimpleMeterRegistry());
+        journal.init();
+
+        GuildChannelRegistry registry = mock(GuildChannelRegistry.class);
+        when(registry.isTracked(GUILD_ID, TRACKED_ID)).thenReturn(true);
+
+        logWriter = mock(VoiceChannelLogWriter.class);
+        tracker = new VoiceChannelTracker();
+        ReflectionTestUtils.setField(tracker, "logWriter", logWriter);
+        ReflectionTestUtils.setField(tracker, "guildChannelRegistry", registry);
+        ReflectionTestUtils.setField(tracker, "sessionJournal", journal);
+        ReflectionTestUtils.setField(tracker, "leaderboard", mock(TodayLeaderboard.class));
+        ReflectionTestUtils.setField(tracker, "userNameIndex", mock(UserNameIndex.class));
+
+        VoiceChannel trackedVoiceChannel = mock(VoiceChannel.class);
+        when(trackedVoiceChannel.getName()).thenReturn("모각공");
+        guild = mock(Guild.class);
+        when(guild.getIdLong()).thenReturn(GUILD_ID);
+        when(guild.getVoiceChannelById(anyLong())).thenReturn(null);
+        when(guild.getVoiceChannelById(TRACKED_ID)).thenReturn(trackedVoiceChannel);
+
+        User user = mock(User.class);
+        when(user.getIdLong()).thenReturn(USER_ID);
+        when(user.getName()).thenReturn("user100");
+        member = mock(Member.class);
+        when(member.getUser()).thenReturn(user);
+        when(member.getIdLong()).thenReturn(USER_ID);
+        when(member.getEffectiveName()).thenReturn("공부러");
+
+        tracked = channel(TRACKED_ID, "모각공");
+        untracked = channel(UNTRACKED_ID, "잡담");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.shutdown();
+    }
+
+    private static AudioChannelUnion channel(long id, String name) {
+        AudioChannelUnion channel = mock(AudioChannelUnion.class);
+        when(channel.getIdLong()).thenReturn(id);
+        when(channel.getName()).thenReturn(name);
+        return channel;
+    }
+
+    private void voiceUpdate(LocalDateTime at, AudioChannelUnion joined, AudioChannelUnion left) {
+        ReflectionTestUtils.setField(tracker, "clock",
+            Clock.fixed(at.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        GuildVoiceUpdateEvent event = mock(GuildVoiceUpdateEvent.class);
+        when(event.getGuild()).thenReturn(guild);
+        when(event.getMember()).thenReturn(member);
+        when(event.getEntity()).thenReturn(member);
+        when(event.getChannelJoined()).thenReturn(joined);
+        when(event.getChannelLeft()).thenReturn(left);
+        tracker.onGuildVoiceUpdate(event);
+    }
+
+    @Test
+    void leavingTheTrackedChannelClosesTheSession() {
+        voiceUpdate(JOINED_AT, tracked, null);
+        voiceUpdate(JOINED_AT.plusMinutes(45), null, tracked);
+
+        ArgumentCaptor<VoiceChannelLog> saved = ArgumentCaptor.forClass(VoiceChannelLog.class);
+        verify(logWriter).enqueue(saved.capture());
+        assertThat(saved.getValue().getDuration()).isEqualTo(45L * 60);
+        assertThat(journal.isOpen(GUILD_ID, USER_ID)).isFalse();
+    }
+
+    @Test
+    void disconnectAfterMovingToAnUntrackedChannelClosesTheSession() {
+        voiceUpdate(JOINED_AT, tracked, null);
+        voiceUpdate(JOINED_AT.plusMinutes(30), untracked, tracked);
+        assertThat(journal.isOpen(GUILD_ID, USER_ID)).isTrue();
+
+        voiceUpdate(JOINED_AT.plusMinutes(60), null, untracked);
+
+        ArgumentCaptor<VoiceChannelLog> saved = ArgumentCaptor.forClass(VoiceChannelLog.class);
+        verify(logWriter).enqueue(saved.capture());
+        VoiceChannelLog voiceLog = saved.getValue();
+        assertThat(voiceLog.getDuration()).isEqualTo(60L * 60);
+        assertThat(voiceLog.getChannelId()).isEqualTo(TRACKED_ID);
+        assertThat(voiceLog.getChannelName()).isEqualTo("모각공");
+        assertThat(journal.isOpen(GUILD_ID, USER_ID)).isFalse();
+    }
+
+    @Test
+    void disconnectFromAnUntrackedChannelWithoutASessionIsIgnored() {
+        voiceUpdate(JOINED_AT, untracked, null);
+        voiceUpdate(JOINED_AT.plusMinutes(30), null, untracked);
+
+        verify(logWriter, never()).enqueue(any());
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.studybot.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class LongFenwickTreeTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new LongFenwickTree(1).capacity()).isEqualTo(1);
+        assertThat(new LongFenwickTree(5).capacity()).isEqualTo(8);
+        assertThat(new LongFenwickTree(64).capacity()).isEqualTo(64);
+    }
+
+    @Test
+    void rangeSumMatchesANaiveSum() {
+        SplittableRandom random = new SplittableRandom(42);
+        LongFenwickTree tree = new LongFenwickTree(100);
+        long[] values = new long[tree.capacity()];
+        for (int i = 0; i < 1_000; i++) {
+            int index = random.nextInt(values.length);
+            long delta = random.nextInt(-3600, 3600);
+            tree.add(index, delta);
+            values[index] += delta;
+        }
+
+        for (int from = 0; from < values.length; from += 7) {
+            for (int to = from; to < values.length; to += 5) {
+                long expected = 0L;
+                for (int i = from; i <= to; i++) {
+                    expected += values[i];
+                }
+                assertThat(tree.rangeSum(from, to)).as("[%d, %d]", from, to).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void growKeepsExistingSums() {
+        LongFenwickTree tree = new LongFenwickTree(4);
+        for (int i = 0; i < 4; i++) {
+            tree.add(i, i + 1);
+        }
+
+        // 4 → 8 → 16 → 32 → 64 → 128
+        tree.add(100, 1_000L);
+
+        assertThat(tree.capacity()).isEqualTo(128);
+        assertThat(tree.rangeSum(0, 3)).isEqualTo(10L);
+        assertThat(tree.get(2)).isEqualTo(3L);
+        assertThat(tree.rangeSum(4, 99)).isZero();
+        assertThat(tree.rangeSum(0, 127)).isEqualTo(1_010L);
+        assertThat(tree.get(100)).isEqualTo(1_000L);
+    }
+
+    @Test
+    void outOfRangeQueriesAreClamped() {
+        LongFenwickTree tree = new LongFenwickTree(8);
+        tree.add(0, 5L);
+        tree.add(7, 2L);
+
+        assertThat(tree.prefixSum(-1)).isZero();
+        assertThat(tree.prefixSum(1_000)).isEqualTo(7L);
+        assertThat(tree.rangeSum(5, 2)).isZero();
+    }
+
+    @Test
+    void negativeIndexIsRejected() {
+        LongFenwickTree tree = new LongFenwickTree(8);
+
+        assertThatThrownBy(() -> tree.add(-1, 1L)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
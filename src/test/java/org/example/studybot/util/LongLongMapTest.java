@@ -0,0 +1,71 @@
+package org.example.studybot.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LongLongMapTest {
+
+    @Test
+    void addToAccumulatesAndGetReturnsZeroForMissingKeys() {
+        LongLongMap map = new LongLongMap(4);
+
+        assertThat(map.addTo(7L, 30L)).isEqualTo(30L);
+        assertThat(map.addTo(7L, 12L)).isEqualTo(42L);
+
+        assertThat(map.get(7L)).isEqualTo(42L);
+        assertThat(map.get(8L)).isZero();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void containsKeyTellsZeroValuesFromMissingKeys() {
+        LongLongMap map = new LongLongMap(4);
+        map.addTo(7L, 0L);
+
+        assertThat(map.containsKey(7L)).isTrue();
+        assertThat(map.containsKey(8L)).isFalse();
+        assertThat(map.containsKey(0L)).isFalse();
+    }
+
+    @Test
+    void keyZeroIsRejected() {
+        LongLongMap map = new LongLongMap(4);
+
+        assertThatThrownBy(() -> map.addTo(0L, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void growKeepsEveryEntry() {
+        LongLongMap map = new LongLongMap(2);
+        Map<Long, Long> expected = new HashMap<>();
+        for (long key = 1; key <= 10_000; key++) {
+            // snowflake 처럼 큰 값, 같은 키에 두 번씩 더한다
+            long snowflake = key << 22;
+            map.addTo(snowflake, key);
+            map.addTo(snowflake, key);
+            expected.put(snowflake, key * 2);
+        }
+
+        Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        LongLongMap map = new LongLongMap(4);
+        map.addTo(7L, 1L);
+
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(7L)).isFalse();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.studybot.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MessageChunkerTest {
+
+    @Test
+    void sectionsMoveToTheNextMessageInsteadOfSplitting() {
+        List<String> chunks = new MessageChunker(10)
+            .append("aaaa\n").endSection()
+            .append("bbbb\n").endSection()
+            .append("cc\n").endSection()
+            .build();
+
+        assertThat(chunks).containsExactly("aaaa\nbbbb\n", "cc\n");
+    }
+
+    @Test
+    void oversizedSectionIsSplitAtTheLastNewline() {
+        List<String> chunks = new MessageChunker(10).append("12345\n12345\n123\n").endSection().build();
+
+        assertThat(chunks).containsExactly("12345\n", "12345\n123\n");
+    }
+
+    @Test
+    void lineLongerThanTheLimitIsSplitByCharacters() {
+        List<String> chunks = new MessageChunker(10).append("abcdefghijklmnopqrstuvwxy").build();
+
+        assertThat(chunks).containsExactly("abcdefghij", "klmnopqrst", "uvwxy");
+    }
+
+    @Test
+    void oversizedSectionStartsAfterTheCurrentMessageAndLeavesItsTailOpen() {
+        List<String> chunks = new MessageChunker(10)
+            .append("ab\n").endSection()
+            .append("cd\nefghijklmnop").endSection()
+            .append("q\n").endSection()
+            .build();
+
+        assertThat(chunks).containsExactly("ab\n", "cd\n", "efghijklmn", "opq\n");
+    }
+
+    @Test
+    void randomSectionsKeepTheTextAndStayWithinTheLimit() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int limit = 5 + random.nextInt(40);
+            MessageChunker chunker = new MessageChunker(limit);
+            StringBuilder expected = new StringBuilder();
+            for (int section = random.nextInt(20); section > 0; section--) {
+                for (int line = 1 + random.nextInt(4); line > 0; line--) {
+                    String text = "x".repeat(random.nextInt(2 * limit)) + "\n";
+                    chunker.append(text);
+                    expected.append(text);
+                }
+                chunker.endSection();
+            }
+
+            List<String> chunks = chunker.build();
+
+            assertThat(String.join("", chunks)).isEqualTo(expected.toString());
+            assertThat(chunks).allSatisfy(chunk -> assertThat(chunk).isNotEmpty().hasSizeLessThanOrEqualTo(limit));
+        }
+    }
+
+    @Test
+    void emptyBuilderHasNoMessagesAndLimitMustBePositive() {
+        assertThat(new MessageChunker().build()).isEmpty();
+        assertThatThrownBy(() -> new MessageChunker(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
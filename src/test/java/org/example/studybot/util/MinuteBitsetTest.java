@@ -0,0 +1,79 @@
+package org.example.studybot.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MinuteBitsetTest {
+
+    @Test
+    void setCountsAndClipsToTheDay() {
+        MinuteBitset bits = new MinuteBitset().set(-30, 10).set(1430, 1500).set(60, 60);
+
+        assertThat(bits.count()).isEqualTo(20);
+        assertThat(bits.count(0, 10)).isEqualTo(10);
+        assertThat(bits.count(5, 1435)).isEqualTo(10);
+        assertThat(bits.count(10, 1430)).isZero();
+    }
+
+    @Test
+    void runsAreFourBytesPerRunAndMergeAdjacentRanges() {
+        // 63~64, 127~128 은 word 경계를 넘는 구간
+        MinuteBitset bits = new MinuteBitset().set(10, 20).set(20, 30).set(63, 65).set(127, 129);
+
+        byte[] runs = bits.toRuns();
+
+        assertThat(runs).hasSize(3 * 4);
+        assertThat(runs).containsExactly(0, 10, 0, 20, 0, 63, 0, 2, 0, 127, 0, 2);
+    }
+
+    @Test
+    void emptyAndFullDaysRoundTrip() {
+        assertThat(new MinuteBitset().toRuns()).isEmpty();
+        assertThat(MinuteBitset.fromRuns(new byte[0]).isEmpty()).isTrue();
+
+        MinuteBitset full = new MinuteBitset().set(0, MinuteBitset.MINUTES_PER_DAY);
+        byte[] runs = full.toRuns();
+
+        assertThat(runs).hasSize(4);
+        assertThat(MinuteBitset.fromRuns(runs).count()).isEqualTo(MinuteBitset.MINUTES_PER_DAY);
+    }
+
+    @Test
+    void randomSessionsRoundTripThroughRuns() {
+        Random random = new Random(42);
+        for (int day = 0; day < 200; day++) {
+            MinuteBitset bits = new MinuteBitset();
+            BitSet expected = new BitSet(MinuteBitset.MINUTES_PER_DAY);
+            for (int session = random.nextInt(12); session > 0; session--) {
+                int from = random.nextInt(MinuteBitset.MINUTES_PER_DAY);
+                int to = from + 1 + random.nextInt(180);
+                bits.set(from, to);
+                expected.set(from, Math.min(to, MinuteBitset.MINUTES_PER_DAY));
+            }
+
+            MinuteBitset restored = MinuteBitset.fromRuns(bits.toRuns());
+
+            assertThat(restored.count()).isEqualTo(expected.cardinality());
+            for (int minute = 0; minute < MinuteBitset.MINUTES_PER_DAY; minute++) {
+                assertThat(restored.count(minute, minute + 1)).isEqualTo(expected.get(minute) ? 1 : 0);
+            }
+            assertThat(restored.toRuns()).isEqualTo(bits.toRuns());
+        }
+    }
+
+    @Test
+    void orRunsAccumulatesIntoTheSameBitset() {
+        byte[] morning = new MinuteBitset().set(540, 600).toRuns();
+        byte[] overlapping = new MinuteBitset().set(570, 660).toRuns();
+
+        MinuteBitset merged = new MinuteBitset().orRuns(morning).orRuns(overlapping);
+
+        assertThat(merged.count()).isEqualTo(120);
+        assertThat(merged.toRuns()).containsExactly(0x02, 0x1C, 0, 120);
+        assertThat(merged.clear().isEmpty()).isTrue();
+    }
+}
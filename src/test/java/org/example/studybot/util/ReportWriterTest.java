@@ -0,0 +1,69 @@
+package org.example.studybot.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class ReportWriterTest {
+
+    @Test
+    void formatsDurationsDatesAndLabels() {
+        try (ReportWriter out = ReportWriter.open()) {
+            out.duration(3_725).append(" / ").duration(65).append(" / ").duration(7)
+                .append(" / ").dateRange(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 12, 31))
+                .append(" / ").hour(9).append(' ').append(ReportWriter.dayLabel(DayOfWeek.SUNDAY));
+
+            assertThat(out.toString())
+                .isEqualTo("1시간 2분 5초 / 1분 5초 / 7초 / 기준: 01/06 ~ 12/31 / 09시 일");
+        }
+    }
+
+    @Test
+    void hourWithoutMinutesStillShowsZeroMinutes() {
+        assertThat(ReportWriter.appendDuration(new StringBuilder(), 7_200)).hasToString("2시간 0분 0초");
+    }
+
+    @Test
+    void nestedOpenGetsItsOwnBufferAndTheOuterReportIsKept() {
+        try (ReportWriter outer = ReportWriter.open()) {
+            outer.append("바깥 ");
+
+            try (ReportWriter inner = ReportWriter.open()) {
+                assertThat(inner).isNotSameAs(outer);
+                inner.append("안쪽");
+                outer.append(inner.toString());
+            }
+
+            assertThat(outer.append(" 끝").toString()).isEqualTo("바깥 안쪽 끝");
+        }
+    }
+
+    @Test
+    void closedBufferIsReusedEmptyOnTheSameThread() {
+        ReportWriter first;
+        try (ReportWriter out = ReportWriter.open()) {
+            first = out;
+            out.append("이전 리포트");
+        }
+
+        try (ReportWriter out = ReportWriter.open()) {
+            assertThat(out).isSameAs(first);
+            assertThat(out.length()).isZero();
+        }
+    }
+
+    @Test
+    void largeReportDoesNotLeaveALargeBufferBehind() {
+        try (ReportWriter out = ReportWriter.open()) {
+            out.append("x".repeat(100_000));
+        }
+
+        try (ReportWriter out = ReportWriter.open()) {
+            assertThat(out.length()).isZero();
+            assertThat(out.append("다음").toString()).isEqualTo("다음");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.studybot.voicechannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+class DailyTotalIndexTest {
+
+    private static final long GUILD_ID = 1L;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    private JdbcTemplate jdbcTemplate;
+    private DailyTotalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // 빈 rollup
+        jdbcTemplate = mock(JdbcTemplate.class);
+        index = new DailyTotalIndex(jdbcTemplate);
+        index.load();
+    }
+
+    private void add(long userId, LocalDate statDate, long seconds) {
+        index.writeCommitted(() -> index.add(GUILD_ID, userId, statDate, seconds));
+    }
+
+    @Test
+    void totalsAreSummedPerUserAndSortedDescending() {
+        add(1L, MONDAY, 600L);
+        add(1L, MONDAY.plusDays(1), 600L);
+        add(2L, MONDAY, 1_800L);
+        add(3L, MONDAY.plusDays(10), 60L);
+
+        assertThat(index.totals(GUILD_ID, MONDAY, MONDAY.plusDays(6), null)).containsExactly(
+            new DailyTotalIndex.UserTotal(2L, 1_800L),
+            new DailyTotalIndex.UserTotal(1L, 1_200L));
+        assertThat(index.sum(GUILD_ID, MONDAY.plusDays(1), MONDAY.plusDays(10), null)).isEqualTo(660L);
+        assertThat(index.sum(GUILD_ID, MONDAY, MONDAY, 1L)).isEqualTo(600L);
+        assertThat(index.sum(2L, MONDAY, MONDAY, null)).isZero();
+    }
+
+    @Test
+    void dayBeforeTheFirstRecordRebasesTheSeries() {
+        add(1L, MONDAY, 600L);
+        add(1L, MONDAY.minusDays(100), 60L);
+
+        assertThat(index.sum(GUILD_ID, MONDAY.minusDays(100), MONDAY.minusDays(100), 1L)).isEqualTo(60L);
+        assertThat(index.sum(GUILD_ID, MONDAY.minusYears(1), MONDAY, 1L)).isEqualTo(660L);
+    }
+
+    @Test
+    void addDuringReloadIsAppliedToTheReloadedIndex() throws Exception {
+        AtomicReference<CompletableFuture<Void>> writer = new AtomicReference<>();
+        doAnswer(invocation -> {
+            // SELECT 도중 다른 스레드에서 커밋된 증가분 (reload 가 끝날 때까지 기다려야 함)
+            writer.set(CompletableFuture.runAsync(() -> add(1L, MONDAY, 600L)));
+            Thread.sleep(100);
+            assertThat(writer.get()).isNotDone();
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.reload();
+        writer.get().get(5, TimeUnit.SECONDS);
+
+        assertThat(index.sum(GUILD_ID, MONDAY, MONDAY, 1L)).isEqualTo(600L);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.studybot.voicechannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+
+class JdaCachePropertiesTest {
+
+    @Test
+    void defaultPolicyNeedsNoPrivilegedIntent() {
+        JdaCacheProperties properties = new JdaCacheProperties();
+
+        assertThat(properties.requiresGuildMembersIntent()).isFalse();
+        assertThat(properties.requiresGuildPresencesIntent()).isFalse();
+        assertThat(properties.toDisabledCacheFlags()).contains(CacheFlag.ONLINE_STATUS);
+    }
+
+    @Test
+    void onlinePolicyKeepsOnlineStatusAndAsksForPresences() {
+        JdaCacheProperties properties = new JdaCacheProperties();
+        properties.setMemberCachePolicy(JdaCacheProperties.MemberCacheMode.ONLINE);
+
+        assertThat(properties.requiresGuildPresencesIntent()).isTrue();
+        assertThat(properties.toDisabledCacheFlags()).doesNotContain(CacheFlag.ONLINE_STATUS);
+    }
+
+    @Test
+    void voiceStateIsNeverDisabled() {
+        JdaCacheProperties properties = new JdaCacheProperties();
+        properties.setDisabledCacheFlags(List.of(CacheFlag.VOICE_STATE, CacheFlag.EMOJI));
+
+        assertThat(properties.toDisabledCacheFlags()).containsExactly(CacheFlag.EMOJI);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.studybot.voicechannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+
+import org.example.studybot.util.MinuteBitset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class MinutePresenceIndexTest {
+
+    private static final long GUILD_ID = 1L;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    private MinutePresenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // 빈 테이블
+        index = new MinutePresenceIndex(mock(JdbcTemplate.class));
+        index.load();
+    }
+
+    private void put(long guildId, long userId, LocalDate statDate, int fromMinute, int toMinute) {
+        index.put(guildId, userId, statDate, new MinuteBitset().set(fromMinute, toMinute).toRuns());
+    }
+
+    @Test
+    void hourMinutesSumsThePresenceOfEveryUserPerHour() {
+        // 10:30 ~ 11:15
+        put(GUILD_ID, 7L, MONDAY, 10 * 60 + 30, 11 * 60 + 15);
+        put(GUILD_ID, 8L, MONDAY.plusDays(1), 10 * 60, 11 * 60);
+        // 범위 밖의 날과 다른 서버
+        put(GUILD_ID, 7L, MONDAY.plusDays(2), 10 * 60, 11 * 60);
+        put(2L, 7L, MONDAY, 10 * 60, 11 * 60);
+
+        long[] minutes = index.hourMinutes(GUILD_ID, MONDAY, MONDAY.plusDays(1), null);
+
+        assertThat(minutes).hasSize(24);
+        assertThat(minutes[10]).isEqualTo(30L + 60L);
+        assertThat(minutes[11]).isEqualTo(15L);
+        assertThat(minutes[9]).isZero();
+    }
+
+    @Test
+    void hourMinutesCanBeNarrowedToOneUser() {
+        put(GUILD_ID, 7L, MONDAY, 10 * 60, 10 * 60 + 20);
+        put(GUILD_ID, 8L, MONDAY, 10 * 60, 11 * 60);
+
+        assertThat(index.hourMinutes(GUILD_ID, MONDAY, MONDAY, 7L)[10]).isEqualTo(20L);
+        assertThat(index.hourMinutes(GUILD_ID, MONDAY, MONDAY, 9L)).containsOnly(0L);
+    }
+
+    @Test
+    void versionMovesOnlyForTheGuildThatChanged() {
+        long before = index.version(GUILD_ID);
+        long other = index.version(2L);
+
+        put(GUILD_ID, 7L, MONDAY, 10 * 60, 11 * 60);
+
+        assertThat(index.version(GUILD_ID)).isGreaterThan(before);
+        assertThat(index.version(2L)).isEqualTo(other);
+    }
+
+    @Test
+    void reloadMovesTheVersionOfEveryGuildItHeld() {
+        put(GUILD_ID, 7L, MONDAY, 10 * 60, 11 * 60);
+        long before = index.version(GUILD_ID);
+
+        // 테이블이 비어 있으므로 이 서버의 출석이 사라진다
+        index.reload();
+
+        assertThat(index.version(GUILD_ID)).isGreaterThan(before);
+        assertThat(index.hourMinutes(GUILD_ID, MONDAY, MONDAY, null)).containsOnly(0L);
+    }
+}
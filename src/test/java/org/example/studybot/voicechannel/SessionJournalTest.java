@@ -0,0 +1,161 @@
+package org.example.studybot.voicechannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SessionJournalTest {
+
+    // SessionJournal 의 레코드 type
+    private static final byte LEGACY_JOIN = 1;
+    private static final byte LEGACY_LEAVE = 2;
+    private static final byte JOIN = 4;
+    private static final byte LEAVE = 5;
+
+    private static final LocalDateTime JOINED_AT = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    @TempDir
+    Path dir;
+
+    private Path path;
+    private SessionJournalProperties properties;
+    private SessionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        path = dir.resolve("session-journal.dat");
+        properties = new SessionJournalProperties();
+        properties.setPath(path.toString());
+        properties.setCapacityBytes(4 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.shutdown();
+        }
+    }
+
+    private SessionJournal restart() throws IOException {
+        if (journal != null) {
+            journal.shutdown();
+        }
+        journal = new SessionJournal(properties, new SimpleMeterRegistry());
+        journal.init();
+        return journal;
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void putRecord(ByteBuffer out, byte type, long guildId, long userId, long channelId,
+        LocalDateTime at) {
+        out.put(type).putLong(guildId).putLong(userId).putLong(channelId).putLong(millis(at));
+    }
+
+    private static void putLegacyRecord(ByteBuffer out, byte type, long userId, long channelId, LocalDateTime at) {
+        out.put(type).putLong(userId).putLong(channelId).putLong(millis(at));
+    }
+
+    private void writeJournal(ByteBuffer records) throws IOException {
+        Files.write(path, records.array());
+    }
+
+    @Test
+    void openSessionsSurviveARestart() throws IOException {
+        restart();
+        journal.open(1L, 7L, 10L, JOINED_AT);
+        journal.open(1L, 8L, 10L, JOINED_AT.plusMinutes(5));
+        journal.open(2L, 7L, 20L, JOINED_AT.plusMinutes(10));
+        assertThat(journal.close(1L, 8L, JOINED_AT.plusMinutes(30)).userId()).isEqualTo(8L);
+
+        restart();
+
+        assertThat(journal.getAllOpenSessions()).containsExactlyInAnyOrder(
+            new SessionJournal.OpenSession(1L, 7L, 10L, JOINED_AT),
+            new SessionJournal.OpenSession(2L, 7L, 20L, JOINED_AT.plusMinutes(10)));
+        assertThat(journal.isOpen(1L, 8L)).isFalse();
+        assertThat(journal.open(1L, 7L, 10L, JOINED_AT)).isFalse();
+    }
+
+    @Test
+    void legacyRecordsAreReplayedUnderTheLegacyGuild() throws IOException {
+        ByteBuffer records = ByteBuffer.allocate(4 * SessionJournal.LEGACY_RECORD_SIZE + SessionJournal.RECORD_SIZE);
+        putLegacyRecord(records, LEGACY_JOIN, 7L, 10L, JOINED_AT);
+        putLegacyRecord(records, LEGACY_JOIN, 8L, 10L, JOINED_AT.plusMinutes(1));
+        putLegacyRecord(records, LEGACY_LEAVE, 8L, 10L, JOINED_AT.plusMinutes(20));
+        putLegacyRecord(records, LEGACY_JOIN, 9L, 11L, JOINED_AT.plusMinutes(2));
+        // 업그레이드 후의 새 형식 레코드가 이어진다
+        putRecord(records, LEAVE, SessionJournal.LEGACY_GUILD_ID, 9L, 11L, JOINED_AT.plusMinutes(40));
+        writeJournal(records);
+
+        restart();
+
+        assertThat(journal.getOpenSessions(SessionJournal.LEGACY_GUILD_ID)).containsOnlyKeys(7L);
+        assertThat(journal.getAllOpenSessions()).containsExactly(
+            new SessionJournal.OpenSession(SessionJournal.LEGACY_GUILD_ID, 7L, 10L, JOINED_AT));
+        assertThat(journal.getLastRecordedAt()).isEqualTo(JOINED_AT.plusMinutes(40));
+    }
+
+    @Test
+    void recordWithoutItsTypeEndsTheReplay() throws IOException {
+        ByteBuffer records = ByteBuffer.allocate(3 * SessionJournal.RECORD_SIZE);
+        putRecord(records, JOIN, 1L, 7L, 10L, JOINED_AT);
+        // type 은 마지막에 쓰므로 쓰다가 죽은 레코드는 type 이 0 으로 남는다
+        putRecord(records, (byte) 0, 1L, 8L, 10L, JOINED_AT.plusMinutes(1));
+        putRecord(records, JOIN, 1L, 9L, 10L, JOINED_AT.plusMinutes(2));
+        writeJournal(records);
+
+        restart();
+
+        assertThat(journal.getAllOpenSessions()).containsExactly(
+            new SessionJournal.OpenSession(1L, 7L, 10L, JOINED_AT));
+        assertThat(journal.getLastRecordedAt()).isEqualTo(JOINED_AT);
+    }
+
+    @Test
+    void recordCutOffAtTheEndOfTheFileIsIgnored() throws IOException {
+        // 두 번째 레코드는 channelId 중간에서 파일이 끝난다
+        int capacity = SessionJournal.RECORD_SIZE + 1 + 8 + 8 + 4;
+        properties.setCapacityBytes(capacity);
+        ByteBuffer records = ByteBuffer.allocate(capacity);
+        putRecord(records, JOIN, 1L, 7L, 10L, JOINED_AT);
+        records.put(JOIN).putLong(1L).putLong(8L).putInt(0);
+        writeJournal(records);
+
+        restart();
+
+        assertThat(journal.getAllOpenSessions()).containsExactly(
+            new SessionJournal.OpenSession(1L, 7L, 10L, JOINED_AT));
+    }
+
+    @Test
+    void compactedJournalKeepsAcceptingRecords() throws IOException {
+        // 기록 두 개만 들어가는 크기: 입장/퇴장을 반복하면 압축하면서 계속 쓴다
+        properties.setCapacityBytes(2 * SessionJournal.RECORD_SIZE);
+        restart();
+        journal.open(1L, 7L, 10L, JOINED_AT);
+        for (int i = 0; i < 50; i++) {
+            journal.open(1L, 8L, 10L, JOINED_AT.plusMinutes(i));
+            journal.close(1L, 8L, JOINED_AT.plusMinutes(i).plusSeconds(30));
+        }
+
+        restart();
+
+        assertThat(journal.getAllOpenSessions()).containsExactly(
+            new SessionJournal.OpenSession(1L, 7L, 10L, JOINED_AT));
+    }
+}
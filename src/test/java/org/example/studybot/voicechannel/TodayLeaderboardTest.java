@@ -0,0 +1,153 @@
+package org.example.studybot.voicechannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TodayLeaderboardTest {
+
+    private static final long GUILD_ID = 1L;
+    private static final long CHANNEL_ID = 10L;
+
+    @TempDir
+    Path dir;
+
+    // 자정 근처에 돌려도 날짜가 바뀌지 않도록 고정 시계
+    private final LocalDate today = LocalDate.of(2025, 1, 6);
+    private final Clock clock =
+        Clock.fixed(today.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+    private SessionJournal journal;
+    private UserDailyTotalRepository dailyTotalRepository;
+    private TodayLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SessionJournalProperties properties = new SessionJournalProperties();
+        properties.setPath(dir.resolve("session-journal.dat").toString());
+        journal = new SessionJournal(properties, new SimpleMeterRegistry());
+        journal.init();
+
+        dailyTotalRepository = mock(UserDailyTotalRepository.class);
+        UserNameIndex names = new UserNameIndex(null);
+        names.update(GUILD_ID, 1L, "하나");
+        names.update(GUILD_ID, 2L, "둘");
+        names.update(GUILD_ID, 3L, "셋");
+        leaderboard = new TodayLeaderboard(journal, dailyTotalRepository, names, clock);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.shutdown();
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return today.atTime(hour, minute);
+    }
+
+    @Test
+    void closedAndInProgressSecondsAreAddedAndSorted() {
+        leaderboard.recordLeave(GUILD_ID, 1L, at(9, 0), at(10, 0));
+        leaderboard.recordLeave(GUILD_ID, 2L, at(9, 0), at(9, 30));
+        journal.open(GUILD_ID, 2L, CHANNEL_ID, at(11, 0));
+        journal.open(GUILD_ID, 3L, CHANNEL_ID, at(11, 50));
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 10, at(12, 0));
+
+        assertThat(top).containsExactly(
+            new TodayLeaderboard.Entry(2L, "둘", 30 * 60 + 60 * 60, true),
+            new TodayLeaderboard.Entry(1L, "하나", 60 * 60, false),
+            new TodayLeaderboard.Entry(3L, "셋", 10 * 60, true));
+    }
+
+    @Test
+    void zeroSecondLeaveDoesNotListTheUserTwice() {
+        // 연결이 끊겼다가 같은 초에 다시 들어온 경우
+        leaderboard.recordLeave(GUILD_ID, 1L, at(10, 0), at(10, 0));
+        journal.open(GUILD_ID, 1L, CHANNEL_ID, at(10, 0));
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 10, at(10, 30));
+
+        assertThat(top).containsExactly(new TodayLeaderboard.Entry(1L, "하나", 30 * 60, true));
+    }
+
+    @Test
+    void zeroSecondRollupRowDoesNotListTheUserTwice() {
+        UserDailyTotal total = new UserDailyTotal();
+        total.setId(new UserDailyTotalId(GUILD_ID, 1L, today));
+        total.setSeconds(0L);
+        when(dailyTotalRepository.findAllBetween(any(), any())).thenReturn(List.of(total));
+        leaderboard.seedFromRollup();
+        journal.open(GUILD_ID, 1L, CHANNEL_ID, at(10, 0));
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 10, at(10, 30));
+
+        assertThat(top).extracting(TodayLeaderboard.Entry::userId).containsExactly(1L);
+    }
+
+    @Test
+    void onlyTheTopKAreReturned() {
+        for (long userId = 1; userId <= 3; userId++) {
+            leaderboard.recordLeave(GUILD_ID, userId, at(9, 0), at(9, (int) userId * 10));
+        }
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 2, at(12, 0));
+
+        assertThat(top).extracting(TodayLeaderboard.Entry::userId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void userInTheChannelCanOvertakeTheClosedTopK() {
+        for (long userId = 1; userId <= 3; userId++) {
+            leaderboard.recordLeave(GUILD_ID, userId, at(9, 0), at(9, (int) userId * 10));
+        }
+        // 완료 합계로는 꼴찌지만 지금 채널에 있다
+        leaderboard.recordLeave(GUILD_ID, 1L, at(9, 30), at(9, 35));
+        journal.open(GUILD_ID, 1L, CHANNEL_ID, at(11, 0));
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 2, at(12, 0));
+
+        assertThat(top).containsExactly(
+            new TodayLeaderboard.Entry(1L, "하나", 15 * 60 + 60 * 60, true),
+            new TodayLeaderboard.Entry(3L, "셋", 30 * 60, false));
+    }
+
+    @Test
+    void seededRowsAreRankedWithLaterSessions() {
+        UserDailyTotal total = new UserDailyTotal();
+        total.setId(new UserDailyTotalId(GUILD_ID, 2L, today));
+        total.setSeconds(20 * 60L);
+        when(dailyTotalRepository.findAllBetween(today, today)).thenReturn(List.of(total));
+        leaderboard.seedFromRollup();
+        leaderboard.recordLeave(GUILD_ID, 1L, at(9, 0), at(9, 30));
+        leaderboard.recordLeave(GUILD_ID, 2L, at(10, 0), at(10, 15));
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 1, at(12, 0));
+
+        assertThat(top).containsExactly(new TodayLeaderboard.Entry(2L, "둘", 35 * 60, false));
+    }
+
+    @Test
+    void sessionFromYesterdayCountsFromMidnight() {
+        leaderboard.recordLeave(GUILD_ID, 1L, today.minusDays(1).atTime(23, 0), at(1, 0));
+
+        List<TodayLeaderboard.Entry> top = leaderboard.top(GUILD_ID, 10, at(2, 0));
+
+        assertThat(top).extracting(TodayLeaderboard.Entry::seconds).containsExactly(60L * 60);
+    }
+}
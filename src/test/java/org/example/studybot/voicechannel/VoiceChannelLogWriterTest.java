@@ -0,0 +1,243 @@
+package org.example.studybot.voicechannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.example.studybot.util.ReportCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VoiceChannelLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private Path spillPath;
+    private Path replayPath;
+    private JdbcTemplate jdbcTemplate;
+    // voice_channel_logs 에 insert 된 기록
+    private final List<VoiceChannelLog> inserted = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        spillPath = dir.resolve("voice-log-spill.tsv");
+        replayPath = dir.resolve("voice-log-spill.tsv.replay");
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO voice_channel_logs"), any(Collection.class), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                Collection<VoiceChannelLog> batch = invocation.getArgument(1);
+                inserted.addAll(batch);
+                return new int[0][];
+            });
+    }
+
+    private VoiceChannelLogWriter writer() {
+        return writer(new VoiceChannelLogWriterProperties());
+    }
+
+    private VoiceChannelLogWriter writer(VoiceChannelLogWriterProperties properties) {
+        properties.setSpillFile(spillPath.toString());
+        return new VoiceChannelLogWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            properties, new ReportCache(meterRegistry, 16), new DailyTotalIndex(jdbcTemplate),
+            new MinutePresenceIndex(jdbcTemplate), meterRegistry);
+    }
+
+    private static VoiceChannelLog session(long userId, String nickName, LocalDateTime startedAt,
+        LocalDateTime recordedAt) {
+        VoiceChannelLog voiceLog = new VoiceChannelLog();
+        voiceLog.setGuildId(1L);
+        voiceLog.setUserId(userId);
+        voiceLog.setNickName(nickName);
+        voiceLog.setUserName("user" + userId);
+        voiceLog.setChannelId(10L);
+        voiceLog.setChannelName("모각공");
+        voiceLog.setDuration(Duration.between(startedAt, recordedAt).getSeconds());
+        voiceLog.setStartedAt(startedAt);
+        voiceLog.setRecordedAt(recordedAt);
+        return voiceLog;
+    }
+
+    private static String line(long userId) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 10, 0);
+        return VoiceChannelLogWriter.toSpillLine(session(userId, "이름" + userId, start, start.plusMinutes(30)));
+    }
+
+    @Test
+    void sessionAcrossMidnightIsSplitPerDay() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 23, 0);
+        LocalDateTime midnight = LocalDateTime.of(2025, 1, 7, 0, 0);
+
+        List<VoiceChannelLog> segments =
+            VoiceChannelLogWriter.splitByDay(session(7L, "이름", start, start.plusHours(3)));
+
+        assertThat(segments).extracting(VoiceChannelLog::getStartedAt).containsExactly(start, midnight);
+        assertThat(segments).extracting(VoiceChannelLog::getRecordedAt)
+            .containsExactly(midnight, midnight.plusHours(2));
+        assertThat(segments).extracting(VoiceChannelLog::getDuration).containsExactly(3_600L, 7_200L);
+        assertThat(segments).allSatisfy(segment -> {
+            assertThat(segment.getUserId()).isEqualTo(7L);
+            assertThat(segment.getChannelId()).isEqualTo(10L);
+        });
+    }
+
+    @Test
+    void multiDaySessionKeepsItsTotalDuration() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 22, 30, 30);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 8, 1, 15);
+
+        List<VoiceChannelLog> segments = VoiceChannelLogWriter.splitByDay(session(7L, "이름", start, end));
+
+        assertThat(segments).extracting(VoiceChannelLog::getDuration).containsExactly(5_370L, 86_400L, 4_500L);
+        // 한 행은 하루 안: 끝이 다음 날 0시여도 시작한 날에 속한다
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.getStartedAt().toLocalDate())
+            .isEqualTo(segment.getRecordedAt().minusNanos(1).toLocalDate()));
+    }
+
+    @Test
+    void sessionEndingAtMidnightOrWithinADayIsNotSplit() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 23, 0);
+        VoiceChannelLog untilMidnight = session(7L, "이름", start, start.plusHours(1));
+        VoiceChannelLog legacy = session(7L, "이름", start.minusHours(2), start);
+        legacy.setStartedAt(null);
+
+        assertThat(VoiceChannelLogWriter.splitByDay(untilMidnight)).containsExactly(untilMidnight);
+        assertThat(VoiceChannelLogWriter.splitByDay(legacy)).extracting(VoiceChannelLog::getStartedAt)
+            .containsExactly(start.minusHours(2));
+    }
+
+    @Test
+    void enqueuedSessionAcrossMidnightIsStoredAsOneRowPerDay() {
+        VoiceChannelLogWriter writer = writer();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 23, 30);
+
+        writer.enqueue(session(7L, "이름", start, start.plusHours(1)));
+        writer.shutdown();
+
+        assertThat(inserted).extracting(voiceLog -> voiceLog.getStartedAt().toLocalDate())
+            .containsExactly(start.toLocalDate(), start.toLocalDate().plusDays(1));
+        assertThat(inserted).extracting(VoiceChannelLog::getDuration).containsExactly(1_800L, 1_800L);
+    }
+
+    @Test
+    void spillLineRoundTripsEscapedNames() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 10, 0, 5);
+        VoiceChannelLog original = session(7L, "탭\t줄\n캐리지\r역슬래시\\끝", start, start.plusSeconds(90));
+        original.setUserName(null);
+
+        String line = VoiceChannelLogWriter.toSpillLine(original);
+        VoiceChannelLog restored = VoiceChannelLogWriter.fromSpillLine(line);
+
+        assertThat(line).doesNotContain("\n", "\r");
+        assertThat(restored.getNickName()).isEqualTo(original.getNickName());
+        assertThat(restored.getUserName()).isNull();
+        assertThat(restored.getGuildId()).isEqualTo(1L);
+        assertThat(restored.getDuration()).isEqualTo(90L);
+        assertThat(restored.getStartedAt()).isEqualTo(start);
+        assertThat(restored.getRecordedAt()).isEqualTo(start.plusSeconds(90));
+    }
+
+    @Test
+    void legacySpillLineWithoutGuildAndStartUsesDuration() {
+        VoiceChannelLog restored = VoiceChannelLogWriter.fromSpillLine(
+            "7\t이름\tuser7\t10\t모각공\t600\t2025-01-06T10:10");
+
+        assertThat(restored.getGuildId()).isZero();
+        assertThat(restored.getStartedAt()).isEqualTo(LocalDateTime.of(2025, 1, 6, 10, 0));
+    }
+
+    @Test
+    void tornLinesAreQuarantinedAndTheRestIsReplayed() throws IOException {
+        Files.write(spillPath, List.of(line(1L), "2\t쓰다 만", line(3L), "x\ty\tz\tw\tv\tnot-a-number\t?"),
+            StandardCharsets.UTF_8);
+
+        writer().shutdown();
+
+        assertThat(inserted).extracting(VoiceChannelLog::getUserId).containsExactly(1L, 3L);
+        assertThat(Files.readAllLines(dir.resolve("voice-log-spill.tsv.rejected"), StandardCharsets.UTF_8))
+            .containsExactly("2\t쓰다 만", "x\ty\tz\tw\tv\tnot-a-number\t?");
+        assertThat(spillPath).doesNotExist();
+        assertThat(replayPath).doesNotExist();
+    }
+
+    @Test
+    void leftoverReplayFileIsReplayedBeforeRotating() throws IOException {
+        Files.write(replayPath, List.of(line(1L)), StandardCharsets.UTF_8);
+        Files.write(spillPath, List.of(line(2L)), StandardCharsets.UTF_8);
+
+        writer().shutdown();
+
+        assertThat(inserted).extracting(VoiceChannelLog::getUserId).containsExactly(1L, 2L);
+        assertThat(spillPath).doesNotExist();
+        assertThat(replayPath).doesNotExist();
+    }
+
+    @Test
+    void failedReplayKeepsRemainingRecordsForTheNextFlush() throws IOException {
+        doThrow(new DataAccessResourceFailureException("DB 없음")).when(jdbcTemplate)
+            .batchUpdate(startsWith("INSERT INTO voice_channel_logs"), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        Files.write(spillPath, List.of(line(1L), line(2L)), StandardCharsets.UTF_8);
+
+        writer().shutdown();
+
+        assertThat(replayPath).exists();
+        assertThat(Files.readAllLines(replayPath, StandardCharsets.UTF_8)).containsExactly(line(1L), line(2L));
+        assertThat(spillPath).doesNotExist();
+    }
+
+    @Test
+    void overflowGoesThroughTheSpillFileAndIsStored() {
+        VoiceChannelLogWriterProperties properties = new VoiceChannelLogWriterProperties();
+        properties.setQueueCapacity(1);
+        VoiceChannelLogWriter writer = writer(properties);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+        for (long userId = 1; userId <= 3; userId++) {
+            writer.enqueue(session(userId, "이름" + userId, start, start.plusMinutes(10)));
+        }
+        writer.shutdown();
+
+        assertThat(inserted).extracting(VoiceChannelLog::getUserId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(meterRegistry.counter("studybot.voicelog.writer.rejected").count()).isEqualTo(2.0);
+        assertThat(spillPath).doesNotExist();
+    }
+
+    @Test
+    void enqueueAfterShutdownDoesNotThrowIntoTheListener() {
+        VoiceChannelLogWriterProperties properties = new VoiceChannelLogWriterProperties();
+        properties.setBatchSize(1);
+        VoiceChannelLogWriter writer = writer(properties);
+        writer.shutdown();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+        assertThatCode(() -> writer.enqueue(session(1L, "이름", start, start.plusMinutes(10))))
+            .doesNotThrowAnyException();
+    }
+}